@@ -0,0 +1,83 @@
+#!/usr/bin/env bash
+# Time from JVM launch to the first successful /ComputeNavlog.
+#
+#   scripts/startup-benchmark.sh <plain jar> [<extracted startup directory>]
+#
+# Measures the plain jar, and when the directory built by `mvn -Pstartup verify`
+# is given, the same service with Spring AOT and the AppCDS archive. The default
+# route is made of coordinate literals and no winds service is reachable, so
+# UPSTREAM_WINDS_CALM_WHEN_UNAVAILABLE makes the navlog use calm winds instead of
+# answering 503, and only the JVM and the Spring context are on the clock. Set the
+# SPRING_DATASOURCE_* and WINDS_SERVICE_URL variables, and unset the calm fallback
+# with UPSTREAM_WINDS_CALM_WHEN_UNAVAILABLE=false, to benchmark against real
+# dependencies instead.
+set -euo pipefail
+
+PLAIN_JAR=${1:?usage: startup-benchmark.sh <jar> [<startup dir>]}
+STARTUP_DIR=${2:-}
+RUNS=${RUNS:-5}
+PORT=${PORT:-18080}
+ROUTE=${ROUTE:-"(33.6367,-84.4281) (33.8756,-84.3020) (34.0131,-84.5971)"}
+AIRCRAFT=${AIRCRAFT:-C172}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-120}
+
+export SPRING_DATASOURCE_URI=${SPRING_DATASOURCE_URI:-bolt://localhost:7687}
+export SPRING_DATASOURCE_USERNAME=${SPRING_DATASOURCE_USERNAME:-neo4j}
+export SPRING_DATASOURCE_PASSWORD=${SPRING_DATASOURCE_PASSWORD:-benchmark}
+export WINDS_SERVICE_URL=${WINDS_SERVICE_URL:-http://localhost:9/winds}
+export UPSTREAM_WINDS_CALM_WHEN_UNAVAILABLE=${UPSTREAM_WINDS_CALM_WHEN_UNAVAILABLE:-true}
+export ATIS_PROVIDER=${ATIS_PROVIDER:-local}
+
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+# Prints milliseconds from launch to the first 200 from /ComputeNavlog
+time_to_first_navlog() {
+    local start end pid
+    start=$(date +%s%N)
+    "$@" --server.port="$PORT" >"$LOG" 2>&1 &
+    pid=$!
+    until curl -fsS -o /dev/null -G "http://localhost:$PORT/api/v1/ComputeNavlog" \
+            --data-urlencode "route=$ROUTE" --data-urlencode "aircraft=$AIRCRAFT" \
+            --data-urlencode "CruiseALT=5500" --data-urlencode "TAS=110" 2>/dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "service exited before answering, log:" >&2
+            cat "$LOG" >&2
+            return 1
+        fi
+        if (( ($(date +%s%N) - start) / 1000000000 > TIMEOUT_SECONDS )); then
+            echo "no successful /ComputeNavlog within ${TIMEOUT_SECONDS}s" >&2
+            kill "$pid"
+            return 1
+        fi
+        sleep 0.02
+    done
+    end=$(date +%s%N)
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo $(( (end - start) / 1000000 ))
+}
+
+measure() {
+    local label=$1
+    shift
+    local samples=()
+    for _ in $(seq "$RUNS"); do
+        samples+=("$(time_to_first_navlog "$@")")
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${samples[@]}" | sort -n)
+    printf '%-22s median %6s ms   min %6s ms   max %6s ms   (%s runs)\n' "$label" \
+        "$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")" \
+        "$(echo "$sorted" | head -1)" "$(echo "$sorted" | tail -1)" "$RUNS"
+}
+
+echo "Time to first successful /ComputeNavlog"
+measure "plain jar" java -jar "$PLAIN_JAR"
+
+if [[ -n "$STARTUP_DIR" ]]; then
+    APP_JAR="$STARTUP_DIR/$(basename "$PLAIN_JAR")"
+    measure "AOT" java -Dspring.aot.enabled=true -jar "$APP_JAR"
+    measure "AOT + AppCDS" java -XX:SharedArchiveFile="$STARTUP_DIR/application.jsa" \
+        -Dspring.aot.enabled=true -jar "$APP_JAR"
+fi
@@ -1,14 +1,35 @@
 package com.flightIQ.Navigation.Controllers;
 
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import com.flightIQ.Navigation.DTO.AdmissionMetrics;
+import com.flightIQ.Navigation.DTO.AirportTraffic;
+import com.flightIQ.Navigation.DTO.AltitudeOption;
+import com.flightIQ.Navigation.DTO.AtisReport;
+import com.flightIQ.Navigation.DTO.CachedEntity;
+import com.flightIQ.Navigation.DTO.CircuitBreakerMetrics;
+import com.flightIQ.Navigation.DTO.DepartureOption;
+import com.flightIQ.Navigation.DTO.FlightProjection;
+import com.flightIQ.Navigation.DTO.NearbyAirport;
+import com.flightIQ.Navigation.DTO.Neo4jPoolMetrics;
 import com.flightIQ.Navigation.DTO.StateVector;
+import com.flightIQ.Navigation.DTO.TerrainClearance;
+import com.flightIQ.Navigation.DTO.TrafficCell;
+import com.flightIQ.Navigation.DTO.TrafficSummary;
+import com.flightIQ.Navigation.DTO.WaypointSuggestion;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
@@ -17,8 +38,10 @@ import org.springframework.web.server.ResponseStatusException;
 
 import com.flightIQ.Navigation.DTO.RouteNode;
 import com.flightIQ.Navigation.Exceptions.AirportNotFoundException;
-import com.flightIQ.Navigation.Models.Airport;
+import com.flightIQ.Navigation.Service.AtisService;
 import com.flightIQ.Navigation.Service.Navigation_svc;
+import com.flightIQ.Navigation.Service.TrafficAnalytics;
+import com.flightIQ.Navigation.Service.TrafficWireFormat;
 import com.flightIQ.Navigation.Exceptions.BadRequestException;
 
 
@@ -26,26 +49,86 @@ import com.flightIQ.Navigation.Exceptions.BadRequestException;
 @RequestMapping("/api/v1")
 public class NavigationServiceController {
 
+    private static final int MAX_PROXIMITY_RESULTS = 100;
+    private static final int MAX_PROXIMITY_RADIUS_NM = 500;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_QUERY_LENGTH = 64;
+
     @Autowired
     private Navigation_svc navservice;
 
+    @Value("${nav.http.reference-max-age-seconds:3600}")
+    private long referenceMaxAgeSeconds;
+
+
+    // JSON first so that */* keeps getting JSON
+    @GetMapping(value = "/getStateVectorsUS", produces = {MediaType.APPLICATION_JSON_VALUE, TrafficWireFormat.MEDIA_TYPE})
+    public ResponseEntity<StateVector[]> getVectorsInUS() {
+        return ResponseEntity.ok().varyBy("Accept").body(navservice.getStateVectorsUS());
+    }
+
+    @GetMapping(value = "/getTrafficSummary")
+    public ResponseEntity<TrafficSummary> getTrafficSummary() {
+        return ResponseEntity.ok(navservice.getTrafficSummary());
+    }
+
+    @GetMapping(value = "/getTrafficByCell")
+    public ResponseEntity<List<TrafficCell>> getTrafficByCell() {
+        return ResponseEntity.ok(navservice.getTrafficByCell());
+    }
+
+    @GetMapping(value = "/getBusiestAirports")
+    public ResponseEntity<List<AirportTraffic>> getBusiestAirports(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > TrafficAnalytics.MAX_BUSIEST) {
+            throw new BadRequestException("limit must be between 1 and " + TrafficAnalytics.MAX_BUSIEST);
+        }
+        return ResponseEntity.ok(navservice.getBusiestAirports(limit));
+    }
 
-    @GetMapping("/getStateVectorsUS")
-    public StateVector[] getVectorsInUS() {
-        return navservice.getStateVectorsUS();
+    @PostMapping(value = "/trackFlight")
+    public ResponseEntity<FlightProjection> trackFlight(@RequestParam String icao24, @RequestParam String route,
+                                                        @RequestParam String aircraft) {
+        validateIcao24(icao24);
+        return ResponseEntity.ok(navservice.trackFlight(icao24, route, aircraft));
+    }
+
+    @GetMapping(value = "/getFlightProjection")
+    public ResponseEntity<FlightProjection> getFlightProjection(@RequestParam String icao24) {
+        validateIcao24(icao24);
+        return ResponseEntity.ok(navservice.getFlightProjection(icao24));
+    }
+
+    @GetMapping(value = "/getTrackedFlights")
+    public ResponseEntity<List<FlightProjection>> getTrackedFlights() {
+        return ResponseEntity.ok(navservice.getTrackedFlights());
+    }
+
+    @PostMapping(value = "/untrackFlight")
+    public ResponseEntity<Void> untrackFlight(@RequestParam String icao24) {
+        validateIcao24(icao24);
+        navservice.untrackFlight(icao24);
+        return ResponseEntity.noContent().build();
     }
 
     @GetMapping(value = "/getATISOfDestination")
     public ResponseEntity<String> getATISOfDestination(@RequestParam String airportCode) {
-        try {
-            return ResponseEntity.ok(navservice.GetATISOFDestination("42.212323","-72",airportCode));
-        } catch (Exception exception) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        validateIcao(airportCode);
+
+        return ResponseEntity.ok(navservice.GetATISOFDestination(airportCode));
+    }
+
+    @GetMapping(value = "/getATIS")
+    public ResponseEntity<List<AtisReport>> getATIS(@RequestParam List<String> airportCodes) {
+        if (airportCodes.isEmpty() || airportCodes.size() > AtisService.MAX_BATCH) {
+            throw new BadRequestException("Between 1 and " + AtisService.MAX_BATCH + " airport codes are required");
         }
+        airportCodes.forEach(this::validateIcao);
+
+        return ResponseEntity.ok(navservice.getATIS(airportCodes));
     }
     
     @GetMapping(value="/getAirportByIdent")
-    public ResponseEntity<Airport> getAirportByIdent(@RequestParam String identCode) {
+    public ResponseEntity<byte[]> getAirportByIdent(@RequestParam String identCode) {
     	if (identCode.length() != 3) {
             throw new BadRequestException("IDENT code must have 3 letters");
         }
@@ -55,24 +138,162 @@ public class NavigationServiceController {
             throw new BadRequestException("IDENT code must contain only letters and numbers");
         }
 
-        return ResponseEntity.ok(navservice.getAirportFromIDENT(identCode));
+        return referenceData(navservice.getCachedAirportFromIDENT(identCode));
     }
     
     @GetMapping(value="/getAirportByIcao")
-    public ResponseEntity<Airport> getAirportByIcao(@RequestParam String icaoCode) {
-    	if (icaoCode.length() != 4) {
-            throw new BadRequestException("ICAO code must have 4 letters");
-        }
+    public ResponseEntity<byte[]> getAirportByIcao(@RequestParam String icaoCode) {
+    	validateIcao(icaoCode);
 
-        if (!icaoCode.matches("[A-Za-z0-9]{4}")) {
-            throw new BadRequestException("ICAO code must contain only letters and numbers");
+        return referenceData(navservice.getCachedAirportFromICAO(icaoCode));
+    }
+        
+    @GetMapping(value="/getNearestAirports")
+    public ResponseEntity<List<NearbyAirport>> getNearestAirports(@RequestParam double lat, @RequestParam double lon,
+                                                                  @RequestParam(defaultValue = "10") int count) {
+        validateCoordinates(lat, lon);
+        validateCount(count);
+
+        return ResponseEntity.ok(navservice.getNearestAirports(lat, lon, count));
+    }
+
+    @GetMapping(value="/getAirportsWithinRadius")
+    public ResponseEntity<List<NearbyAirport>> getAirportsWithinRadius(@RequestParam double lat, @RequestParam double lon,
+                                                                       @RequestParam double radiusNm) {
+        validateCoordinates(lat, lon);
+        validateRadius(radiusNm);
+
+        return ResponseEntity.ok(navservice.getAirportsWithinRadius(lat, lon, radiusNm));
+    }
+
+    @GetMapping(value="/getAlternates")
+    public ResponseEntity<List<NearbyAirport>> getAlternates(@RequestParam String icaoCode,
+                                                             @RequestParam(defaultValue = "5") int count,
+                                                             @RequestParam(defaultValue = "100") double radiusNm) {
+        validateIcao(icaoCode);
+        validateCount(count);
+        validateRadius(radiusNm);
+
+        return ResponseEntity.ok(navservice.getAlternates(icaoCode, count, radiusNm));
+    }
+
+    @GetMapping(value="/searchWaypoints")
+    public ResponseEntity<List<WaypointSuggestion>> searchWaypoints(@RequestParam String query,
+                                                                    @RequestParam(defaultValue = "10") int limit,
+                                                                    @RequestParam(required = false) Double lat,
+                                                                    @RequestParam(required = false) Double lon) {
+        if (query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("query must be between 1 and " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        if ((lat == null) != (lon == null)) {
+            throw new BadRequestException("lat and lon must be given together");
+        }
+        if (lat != null) {
+            validateCoordinates(lat, lon);
         }
 
-        return ResponseEntity.ok(navservice.getAirportFromICAO(icaoCode));
+        return ResponseEntity.ok(navservice.searchWaypoints(query, limit, lat, lon));
     }
-        
+
     @GetMapping(value = "/ComputeNavlog")
     public ResponseEntity<String> computeNavlog(@RequestParam String route, @RequestParam String aircraft, @RequestParam String CruiseALT, @RequestParam String TAS) {
        return ResponseEntity.ok(navservice.computeNavlog(route, aircraft, CruiseALT, TAS));
     }
+
+    @GetMapping(value = "/OptimizeCruiseAltitude")
+    public ResponseEntity<List<AltitudeOption>> optimizeCruiseAltitude(@RequestParam String route, @RequestParam String aircraft,
+                                                                       @RequestParam int minALT, @RequestParam int maxALT,
+                                                                       @RequestParam(defaultValue = "1000") int step,
+                                                                       @RequestParam(required = false) Integer TAS,
+                                                                       @RequestParam(defaultValue = "fuel") String rankBy) {
+        return ResponseEntity.ok(navservice.optimizeCruiseAltitude(route, aircraft, minALT, maxALT, step, TAS, rankBy));
+    }
+
+    @GetMapping(value = "/SweepDepartureTimes")
+    public ResponseEntity<List<DepartureOption>> sweepDepartureTimes(@RequestParam String route, @RequestParam String aircraft,
+                                                                     @RequestParam String CruiseALT, @RequestParam String TAS,
+                                                                     @RequestParam String start, @RequestParam String end,
+                                                                     @RequestParam(defaultValue = "30") int stepMinutes) {
+        Instant startTime;
+        Instant endTime;
+        try {
+            startTime = Instant.parse(start);
+            endTime = Instant.parse(end);
+        } catch (DateTimeParseException exception) {
+            throw new BadRequestException("start and end must be ISO-8601 instants, e.g. 2025-01-01T14:00:00Z");
+        }
+
+        return ResponseEntity.ok(navservice.sweepDepartureTimes(route, aircraft, CruiseALT, TAS, startTime, endTime, stepMinutes));
+    }
+
+    @GetMapping(value = "/CheckTerrainClearance")
+    public ResponseEntity<TerrainClearance> checkTerrainClearance(@RequestParam String route, @RequestParam String CruiseALT) {
+        return ResponseEntity.ok(navservice.checkTerrainClearance(route, CruiseALT));
+    }
+
+    @PostMapping(value = "/importAiracCycle")
+    public ResponseEntity<String> importAiracCycle(@RequestParam String cycle) {
+        return ResponseEntity.ok(navservice.importAiracCycle(cycle));
+    }
+
+    @GetMapping(value = "/getNeo4jPoolMetrics")
+    public ResponseEntity<List<Neo4jPoolMetrics>> getNeo4jPoolMetrics() {
+        return ResponseEntity.ok(navservice.getNeo4jPoolMetrics());
+    }
+
+    @GetMapping(value = "/getAdmissionMetrics")
+    public ResponseEntity<List<AdmissionMetrics>> getAdmissionMetrics() {
+        return ResponseEntity.ok(navservice.getAdmissionMetrics());
+    }
+
+    @GetMapping(value = "/getCircuitBreakers")
+    public ResponseEntity<List<CircuitBreakerMetrics>> getCircuitBreakers() {
+        return ResponseEntity.ok(navservice.getCircuitBreakers());
+    }
+
+    // Spring answers 304 itself when If-None-Match matches the ETag of a GET response
+    private ResponseEntity<byte[]> referenceData(CachedEntity entity) {
+        return ResponseEntity.ok()
+                .eTag(entity.getEtag())
+                .cacheControl(CacheControl.maxAge(referenceMaxAgeSeconds, TimeUnit.SECONDS).cachePublic())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(entity.getBody());
+    }
+
+    private void validateCoordinates(double lat, double lon) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new BadRequestException("lat must be within [-90, 90] and lon within [-180, 180]");
+        }
+    }
+
+    private void validateCount(int count) {
+        if (count < 1 || count > MAX_PROXIMITY_RESULTS) {
+            throw new BadRequestException("count must be between 1 and " + MAX_PROXIMITY_RESULTS);
+        }
+    }
+
+    private void validateRadius(double radiusNm) {
+        if (!(radiusNm > 0) || radiusNm > MAX_PROXIMITY_RADIUS_NM) {
+            throw new BadRequestException("radiusNm must be greater than 0 and at most " + MAX_PROXIMITY_RADIUS_NM);
+        }
+    }
+
+    private void validateIcao24(String icao24) {
+        if (!icao24.matches("[0-9A-Fa-f]{6}")) {
+            throw new BadRequestException("icao24 must be a 24-bit address in 6 hex digits");
+        }
+    }
+
+    private void validateIcao(String icaoCode) {
+        if (icaoCode.length() != 4) {
+            throw new BadRequestException("ICAO code must have 4 letters");
+        }
+
+        if (!icaoCode.matches("[A-Za-z0-9]{4}")) {
+            throw new BadRequestException("ICAO code must contain only letters and numbers");
+        }
+    }
 }
\ No newline at end of file
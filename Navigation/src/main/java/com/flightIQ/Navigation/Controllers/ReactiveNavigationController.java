@@ -0,0 +1,37 @@
+package com.flightIQ.Navigation.Controllers;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.Service.Navigation_svc;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variants of the route endpoints. Results are completed
+ * asynchronously, so no request thread is held while waypoints and winds are
+ * looked up.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive")
+public class ReactiveNavigationController {
+
+    @Autowired
+    private Navigation_svc navservice;
+
+    @GetMapping(value = "/resolveRoute")
+    public Mono<List<RouteNode>> resolveRoute(@RequestParam String route) {
+        return navservice.resolveRouteReactive(route);
+    }
+
+    @GetMapping(value = "/ComputeNavlog")
+    public Mono<String> computeNavlog(@RequestParam String route, @RequestParam String aircraft, @RequestParam String CruiseALT, @RequestParam String TAS) {
+        return navservice.computeNavlogReactive(route, aircraft, CruiseALT, TAS);
+    }
+}
@@ -0,0 +1,27 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Admission counters of one endpoint group since startup. */
+@Getter
+@AllArgsConstructor
+public class AdmissionMetrics {
+    private final String name;
+    private final List<String> paths;
+    private final int inFlight;
+    private final int maxConcurrent;         // 0 when unlimited
+    private final int queued;                // waiting for a permit right now
+    private final int maxQueue;
+    private final double ratePerSecond;      // 0 when unlimited
+    private final int burst;
+    private final double availableTokens;
+    private final long admitted;
+    private final long admittedAfterQueueing;
+    private final long rejectedRateLimited;  // answered 429
+    private final long rejectedQueueFull;    // answered 503
+    private final long rejectedQueueTimeout; // answered 503
+    private final double meanQueueWaitMillis;
+}
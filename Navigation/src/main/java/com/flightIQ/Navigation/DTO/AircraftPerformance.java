@@ -0,0 +1,143 @@
+package com.flightIQ.Navigation.DTO;
+
+import lombok.Getter;
+
+/**
+ * Performance tables for one aircraft type.
+ *
+ * Cruise data is a dense altitude x weight grid, climb and descent profiles are
+ * indexed by altitude only. Everything is kept in flat float arrays and the
+ * lookups interpolate without allocating, so a table can be queried per leg
+ * on the hot path.
+ */
+public final class AircraftPerformance {
+
+    // Per-row column offsets of the climb/descent profile arrays
+    private static final int RATE = 0;
+    private static final int TAS = 1;
+    private static final int FUEL_FLOW = 2;
+    public static final int PROFILE_COLUMNS = 3;
+
+    @Getter
+    private final String typeId;
+
+    @Getter
+    private final double referenceWeight;
+
+    private final float[] cruiseAltitudes;
+    private final float[] cruiseWeights;
+    private final float[] cruiseTas;        // [altitudeIndex * weights + weightIndex]
+    private final float[] cruiseFuelFlow;   // [altitudeIndex * weights + weightIndex]
+
+    private final float[] climbAltitudes;
+    private final float[] climbProfile;     // [altitudeIndex * PROFILE_COLUMNS + column]
+
+    private final float[] descentAltitudes;
+    private final float[] descentProfile;   // [altitudeIndex * PROFILE_COLUMNS + column]
+
+    public AircraftPerformance(String typeId, double referenceWeight,
+                               float[] cruiseAltitudes, float[] cruiseWeights, float[] cruiseTas, float[] cruiseFuelFlow,
+                               float[] climbAltitudes, float[] climbProfile,
+                               float[] descentAltitudes, float[] descentProfile) {
+        if (cruiseTas.length != cruiseAltitudes.length * cruiseWeights.length
+                || cruiseFuelFlow.length != cruiseTas.length
+                || climbProfile.length != climbAltitudes.length * PROFILE_COLUMNS
+                || descentProfile.length != descentAltitudes.length * PROFILE_COLUMNS
+                || cruiseAltitudes.length == 0 || cruiseWeights.length == 0
+                || climbAltitudes.length == 0 || descentAltitudes.length == 0) {
+            throw new IllegalArgumentException("Incomplete performance tables for aircraft " + typeId);
+        }
+        this.typeId = typeId;
+        this.referenceWeight = referenceWeight;
+        this.cruiseAltitudes = cruiseAltitudes;
+        this.cruiseWeights = cruiseWeights;
+        this.cruiseTas = cruiseTas;
+        this.cruiseFuelFlow = cruiseFuelFlow;
+        this.climbAltitudes = climbAltitudes;
+        this.climbProfile = climbProfile;
+        this.descentAltitudes = descentAltitudes;
+        this.descentProfile = descentProfile;
+    }
+
+    /** Cruise true airspeed in knots. */
+    public double cruiseTas(double altitude, double weight) {
+        return bilinear(cruiseTas, altitude, weight);
+    }
+
+    /** Cruise fuel flow in gallons per hour. */
+    public double cruiseFuelFlow(double altitude, double weight) {
+        return bilinear(cruiseFuelFlow, altitude, weight);
+    }
+
+    /** Rate of climb in feet per minute. */
+    public double climbRate(double altitude) {
+        return profile(climbAltitudes, climbProfile, altitude, RATE);
+    }
+
+    public double climbTas(double altitude) {
+        return profile(climbAltitudes, climbProfile, altitude, TAS);
+    }
+
+    public double climbFuelFlow(double altitude) {
+        return profile(climbAltitudes, climbProfile, altitude, FUEL_FLOW);
+    }
+
+    /** Rate of descent in feet per minute (positive number). */
+    public double descentRate(double altitude) {
+        return profile(descentAltitudes, descentProfile, altitude, RATE);
+    }
+
+    public double descentTas(double altitude) {
+        return profile(descentAltitudes, descentProfile, altitude, TAS);
+    }
+
+    public double descentFuelFlow(double altitude) {
+        return profile(descentAltitudes, descentProfile, altitude, FUEL_FLOW);
+    }
+
+    private double bilinear(float[] table, double altitude, double weight) {
+        int columns = cruiseWeights.length;
+        int a = lowerIndex(cruiseAltitudes, altitude);
+        int w = lowerIndex(cruiseWeights, weight);
+        double ta = fraction(cruiseAltitudes, a, altitude);
+        double tw = fraction(cruiseWeights, w, weight);
+        int a1 = Math.min(a + 1, cruiseAltitudes.length - 1);
+        int w1 = Math.min(w + 1, columns - 1);
+
+        double low = lerp(table[a * columns + w], table[a * columns + w1], tw);
+        double high = lerp(table[a1 * columns + w], table[a1 * columns + w1], tw);
+        return lerp(low, high, ta);
+    }
+
+    private static double profile(float[] altitudes, float[] profile, double altitude, int column) {
+        int a = lowerIndex(altitudes, altitude);
+        int a1 = Math.min(a + 1, altitudes.length - 1);
+        double t = fraction(altitudes, a, altitude);
+        return lerp(profile[a * PROFILE_COLUMNS + column], profile[a1 * PROFILE_COLUMNS + column], t);
+    }
+
+    // Index of the last grid point <= value, clamped to the table
+    private static int lowerIndex(float[] grid, double value) {
+        int low = 0;
+        int high = grid.length - 1;
+        if (value <= grid[0]) return 0;
+        if (value >= grid[high]) return high;
+        while (high - low > 1) {
+            int mid = (low + high) >>> 1;
+            if (grid[mid] <= value) low = mid;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private static double fraction(float[] grid, int index, double value) {
+        if (index >= grid.length - 1) return 0;
+        double span = grid[index + 1] - grid[index];
+        double t = (value - grid[index]) / span;
+        return Math.max(0, Math.min(1, t));
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+}
@@ -0,0 +1,17 @@
+package com.flightIQ.Navigation.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Aircraft on the ground at or flying low near an airport. */
+@Getter
+@AllArgsConstructor
+public class AirportTraffic {
+    private final String ident;
+    private final String icao;
+    private final String name;
+    private final double latitude;
+    private final double longitude;
+    private final int aircraft;
+    private final int onGround;
+}
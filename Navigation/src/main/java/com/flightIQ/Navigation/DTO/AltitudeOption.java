@@ -0,0 +1,18 @@
+package com.flightIQ.Navigation.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Navlog totals for one candidate cruise altitude. */
+@Getter
+@AllArgsConstructor
+public class AltitudeOption {
+    private final int altitude;
+    private final double tas;
+    private final int windDirection;
+    private final int windSpeed;
+    private final double totalMinutes;
+    private final double totalFuel;
+    private final double topOfClimbDistance;
+    private final double topOfDescentDistance;
+}
@@ -0,0 +1,77 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** Destination weather parsed from a raw METAR/ATIS report. Fields missing from the report stay null. */
+@Getter
+@Setter
+public class AtisReport {
+    private String icao;
+    private String rawText;
+    private Instant observationTime;
+    private Integer windDirection;   // null for variable winds
+    private Integer windSpeed;
+    private Integer windGust;
+    private String visibility;
+    private Integer temperature;
+    private Integer dewpoint;
+    private Double altimeter;        // inches of mercury
+    private Instant fetchedAt;
+
+    public static AtisReport fromRaw(String icao, String rawText, Instant fetchedAt) {
+        AtisReport report = new AtisReport();
+        report.setIcao(icao);
+        report.setRawText(rawText);
+        report.setFetchedAt(fetchedAt);
+
+        for (String token : rawText.trim().split("\\s+")) {
+            if (token.equals("RMK")) break;
+
+            if (report.observationTime == null && token.matches("\\d{6}Z")) {
+                report.setObservationTime(observationTime(token, fetchedAt));
+            } else if (report.windSpeed == null && token.matches("(\\d{3}|VRB)\\d{2,3}(G\\d{2,3})?KT")) {
+                String direction = token.substring(0, 3);
+                report.setWindDirection(direction.equals("VRB") ? null : Integer.parseInt(direction));
+                int gust = token.indexOf('G');
+                int end = gust > 0 ? gust : token.length() - 2;
+                report.setWindSpeed(Integer.parseInt(token.substring(3, end)));
+                if (gust > 0) {
+                    report.setWindGust(Integer.parseInt(token.substring(gust + 1, token.length() - 2)));
+                }
+            } else if (report.visibility == null && token.matches("M?[\\d/]+SM")) {
+                report.setVisibility(token);
+            } else if (report.temperature == null && token.matches("M?\\d{2}/(M?\\d{2})?")) {
+                String[] parts = token.split("/");
+                report.setTemperature(celsius(parts[0]));
+                if (parts.length > 1) report.setDewpoint(celsius(parts[1]));
+            } else if (report.altimeter == null && token.matches("A\\d{4}")) {
+                report.setAltimeter(Integer.parseInt(token.substring(1)) / 100.0);
+            }
+        }
+        return report;
+    }
+
+    private static Integer celsius(String value) {
+        return value.startsWith("M") ? -Integer.parseInt(value.substring(1)) : Integer.parseInt(value);
+    }
+
+    // METAR times only carry day-of-month, so resolve them against the month they were fetched in
+    private static Instant observationTime(String token, Instant fetchedAt) {
+        int day = Integer.parseInt(token.substring(0, 2));
+        int hour = Integer.parseInt(token.substring(2, 4));
+        int minute = Integer.parseInt(token.substring(4, 6));
+        YearMonth month = YearMonth.from(fetchedAt.atZone(ZoneOffset.UTC));
+        if (day > fetchedAt.atZone(ZoneOffset.UTC).getDayOfMonth()) {
+            month = month.minusMonths(1);
+        }
+        if (day > month.lengthOfMonth() || hour > 23 || minute > 59) {
+            return null;
+        }
+        return month.atDay(day).atTime(hour, minute).toInstant(ZoneOffset.UTC);
+    }
+}
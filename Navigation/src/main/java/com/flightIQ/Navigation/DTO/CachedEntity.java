@@ -0,0 +1,12 @@
+package com.flightIQ.Navigation.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Reference data already serialized to JSON, with the strong ETag it is served under. */
+@Getter
+@AllArgsConstructor
+public class CachedEntity {
+    private final String etag;
+    private final byte[] body;
+}
@@ -0,0 +1,24 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** State and counters of one upstream circuit breaker since startup. */
+@Getter
+@AllArgsConstructor
+public class CircuitBreakerMetrics {
+    private final String name;
+    private final String state;             // CLOSED, OPEN or HALF_OPEN
+    private final int consecutiveFailures;
+    private final int inFlight;
+    private final int maxConcurrent;
+    private final long succeeded;
+    private final long failed;              // includes slow calls
+    private final long slowCalls;
+    private final long shortCircuited;      // refused while open
+    private final long bulkheadRejected;    // refused at the concurrency limit
+    private final String lastFailure;
+    private final Instant lastFailureAt;
+}
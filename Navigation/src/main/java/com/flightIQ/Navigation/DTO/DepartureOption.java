@@ -0,0 +1,20 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Navlog totals for one departure time of a sweep. */
+@Getter
+@AllArgsConstructor
+public class DepartureOption {
+    private final Instant departureTime;
+    private final Instant arrivalTime;
+    private final int forecastHours;
+    private final Instant windValidTime;
+    private final int windDirection;
+    private final int windSpeed;
+    private final double totalMinutes;
+    private final double totalFuel;
+}
@@ -0,0 +1,33 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.time.Instant;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Remaining navlog of a tracked flight from its last reported position.
+ * Position fields are null and the waypoints empty until the aircraft shows
+ * up in the traffic feed.
+ */
+@Getter
+@AllArgsConstructor
+public class FlightProjection {
+    private final String icao24;
+    private final String callSign;
+    private final String route;
+    private final String aircraft;
+    private final Instant positionTime;
+    private final Float latitude;
+    private final Float longitude;
+    private final Integer altitude;        // feet
+    private final Double groundSpeed;      // knots
+    private final Float track;
+    private final String activeLegFrom;
+    private final String activeLegTo;
+    private final Double crossTrack;       // NM, positive right of the leg
+    private final boolean offRoute;
+    private final Double fuelFlow;         // gallons per hour
+    private final List<WaypointProjection> waypoints;
+}
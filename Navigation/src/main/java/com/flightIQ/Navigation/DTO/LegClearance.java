@@ -0,0 +1,19 @@
+package com.flightIQ.Navigation.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Terrain along one leg. Elevation fields are null when none of the samples had elevation data. */
+@Getter
+@AllArgsConstructor
+public class LegClearance {
+    private final String from;
+    private final String to;
+    private final double distance;
+    private final int samples;
+    private final int samplesWithoutData;
+    private final Integer maxElevation;      // feet MSL
+    private final Double maxElevationLat;
+    private final Double maxElevationLon;
+    private final Integer minClearance;      // feet above the highest terrain
+}
@@ -0,0 +1,20 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.flightIQ.Navigation.Models.Airport;
+import com.flightIQ.Navigation.Models.FIXX;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Immutable copy of the nav database that the in-memory indexes are built from. */
+@Getter
+@AllArgsConstructor
+public class NavSnapshot {
+    private final String version;
+    private final List<Airport> airports;
+    private final List<FIXX> fixes;
+    private final Instant loadedAt;
+}
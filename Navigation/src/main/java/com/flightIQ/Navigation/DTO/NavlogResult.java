@@ -0,0 +1,24 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Output of the navlog engine. Legs include the synthetic TOC/TOD nodes and
+ * carry the wind-corrected heading as their bearing. The cumulative arrays hold
+ * one entry per leg, measured at the end of that leg.
+ */
+@Getter
+@AllArgsConstructor
+public class NavlogResult {
+    private final List<RouteNode> legs;
+    private final double totalDistance;   // nautical miles
+    private final double totalMinutes;
+    private final double totalFuel;       // gallons, including taxi fuel
+    private final double[] cumulativeMinutes;
+    private final double[] cumulativeFuel;
+    private final double topOfClimbDistance;    // from departure, nautical miles
+    private final double topOfDescentDistance;  // from departure, nautical miles
+}
@@ -0,0 +1,15 @@
+package com.flightIQ.Navigation.DTO;
+
+import com.flightIQ.Navigation.Models.Airport;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** An airport returned by a proximity search, with its distance and bearing from the search point. */
+@Getter
+@AllArgsConstructor
+public class NearbyAirport {
+    private final Airport airport;
+    private final double distance;  // nautical miles
+    private final double bearing;   // true, from the search point
+}
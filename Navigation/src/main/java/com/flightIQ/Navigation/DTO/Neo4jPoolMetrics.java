@@ -0,0 +1,22 @@
+package com.flightIQ.Navigation.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Connection pool counters of the Neo4j driver for one server. */
+@Getter
+@AllArgsConstructor
+public class Neo4jPoolMetrics {
+    private final String server;
+    private final int inUse;
+    private final int idle;
+    private final int maxSize;
+    private final double utilization;       // inUse / maxSize
+    private final int acquiring;            // callers waiting for a connection right now
+    private final long acquired;
+    private final long timedOutToAcquire;
+    private final double meanAcquisitionMillis;
+    private final long created;
+    private final long failedToCreate;
+    private final long closed;
+}
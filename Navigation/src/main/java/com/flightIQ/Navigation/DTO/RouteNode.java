@@ -17,6 +17,7 @@ public class RouteNode {
     private String nodeName;
     private double bearing;
     private double distance;
+    private String phaseOfFlight; // CLB, CRZ or DES once the navlog has been computed
 
     public RouteNode(String nodeName, double bearing, double distance) {
         this.nodeName = nodeName;
@@ -24,6 +25,11 @@ public class RouteNode {
         this.distance = distance;
     }
 
+    public RouteNode(String nodeName, double bearing, double distance, String phaseOfFlight) {
+        this(nodeName, bearing, distance);
+        this.phaseOfFlight = phaseOfFlight;
+    }
+
     @Override
     public String toString() {
         return "Node: " + nodeName + ", Bearing: " + bearing + ", Distance: " + distance;
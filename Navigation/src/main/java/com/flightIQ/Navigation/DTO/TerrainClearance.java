@@ -0,0 +1,24 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Terrain clearance of a route at its cruise altitude. {@code clear} needs
+ * every leg to keep the required clearance and every sample to have data.
+ */
+@Getter
+@AllArgsConstructor
+public class TerrainClearance {
+    private final String route;
+    private final int cruiseAltitude;
+    private final int requiredClearance;
+    private final double sampleSpacing;      // NM
+    private final Integer maxElevation;
+    private final Integer minClearance;
+    private final int samplesWithoutData;
+    private final boolean clear;
+    private final List<LegClearance> legs;
+}
@@ -0,0 +1,15 @@
+package com.flightIQ.Navigation.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Aircraft in one grid cell, identified by its south-west corner. */
+@Getter
+@AllArgsConstructor
+public class TrafficCell {
+    private final double south;
+    private final double west;
+    private final double sizeDegrees;
+    private final int aircraft;
+    private final int airborne;
+}
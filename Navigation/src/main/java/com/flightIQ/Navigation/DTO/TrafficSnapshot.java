@@ -0,0 +1,14 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** One fetch of the traffic feed from OpenSky. */
+@Getter
+@AllArgsConstructor
+public class TrafficSnapshot {
+    private final StateVector[] vectors;
+    private final Instant fetchedAt;
+}
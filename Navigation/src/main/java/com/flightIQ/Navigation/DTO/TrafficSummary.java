@@ -0,0 +1,19 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Fleet-wide counts of one traffic feed snapshot. */
+@Getter
+@AllArgsConstructor
+public class TrafficSummary {
+    private final Instant snapshotAt;
+    private final int aircraft;
+    private final int airborne;
+    private final int onGround;
+    private final int unknownAltitude;      // airborne without a barometric altitude
+    private final int bandWidthFeet;
+    private final int[] altitudeBands;      // airborne per band from 0 ft up, the last band is open ended
+}
@@ -0,0 +1,17 @@
+package com.flightIQ.Navigation.DTO;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Projected arrival at one remaining waypoint. Time and fuel are null while the aircraft is too slow to project. */
+@Getter
+@AllArgsConstructor
+public class WaypointProjection {
+    private final String waypoint;
+    private final double distance;   // NM from the aircraft along the route
+    private final Double minutes;
+    private final Instant eta;
+    private final Double fuel;       // gallons burned from the aircraft position
+}
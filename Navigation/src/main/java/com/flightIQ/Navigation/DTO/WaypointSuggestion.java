@@ -0,0 +1,18 @@
+package com.flightIQ.Navigation.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** A typeahead match for a route waypoint. */
+@Getter
+@AllArgsConstructor
+public class WaypointSuggestion {
+    private final String id;            // what to put in the route string
+    private final String type;          // AIRPORT or FIX
+    private final String name;          // airport name, null for fixes
+    private final double latitude;
+    private final double longitude;
+    private final String matchedTerm;
+    private final int edits;            // 0 for a prefix match
+    private final Double distance;      // nautical miles from the reference point, if one was given
+}
@@ -1,4 +1,6 @@
 package com.flightIQ.Navigation.DTO;
+import java.time.Instant;
+
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -11,21 +13,55 @@ public class WindAloft {
     private int speed;
     private String closestAirportCode;
     private double distanceFromOriginalAirportInMiles;
+    private Instant validTime; // forecast valid time, null when the service does not report one
 
     public static WindAloft fromString(String data) {
         String[] parts = data.split("@");
-        System.out.println("LEN " + parts.length + " " + data);
-        if (parts.length != 5) {
-            throw new IllegalArgumentException("Invalid WindAloft data format");
+        if (parts.length != 5 && parts.length != 6) {
+            throw new IllegalArgumentException("Invalid WindAloft data format: " + data);
         }
         WindAloft windAloft = new WindAloft();
         windAloft.setDirection(Integer.parseInt(parts[0]));
         windAloft.setSpeed(Integer.parseInt(parts[1]));
         windAloft.setClosestAirportCode(parts[3]);
         windAloft.setDistanceFromOriginalAirportInMiles(Double.parseDouble(parts[4]));
+        if (parts.length == 6) {
+            windAloft.setValidTime(Instant.parse(parts[5]));
+        }
         return windAloft;
     }
 
+    /** Average used for a whole route, matching how the navlog has always combined origin and destination winds. */
+    public static WindAloft average(WindAloft origin, WindAloft destination) {
+        WindAloft average = new WindAloft();
+        average.setDirection((int) Math.round((origin.getDirection() + destination.getDirection()) / 2.0));
+        average.setSpeed((int) Math.round((origin.getSpeed() + destination.getSpeed()) / 2.0));
+        average.setClosestAirportCode(origin.getClosestAirportCode());
+        average.setDistanceFromOriginalAirportInMiles(origin.getDistanceFromOriginalAirportInMiles());
+        average.setValidTime(origin.getValidTime());
+        return average;
+    }
+
+    /**
+     * Wind between two reported altitude bands. Interpolates the wind vector
+     * rather than direction and speed separately so winds near north behave.
+     */
+    public static WindAloft interpolate(WindAloft lower, WindAloft upper, double fraction) {
+        double lowerRad = Math.toRadians(lower.getDirection());
+        double upperRad = Math.toRadians(upper.getDirection());
+        double u = lower.getSpeed() * Math.sin(lowerRad) * (1 - fraction) + upper.getSpeed() * Math.sin(upperRad) * fraction;
+        double v = lower.getSpeed() * Math.cos(lowerRad) * (1 - fraction) + upper.getSpeed() * Math.cos(upperRad) * fraction;
+
+        WindAloft wind = new WindAloft();
+        int speed = (int) Math.round(Math.hypot(u, v));
+        wind.setSpeed(speed);
+        wind.setDirection(speed == 0 ? 0 : (int) Math.round((Math.toDegrees(Math.atan2(u, v)) + 360) % 360));
+        wind.setClosestAirportCode(lower.getClosestAirportCode());
+        wind.setDistanceFromOriginalAirportInMiles(lower.getDistanceFromOriginalAirportInMiles());
+        wind.setValidTime(lower.getValidTime());
+        return wind;
+    }
+
     @Override
     public String toString() {
         return String.format("%d@%d@%s@%.2f", direction, speed, closestAirportCode, distanceFromOriginalAirportInMiles);
@@ -0,0 +1,7 @@
+package com.flightIQ.Navigation.Exceptions;
+
+public class FlightNotTrackedException extends RuntimeException {
+	public FlightNotTrackedException(String message) {
+		super(message);
+	}
+}
@@ -1,6 +1,8 @@
 package com.flightIQ.Navigation.Exceptions;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -9,6 +11,12 @@ import com.flightIQ.Navigation.Models.ErrorResponse;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Errors are always JSON. Setting the type skips content negotiation, which would otherwise fail for
+    // clients that only accept a binary type such as application/vnd.flightiq.traffic and turn the error into an empty 500.
+    private static ResponseEntity.BodyBuilder errorResponse(HttpStatus status) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON);
+    }
+
     @ExceptionHandler(FixxNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleFixxNotFoundException(FixxNotFoundException ex) {
         ErrorResponse error = new ErrorResponse(
@@ -16,7 +24,7 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 System.currentTimeMillis()
         );
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        return errorResponse(HttpStatus.NOT_FOUND).body(error);
     }
     
     @ExceptionHandler(AirportNotFoundException.class)
@@ -26,9 +34,19 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 System.currentTimeMillis()
         );
-        return new ResponseEntity<>(error, HttpStatus.NOT_FOUND);
+        return errorResponse(HttpStatus.NOT_FOUND).body(error);
     }
     
+    @ExceptionHandler(FlightNotTrackedException.class)
+    public ResponseEntity<ErrorResponse> handleFlightNotTrackedException(FlightNotTrackedException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                ex.getMessage(),
+                System.currentTimeMillis()
+        );
+        return errorResponse(HttpStatus.NOT_FOUND).body(error);
+    }
+
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ErrorResponse> handleBadRequestException(BadRequestException ex) {
         ErrorResponse error = new ErrorResponse(
@@ -36,9 +54,21 @@ public class GlobalExceptionHandler {
                 ex.getMessage(),
                 System.currentTimeMillis()
         );
-        return new ResponseEntity<>(error, HttpStatus.BAD_REQUEST);
+        return errorResponse(HttpStatus.BAD_REQUEST).body(error);
     }
     
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage(),
+                System.currentTimeMillis()
+        );
+        return errorResponse(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(error);
+    }
+
     // To handle generic exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
@@ -47,6 +77,6 @@ public class GlobalExceptionHandler {
                 "An unexpected error occurred: " + ex.getMessage(),
                 System.currentTimeMillis()
         );
-        return new ResponseEntity<>(error, HttpStatus.INTERNAL_SERVER_ERROR);
+        return errorResponse(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 }
@@ -0,0 +1,18 @@
+package com.flightIQ.Navigation.Models;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Source of raw destination weather (METAR/ATIS text). Implementations should
+ * fetch all requested airports in as few upstream calls as possible.
+ */
+public interface AtisProvider {
+
+    /**
+     * Raw report per ICAO code. Airports without a current report are left out of the map.
+     *
+     * @throws com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException when the source cannot be reached
+     */
+    Map<String, String> fetchRawReports(Collection<String> icaoCodes);
+}
@@ -0,0 +1,65 @@
+package com.flightIQ.Navigation.Models;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException;
+
+/** METAR reports from the aviationweather.gov data API, one request per batch of airports. */
+@Service
+@ConditionalOnProperty(name = "atis.provider", havingValue = "aviationweather", matchIfMissing = true)
+public class AviationWeatherAtisProvider implements AtisProvider {
+
+    private final Logger _logger = LoggerFactory.getLogger(AviationWeatherAtisProvider.class);
+
+    private final RestTemplate restTemplate;
+    private final String metarUrl;
+
+    public AviationWeatherAtisProvider(RestTemplate restTemplate,
+                                       @Value("${atis.aviationweather.url:https://aviationweather.gov/api/data/metar}") String metarUrl) {
+        this.restTemplate = restTemplate;
+        this.metarUrl = metarUrl;
+    }
+
+    @Override
+    public Map<String, String> fetchRawReports(Collection<String> icaoCodes) {
+        Map<String, String> reports = new HashMap<>();
+        if (icaoCodes.isEmpty()) return reports;
+
+        String url = UriComponentsBuilder.fromUriString(metarUrl)
+                .queryParam("ids", String.join(",", icaoCodes))
+                .queryParam("format", "raw")
+                .toUriString();
+
+        String body;
+        try {
+            body = restTemplate.getForObject(url, String.class);
+        } catch (RestClientException ex) {
+            _logger.error("Failed to fetch METARs for {}", icaoCodes, ex);
+            throw new UpstreamUnavailableException("aviationweather.gov is unavailable: " + ex.getMessage(), ex);
+        }
+        if (body == null) return reports;
+
+        // One report per line, optionally prefixed with METAR/SPECI, newest first
+        for (String line : body.split("\\R")) {
+            String report = line.trim();
+            if (report.startsWith("METAR ") || report.startsWith("SPECI ")) {
+                report = report.substring(6);
+            }
+            if (report.length() < 5) continue;
+            String icao = report.substring(0, 4);
+            reports.putIfAbsent(icao, report);
+        }
+        return reports;
+    }
+}
@@ -0,0 +1,139 @@
+package com.flightIQ.Navigation.Models;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Channel in a directory that all instances can reach, for several instances
+ * on one host and for tests.
+ *
+ * Every topic is one file, replaced with an atomic rename:
+ *
+ * <pre>
+ *   int     magic 'NVSB'
+ *   long    version
+ *   long    published at, epoch millis
+ *   byte[]  data, to the end of the file
+ * </pre>
+ *
+ * The lease is a text file with the owner and its expiry, and publishes take
+ * the next version of a topic, both only while holding a lock on
+ * {@code poller.lock}. File locks are not reliable on every
+ * network file system, so instances on different hosts should use the Neo4j
+ * channel.
+ */
+@Service
+@ConditionalOnProperty(name = "nav.snapshots.channel", havingValue = "file")
+public class FileSnapshotChannel implements SnapshotChannel {
+
+    private static final int MAGIC = 0x4E565342; // NVSB
+    private static final int HEADER_SIZE = 20;
+    private static final String LEASE_FILE = "poller.lease";
+    private static final String LOCK_FILE = "poller.lock";
+
+    private final Path directory;
+
+    public FileSnapshotChannel(@Value("${nav.snapshots.directory}") String directory) throws IOException {
+        this.directory = Path.of(directory);
+        Files.createDirectories(this.directory);
+    }
+
+    @Override
+    public boolean tryLease(String node, Duration ttl) {
+        try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = lockChannel.lock()) {
+            long now = System.currentTimeMillis();
+            Path lease = directory.resolve(LEASE_FILE);
+            if (Files.exists(lease)) {
+                String[] owner = Files.readString(lease, StandardCharsets.UTF_8).split("\n");
+                if (owner.length == 2 && !owner[0].equals(node) && Long.parseLong(owner[1].trim()) >= now) {
+                    return false;
+                }
+            }
+            Files.writeString(lease, node + "\n" + (now + ttl.toMillis()), StandardCharsets.UTF_8);
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not take the poller lease in " + directory, e);
+        }
+    }
+
+    @Override
+    public long publish(String topic, Instant publishedAt, byte[] data) {
+        Path target = directory.resolve(topic + ".blob");
+        try (FileChannel lockChannel = FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock lock = lockChannel.lock()) {
+            ByteBuffer current = header(target);
+            long version = current == null ? 1 : current.getLong(4) + 1;
+
+            Path staged = Files.createTempFile(directory, topic, ".tmp");
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putLong(version).putLong(publishedAt.toEpochMilli()).flip();
+                try (FileChannel channel = FileChannel.open(staged, StandardOpenOption.WRITE)) {
+                    channel.write(new ByteBuffer[] {header, ByteBuffer.wrap(data)});
+                }
+                Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(staged);
+            }
+            return version;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not publish " + topic + " to " + directory, e);
+        }
+    }
+
+    @Override
+    public Blob latest(String topic, long afterVersion) {
+        Path file = directory.resolve(topic + ".blob");
+        try {
+            ByteBuffer header = header(file);
+            if (header == null || header.getLong(4) <= afterVersion) return null;
+
+            // Read again in full; the file may have been replaced since the header was read
+            ByteBuffer blob = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (blob.remaining() < HEADER_SIZE || blob.getInt() != MAGIC) {
+                throw new IOException(file + " is not a snapshot blob");
+            }
+            long version = blob.getLong();
+            Instant publishedAt = Instant.ofEpochMilli(blob.getLong());
+            byte[] data = new byte[blob.remaining()];
+            blob.get(data);
+            return new Blob(version, publishedAt, data);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + topic + " from " + directory, e);
+        }
+    }
+
+    // Header of a topic file, null when there is none yet
+    private ByteBuffer header(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            ByteBuffer header = ByteBuffer.wrap(in.readNBytes(HEADER_SIZE));
+            if (header.capacity() < HEADER_SIZE || header.getInt(0) != MAGIC) {
+                throw new IOException(file + " is not a snapshot blob");
+            }
+            return header;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.flightIQ.Navigation.Models;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Channel within one JVM, for single instance runs and tests. Every node id
+ * that uses the same instance competes for the lease.
+ */
+@Service
+@ConditionalOnProperty(name = "nav.snapshots.channel", havingValue = "in-process", matchIfMissing = true)
+public class InProcessSnapshotChannel implements SnapshotChannel {
+
+    private final Map<String, Blob> topics = new ConcurrentHashMap<>();
+    private String leaseOwner;
+    private long leaseExpiresAt;
+
+    @Override
+    public synchronized boolean tryLease(String node, Duration ttl) {
+        long now = System.currentTimeMillis();
+        if (leaseOwner == null || leaseOwner.equals(node) || leaseExpiresAt < now) {
+            leaseOwner = node;
+            leaseExpiresAt = now + ttl.toMillis();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public long publish(String topic, Instant publishedAt, byte[] data) {
+        byte[] copy = data.clone();
+        return topics.compute(topic, (name, current) ->
+                new Blob(current == null ? 1 : current.version() + 1, publishedAt, copy)).version();
+    }
+
+    @Override
+    public Blob latest(String topic, long afterVersion) {
+        Blob blob = topics.get(topic);
+        return blob == null || blob.version() <= afterVersion ? null : blob;
+    }
+}
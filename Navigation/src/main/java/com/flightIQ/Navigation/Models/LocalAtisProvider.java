@@ -0,0 +1,39 @@
+package com.flightIQ.Navigation.Models;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Offline stand-in for local runs and tests. Serves reports registered with
+ * {@link #setReport} and a calm, clear report for every other airport.
+ */
+@Service
+@ConditionalOnProperty(name = "atis.provider", havingValue = "local")
+public class LocalAtisProvider implements AtisProvider {
+
+    private static final DateTimeFormatter METAR_TIME = DateTimeFormatter.ofPattern("ddHHmm'Z'");
+
+    private final Map<String, String> reports = new ConcurrentHashMap<>();
+
+    public void setReport(String icao, String rawReport) {
+        reports.put(icao, rawReport);
+    }
+
+    @Override
+    public Map<String, String> fetchRawReports(Collection<String> icaoCodes) {
+        String time = ZonedDateTime.now(ZoneOffset.UTC).format(METAR_TIME);
+        Map<String, String> result = new HashMap<>();
+        for (String icao : icaoCodes) {
+            result.put(icao, reports.getOrDefault(icao, icao + " " + time + " 00000KT 10SM CLR 15/10 A2992"));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+package com.flightIQ.Navigation.Models;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Service;
+
+/**
+ * Channel in the Neo4j database all instances already share. The lease is a
+ * {@code :PollerLease} node and every topic a {@code :SharedSnapshot} node
+ * with the blob as a byte array property.
+ */
+@Service
+@ConditionalOnProperty(name = "nav.snapshots.channel", havingValue = "neo4j")
+public class Neo4jSnapshotChannel implements SnapshotChannel {
+
+    // Writing _lock first takes the node's write lock, so the checks below see the latest committed values
+    private static final String TRY_LEASE = """
+            MERGE (lease:PollerLease {name: 'snapshots'})
+            SET lease._lock = true
+            WITH lease, (lease.owner IS NULL OR lease.owner = $node OR lease.expiresAt < $now) AS granted
+            SET lease.owner = CASE WHEN granted THEN $node ELSE lease.owner END,
+                lease.expiresAt = CASE WHEN granted THEN $expiresAt ELSE lease.expiresAt END
+            REMOVE lease._lock
+            RETURN granted
+            """;
+
+    // As above, so two publishes never read the same version
+    private static final String PUBLISH = """
+            MERGE (snapshot:SharedSnapshot {topic: $topic})
+            SET snapshot._lock = true
+            SET snapshot.version = coalesce(snapshot.version, 0) + 1,
+                snapshot.publishedAt = $publishedAt,
+                snapshot.data = $data
+            REMOVE snapshot._lock
+            RETURN snapshot.version
+            """;
+
+    private static final String LATEST = """
+            MATCH (snapshot:SharedSnapshot {topic: $topic})
+            WHERE snapshot.version > $after
+            RETURN snapshot.version AS version, snapshot.publishedAt AS publishedAt, snapshot.data AS data
+            """;
+
+    private final Neo4jClient neo4jClient;
+
+    public Neo4jSnapshotChannel(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public boolean tryLease(String node, Duration ttl) {
+        long now = System.currentTimeMillis();
+        return neo4jClient.query(TRY_LEASE)
+                .bind(node).to("node")
+                .bind(now).to("now")
+                .bind(now + ttl.toMillis()).to("expiresAt")
+                .fetchAs(Boolean.class).one().orElse(false);
+    }
+
+    @Override
+    public long publish(String topic, Instant publishedAt, byte[] data) {
+        return neo4jClient.query(PUBLISH)
+                .bind(topic).to("topic")
+                .bind(publishedAt.toEpochMilli()).to("publishedAt")
+                .bind(data).to("data")
+                .fetchAs(Long.class).one().orElseThrow();
+    }
+
+    @Override
+    public Blob latest(String topic, long afterVersion) {
+        return neo4jClient.query(LATEST)
+                .bind(topic).to("topic")
+                .bind(afterVersion).to("after")
+                .fetch().one()
+                .map(Neo4jSnapshotChannel::toBlob)
+                .orElse(null);
+    }
+
+    private static Blob toBlob(Map<String, Object> row) {
+        return new Blob(((Number) row.get("version")).longValue(),
+                Instant.ofEpochMilli(((Number) row.get("publishedAt")).longValue()),
+                (byte[]) row.get("data"));
+    }
+}
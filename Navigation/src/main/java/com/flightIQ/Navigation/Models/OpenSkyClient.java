@@ -0,0 +1,116 @@
+package com.flightIQ.Navigation.Models;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightIQ.Navigation.DTO.AccessToken;
+import com.flightIQ.Navigation.DTO.StateVector;
+
+/**
+ * OpenSky Network state vectors with the client-credentials token it needs.
+ * Lazy, so the credentials are only resolved when traffic is first requested.
+ */
+@Lazy
+@Service
+public class OpenSkyClient {
+
+    private static final String ENDPOINT_OPENSKY = "https://opensky-network.org/api";
+    private static final String ENDPOINT_OPENSKY_AUTH = "https://auth.opensky-network.org/auth/realms/opensky-network/protocol/openid-connect/token";
+
+    private static final ObjectMapper OBJ_MAPPER = new ObjectMapper(); // Maps StateVectors from API to a List
+    private final Logger _logger = LoggerFactory.getLogger(OpenSkyClient.class);
+
+    private final RestTemplate restTemplate;
+    private final String clientId;
+    private final String clientSecret;
+
+    private volatile AccessToken openskyToken;
+
+    public OpenSkyClient(RestTemplate restTemplate,
+                         @Value("${opensky.client-id}") String clientId,
+                         @Value("${opensky.client-secret}") String clientSecret) {
+        this.restTemplate = restTemplate;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+    }
+
+    public StateVector[] getStateVectors(float lamin, float lomin, float lamax, float lomax) {
+        // Build URI
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(ENDPOINT_OPENSKY + "/states/all");
+        uriBuilder.queryParam("lamin", lamin);
+        uriBuilder.queryParam("lomin", lomin);
+        uriBuilder.queryParam("lamax", lamax);
+        uriBuilder.queryParam("lomax", lomax);
+
+        // Build request
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token());
+        HttpEntity<Void> request = new HttpEntity<>(headers);
+
+        return parseRawVectors(restTemplate.exchange(uriBuilder.toUriString(), HttpMethod.GET, request, String.class).getBody());
+    }
+
+    private synchronized String token() {
+        if (openskyToken == null || openskyToken.expired())
+            configureAccessToken();
+        if (openskyToken == null)
+            throw new IllegalStateException("No OpenSky access token available");
+        return openskyToken.getToken();
+    }
+
+    private void configureAccessToken() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
+        body.add("grant_type", "client_credentials");
+        body.add("client_id", clientId);
+        body.add("client_secret", clientSecret);
+
+        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(ENDPOINT_OPENSKY_AUTH, request, Map.class);
+
+        // Access Token expires after 30 minutes. So reconfigure after 28 minutes.
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            String accessToken = (String) response.getBody().get("access_token");
+            openskyToken = new AccessToken(accessToken, Instant.now().plusSeconds(1680));
+        } else {
+            _logger.error("configureAccessToken: Failed to obtain AccessToken.");
+        }
+    }
+
+    private StateVector[] parseRawVectors(String rawJson) {
+        try {
+            Map<String, Object> map = OBJ_MAPPER.readValue(rawJson, new TypeReference<>() {});
+            List<List<Object>> rawStates = (List<List<Object>>) map.get("states");
+
+            if (rawStates == null) return new StateVector[0];
+            return rawStates.stream().map(StateVector::fromList).toArray(StateVector[]::new);
+
+        } catch (JsonProcessingException e) {
+            _logger.error(">>>Error Processing Raw Vectors<<<", e);
+            throw new IllegalStateException("Unreadable OpenSky state vectors", e);
+        }
+    }
+}
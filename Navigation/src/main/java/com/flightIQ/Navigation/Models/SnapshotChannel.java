@@ -0,0 +1,29 @@
+package com.flightIQ.Navigation.Models;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Storage shared by all instances of the service, through which the elected
+ * poller hands its upstream snapshots to the other instances.
+ *
+ * A topic holds only its latest blob. The channel numbers the blobs of a
+ * topic itself, one more than the stored version, so the order does not
+ * depend on the clock of the instance that published them.
+ */
+public interface SnapshotChannel {
+
+    record Blob(long version, Instant publishedAt, byte[] data) {}
+
+    /**
+     * Takes or renews the poller lease for {@code node}. True while {@code node}
+     * holds it; the lease passes to another node once it is not renewed for {@code ttl}.
+     */
+    boolean tryLease(String node, Duration ttl);
+
+    /** Replaces the blob of a topic and returns the version it was stored as. */
+    long publish(String topic, Instant publishedAt, byte[] data);
+
+    /** Latest blob of a topic when it is newer than {@code afterVersion}, otherwise null. */
+    Blob latest(String topic, long afterVersion);
+}
@@ -1,5 +1,8 @@
 package com.flightIQ.Navigation.Models;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
@@ -10,9 +13,12 @@ import com.flightIQ.Navigation.DTO.WindAloft;
 
 
 
+@Lazy
 @Service
 public class WindsAloftClient {
 
+    private final Logger _logger = LoggerFactory.getLogger(WindsAloftClient.class);
+
     private final RestTemplate restTemplate;
     private final String productServiceUrl;
 
@@ -23,32 +29,47 @@ public class WindsAloftClient {
         
     }
     public WindAloft getWindsAloftByIcao(String ICAO, int cruiseALT) {
+        return fetch(String.format("%s?airportCode=%s&altitude=%d", productServiceUrl, ICAO, cruiseALT));
+    }
+
+    /**
+     * Winds from a specific forecast period of the winds aloft product (6, 12 or 24 hours).
+     *
+     * Relies on the winds service selecting the period from {@code forecast=06|12|24}
+     * and appending the forecast valid time as a sixth {@code @} field, ISO-8601 in UTC.
+     * A service that ignores the parameter answers with its current winds and no valid
+     * time, which WindsAloftService rejects instead of using them for a later departure.
+     */
+    public WindAloft getWindsAloftForecast(String ICAO, int cruiseALT, int forecastHours) {
+        return fetch(String.format("%s?airportCode=%s&altitude=%d&forecast=%02d", productServiceUrl, ICAO, cruiseALT, forecastHours));
+    }
+
+    /**
+     * Null when the service has no winds for the request. Server errors, network
+     * errors and unreadable responses are thrown, so the circuit breaker sees them.
+     */
+    private WindAloft fetch(String url) {
         try {
-            String url = String.format("%s?airportCode=%s&altitude=%d", productServiceUrl, ICAO, cruiseALT);
             String response = restTemplate.getForObject(url, String.class); // Get raw string response
     
             if (response == null || response.isEmpty()) {
-                System.out.println("Received empty or null response from winds aloft service.");
+                _logger.debug("Empty response from the winds aloft service for {}", url);
                 return null;
             }
     
             WindAloft windAloft = WindAloft.fromString(response);
             return windAloft;
     
-        } catch (HttpClientErrorException | HttpServerErrorException ex) {
-            System.out.println("HTTP error while fetching winds aloft:");
-            System.out.println("Status Code: " + ex.getStatusCode());
-            System.out.println("Response Body: " + ex.getResponseBodyAsString());
-            ex.printStackTrace();
+        } catch (HttpClientErrorException ex) {
+            _logger.warn("Winds aloft service rejected {} with {}: {}", url, ex.getStatusCode(), ex.getResponseBodyAsString());
+            return null;
+        } catch (HttpServerErrorException ex) {
+            _logger.warn("Winds aloft service error {}: {}", ex.getStatusCode(), ex.getResponseBodyAsString());
+            throw ex;
         } catch (ResourceAccessException ex) {
-            System.out.println("Network error while fetching winds aloft:");
-            ex.printStackTrace();
-        } catch (Exception ex) {
-            System.out.println("Unexpected error while fetching winds aloft:");
-            ex.printStackTrace();
+            _logger.warn("Network error while fetching winds aloft: {}", ex.getMessage());
+            throw ex;
         }
-    
-        return null;
     }
     
     
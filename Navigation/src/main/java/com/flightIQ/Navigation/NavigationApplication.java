@@ -3,9 +3,11 @@
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
+import org.springframework.data.neo4j.repository.config.EnableReactiveNeo4jRepositories;
 
 @SpringBootApplication
 @EnableNeo4jRepositories
+@EnableReactiveNeo4jRepositories(basePackages = "com.flightIQ.Navigation.Repository.reactive")
 public class NavigationApplication {
 
 	public static void main(String[] args) {
@@ -4,10 +4,13 @@ import java.util.Optional;
 
 import org.springframework.data.neo4j.repository.Neo4jRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.flightIQ.Navigation.Models.Airport;
 
+// Read-only transactions, so a neo4j:// URI routes these lookups to cluster followers
 @Repository
+@Transactional(readOnly = true)
 public interface AirportRepository extends Neo4jRepository<Airport, String> {
 	Optional<Airport> findByIdent(String ident);
 	Optional<Airport> findByIcao(String icao);
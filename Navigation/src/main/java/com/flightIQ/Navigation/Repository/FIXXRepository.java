@@ -5,10 +5,13 @@ import java.util.Optional;
 
 import org.springframework.data.neo4j.repository.Neo4jRepository;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.flightIQ.Navigation.Models.FIXX;
 
+// Read-only transactions, so a neo4j:// URI routes these lookups to cluster followers
 @Repository
+@Transactional(readOnly = true)
 public interface FIXXRepository extends Neo4jRepository<FIXX, String> {
 	Optional<FIXX> findByFixxId(String fixxId);
 }
@@ -0,0 +1,16 @@
+package com.flightIQ.Navigation.Repository.reactive;
+
+import org.springframework.data.neo4j.repository.ReactiveNeo4jRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.flightIQ.Navigation.Models.Airport;
+
+import reactor.core.publisher.Mono;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ReactiveAirportRepository extends ReactiveNeo4jRepository<Airport, String> {
+	Mono<Airport> findByIdent(String ident);
+	Mono<Airport> findByIcao(String icao);
+}
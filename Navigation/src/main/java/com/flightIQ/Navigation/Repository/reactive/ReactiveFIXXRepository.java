@@ -0,0 +1,15 @@
+package com.flightIQ.Navigation.Repository.reactive;
+
+import org.springframework.data.neo4j.repository.ReactiveNeo4jRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.flightIQ.Navigation.Models.FIXX;
+
+import reactor.core.publisher.Mono;
+
+@Repository
+@Transactional(readOnly = true)
+public interface ReactiveFIXXRepository extends ReactiveNeo4jRepository<FIXX, String> {
+	Mono<FIXX> findByFixxId(String fixxId);
+}
@@ -0,0 +1,71 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import com.flightIQ.Navigation.DTO.AdmissionMetrics;
+
+/**
+ * Admission gates of the endpoints that are expensive under load, looked up
+ * by request path. Everything not listed here is always admitted.
+ *
+ * Each gate reads nav.admission.&lt;name&gt;.max-concurrent, max-queue,
+ * queue-timeout-ms, rate-per-second and burst.
+ */
+@Service
+public class AdmissionControl {
+
+    private final boolean enabled;
+    private final long overloadRetryAfterSeconds;
+    private final List<AdmissionGate> gates;
+    private final Map<String, AdmissionGate> byPath = new HashMap<>();
+
+    public AdmissionControl(Environment environment,
+                            @Value("${nav.admission.enabled:true}") boolean enabled,
+                            @Value("${nav.admission.overload-retry-after-seconds:1}") long overloadRetryAfterSeconds) {
+        this.enabled = enabled;
+        this.overloadRetryAfterSeconds = overloadRetryAfterSeconds;
+        // Upstream OpenSky call per request
+        AdmissionGate stateVectors = gate(environment, "state-vectors", List.of("/api/v1/getStateVectorsUS"),
+                4, 8, 250, 5, 10);
+        // Route lookups in Neo4j plus two winds calls
+        AdmissionGate navlog = gate(environment, "navlog", List.of("/api/v1/ComputeNavlog", "/api/v1/reactive/ComputeNavlog"),
+                32, 64, 500, 50, 100);
+        // One navlog per altitude or departure time, winds for each
+        AdmissionGate planning = gate(environment, "planning", List.of("/api/v1/OptimizeCruiseAltitude", "/api/v1/SweepDepartureTimes"),
+                8, 16, 500, 10, 20);
+        this.gates = List.of(stateVectors, navlog, planning);
+        for (AdmissionGate gate : gates) {
+            for (String path : gate.getPaths()) byPath.put(path, gate);
+        }
+    }
+
+    private static AdmissionGate gate(Environment environment, String name, List<String> paths, int maxConcurrent,
+                                      int maxQueue, long queueTimeoutMillis, double ratePerSecond, int burst) {
+        String prefix = "nav.admission." + name + ".";
+        return new AdmissionGate(name, paths,
+                environment.getProperty(prefix + "max-concurrent", Integer.class, maxConcurrent),
+                environment.getProperty(prefix + "max-queue", Integer.class, maxQueue),
+                environment.getProperty(prefix + "queue-timeout-ms", Long.class, queueTimeoutMillis),
+                environment.getProperty(prefix + "rate-per-second", Double.class, ratePerSecond),
+                environment.getProperty(prefix + "burst", Integer.class, burst));
+    }
+
+    /** The gate guarding a request path, or null when the path is not limited. */
+    public AdmissionGate gateFor(String path) {
+        return enabled ? byPath.get(path) : null;
+    }
+
+    public long overloadRetryAfterSeconds() {
+        return overloadRetryAfterSeconds;
+    }
+
+    public List<AdmissionMetrics> metrics() {
+        return gates.stream().map(AdmissionGate::metrics).toList();
+    }
+}
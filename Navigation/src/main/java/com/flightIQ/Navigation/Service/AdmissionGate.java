@@ -0,0 +1,148 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.flightIQ.Navigation.DTO.AdmissionMetrics;
+
+/**
+ * Rate and concurrency limit for one group of endpoints.
+ *
+ * The rate limit is a token bucket of {@code burst} tokens refilled at
+ * {@code ratePerSecond}. Instead of a token count it keeps the time at which
+ * the bucket would be full again, so taking a token is a single CAS on one
+ * long and needs no refill timer. Requests over the rate are refused at once.
+ *
+ * Requests within the rate then take one of {@code maxConcurrent} permits. If
+ * none is free, up to {@code maxQueue} requests wait at most
+ * {@code queueTimeoutMillis} for one; everyone else is refused straight away,
+ * so a burst never piles up threads in front of the upstream services.
+ * A limit of 0 disables that part of the gate.
+ */
+public class AdmissionGate {
+
+    public enum Decision { ADMITTED, RATE_LIMITED, OVERLOADED }
+
+    private final String name;
+    private final List<String> paths;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long queueTimeoutMillis;
+    private final int burst;
+    private final long nanosPerToken;
+    private final long burstNanos;
+
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong fullAt = new AtomicLong(System.nanoTime());  // when the bucket is full again, System.nanoTime()
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder admittedAfterQueueing = new LongAdder();
+    private final LongAdder rejectedRate = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder rejectedQueueTimeout = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+
+    public AdmissionGate(String name, List<String> paths, int maxConcurrent, int maxQueue, long queueTimeoutMillis,
+                         double ratePerSecond, int burst) {
+        this.name = name;
+        this.paths = List.copyOf(paths);
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.burst = Math.max(1, burst);
+        this.nanosPerToken = ratePerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond) : 0;
+        this.burstNanos = nanosPerToken * this.burst;
+        this.permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Admits or refuses a request. An admitted request must call {@link #release()} when done.
+     * May wait up to the queue timeout for a permit.
+     */
+    public Decision tryAdmit() throws InterruptedException {
+        if (!takeToken()) {
+            rejectedRate.increment();
+            return Decision.RATE_LIMITED;
+        }
+        if (permits == null || permits.tryAcquire()) {
+            admitted.increment();
+            return Decision.ADMITTED;
+        }
+        if (!joinQueue()) {
+            rejectedQueueFull.increment();
+            return Decision.OVERLOADED;
+        }
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                rejectedQueueTimeout.increment();
+                return Decision.OVERLOADED;
+            }
+        } finally {
+            queued.decrementAndGet();
+            queueWaitNanos.add(System.nanoTime() - start);
+        }
+        admitted.increment();
+        admittedAfterQueueing.increment();
+        return Decision.ADMITTED;
+    }
+
+    public void release() {
+        if (permits != null) permits.release();
+    }
+
+    /** Seconds until the next token is available, at least 1, for a Retry-After header. */
+    public long retryAfterSeconds() {
+        long wait = fullAt.get() - burstNanos + nanosPerToken - System.nanoTime();
+        return Math.max(1, (long) Math.ceil(wait / 1e9));
+    }
+
+    private boolean takeToken() {
+        if (nanosPerToken == 0) return true;
+        while (true) {
+            long now = System.nanoTime();
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            if (next - now > burstNanos) return false;
+            if (fullAt.compareAndSet(current, next)) return true;
+        }
+    }
+
+    private boolean joinQueue() {
+        while (true) {
+            int waiting = queued.get();
+            if (waiting >= maxQueue) return false;
+            if (queued.compareAndSet(waiting, waiting + 1)) return true;
+        }
+    }
+
+    private double availableTokens() {
+        long deficit = Math.max(0, fullAt.get() - System.nanoTime());
+        return Math.max(0, (burstNanos - deficit) / (double) nanosPerToken);
+    }
+
+    public AdmissionMetrics metrics() {
+        long waited = admittedAfterQueueing.sum() + rejectedQueueTimeout.sum();
+        return new AdmissionMetrics(name, paths,
+                permits == null ? 0 : maxConcurrent - permits.availablePermits(), maxConcurrent,
+                queued.get(), maxQueue,
+                nanosPerToken == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / (double) nanosPerToken, burst,
+                nanosPerToken == 0 ? burst : availableTokens(),
+                admitted.sum(), admittedAfterQueueing.sum(),
+                rejectedRate.sum(), rejectedQueueFull.sum(), rejectedQueueTimeout.sum(),
+                waited == 0 ? 0 : queueWaitNanos.sum() / 1e6 / waited);
+    }
+}
@@ -0,0 +1,349 @@
+package com.flightIQ.Navigation.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flightIQ.Navigation.DTO.NavSnapshot;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+import com.flightIQ.Navigation.Models.Airport;
+import com.flightIQ.Navigation.Models.FIXX;
+
+/**
+ * Imports an AIRAC cycle from CSV into Neo4j and into a snapshot file.
+ *
+ * A cycle lives in {@code <nav.import.directory>/<cycle>/} as two files:
+ *
+ * <pre>
+ * airports.csv  ident,icao,name,latitude,longitude,iapExists
+ * fixes.csv     fixxId,latitude,longitude
+ * </pre>
+ *
+ * The import runs in three passes so that a bad file never leaves a mix of
+ * two cycles behind:
+ *
+ * <ol>
+ * <li>Both files are parsed and validated completely while the records are
+ * written to a staged snapshot file. A bad record stops the import here,
+ * before anything is written to Neo4j.</li>
+ * <li>The records are written in batches of {@code UNWIND} write transactions
+ * to {@code :AirportStaging} and {@code :FixxStaging} nodes, which no reader
+ * looks at.</li>
+ * <li>One write transaction deletes the live {@code :Airport} and
+ * {@code :Fixx} nodes and relabels the staged ones in their place.</li>
+ * </ol>
+ *
+ * Readers of Neo4j switch to the new cycle when that transaction commits. The
+ * snapshot file is then renamed into place, the CURRENT pointer is moved to it
+ * and it is installed, so readers of the snapshot switch in one step as well.
+ * Staged nodes left over by an import that failed are deleted by the next one.
+ */
+@Service
+public class AiracImporter {
+
+    private final Logger _logger = LoggerFactory.getLogger(AiracImporter.class);
+
+    private static final String AIRPORT_CONSTRAINT =
+            "CREATE CONSTRAINT airport_ident IF NOT EXISTS FOR (a:Airport) REQUIRE a.ident IS UNIQUE";
+    private static final String FIXX_CONSTRAINT =
+            "CREATE CONSTRAINT fixx_id IF NOT EXISTS FOR (f:Fixx) REQUIRE f.fixxId IS UNIQUE";
+
+    private static final String AIRPORT_STAGING_INDEX =
+            "CREATE INDEX airport_staging_ident IF NOT EXISTS FOR (a:AirportStaging) ON (a.ident)";
+    private static final String FIXX_STAGING_INDEX =
+            "CREATE INDEX fixx_staging_id IF NOT EXISTS FOR (f:FixxStaging) ON (f.fixxId)";
+
+    private static final String MERGE_AIRPORTS = """
+            UNWIND $rows AS row
+            MERGE (a:AirportStaging {ident: row.ident})
+            SET a.icao = row.icao, a.name = row.name, a.latitude = row.latitude,
+                a.longitude = row.longitude, a.iapExists = row.iapExists, a.cycle = $cycle
+            """;
+    private static final String MERGE_FIXES = """
+            UNWIND $rows AS row
+            MERGE (f:FixxStaging {fixxId: row.fixxId})
+            SET f.latitude = row.latitude, f.longitude = row.longitude, f.cycle = $cycle
+            """;
+    private static final String DELETE_STAGED = """
+            MATCH (n:%s)
+            WITH n LIMIT $limit
+            DETACH DELETE n
+            RETURN count(*)
+            """;
+    // Labels are not parameters in Cypher; only the constants above are formatted in
+    private static final String DELETE_LIVE = "MATCH (n:%s) DETACH DELETE n RETURN count(*)";
+    private static final String PROMOTE_STAGED = "MATCH (n:%sStaging) REMOVE n:%1$sStaging SET n:%1$s RETURN count(*)";
+
+    private final Neo4jClient neo4jClient;
+    private final TransactionTemplate transactionTemplate;
+    private final NavDatabase navDatabase;
+    private final Path importDirectory;
+    private final int batchSize;
+    private final ReentrantLock importLock = new ReentrantLock();
+
+    @Autowired
+    public AiracImporter(Neo4jClient neo4jClient, PlatformTransactionManager transactionManager, NavDatabase navDatabase,
+                         @Value("${nav.import.directory:}") String importDirectory,
+                         @Value("${nav.import.batch-size:5000}") int batchSize) {
+        this.neo4jClient = neo4jClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.navDatabase = navDatabase;
+        this.importDirectory = importDirectory.isBlank() ? null : Path.of(importDirectory);
+        this.batchSize = batchSize;
+    }
+
+    public NavSnapshot importCycle(String cycle) {
+        if (importDirectory == null || navDatabase.snapshotDirectory() == null) {
+            throw new BadRequestException("AIRAC import requires nav.import.directory and nav.snapshot.directory");
+        }
+        if (!cycle.matches("[0-9]{4}")) {
+            throw new BadRequestException("AIRAC cycle must be four digits, e.g. 2501");
+        }
+        Path source = importDirectory.resolve(cycle);
+        Path airportsCsv = source.resolve("airports.csv");
+        Path fixesCsv = source.resolve("fixes.csv");
+        if (!Files.isRegularFile(airportsCsv) || !Files.isRegularFile(fixesCsv)) {
+            throw new BadRequestException("AIRAC cycle " + cycle + " needs airports.csv and fixes.csv in " + source);
+        }
+        if (!importLock.tryLock()) {
+            throw new BadRequestException("An AIRAC import is already running");
+        }
+        try {
+            return runImport(cycle, airportsCsv, fixesCsv);
+        } catch (IOException e) {
+            throw new UncheckedIOException("AIRAC import of cycle " + cycle + " failed", e);
+        } finally {
+            importLock.unlock();
+        }
+    }
+
+    private NavSnapshot runImport(String cycle, Path airportsCsv, Path fixesCsv) throws IOException {
+        long start = System.nanoTime();
+        Path snapshotDirectory = navDatabase.snapshotDirectory();
+        Files.createDirectories(snapshotDirectory);
+        Path staged = snapshotDirectory.resolve(cycle + ".navsnap.tmp");
+        Path target = snapshotDirectory.resolve(cycle + ".navsnap");
+
+        boolean installed = false;
+        try {
+            // Pass 1: parse and validate everything, nothing is written to Neo4j yet
+            int airports;
+            int fixes;
+            try (NavSnapshotFile.Writer writer = NavSnapshotFile.writer(staged, cycle)) {
+                airports = stream(airportsCsv, AiracImporter::toAirport, batch -> {
+                    for (Airport airport : batch) writer.writeAirport(airport);
+                });
+                fixes = stream(fixesCsv, AiracImporter::toFix, batch -> {
+                    for (FIXX fix : batch) writer.writeFix(fix);
+                });
+            }
+
+            // Pass 2: stage the cycle next to the live one
+            neo4jClient.query(AIRPORT_CONSTRAINT).run();
+            neo4jClient.query(FIXX_CONSTRAINT).run();
+            neo4jClient.query(AIRPORT_STAGING_INDEX).run();
+            neo4jClient.query(FIXX_STAGING_INDEX).run();
+            deleteStaged("AirportStaging");
+            deleteStaged("FixxStaging");
+            stream(airportsCsv, AiracImporter::toAirport, batch -> neo4jClient.query(MERGE_AIRPORTS)
+                    .bind(batch.stream().map(AiracImporter::airportRow).toList()).to("rows")
+                    .bind(cycle).to("cycle")
+                    .run());
+            stream(fixesCsv, AiracImporter::toFix, batch -> neo4jClient.query(MERGE_FIXES)
+                    .bind(batch.stream().map(AiracImporter::fixRow).toList()).to("rows")
+                    .bind(cycle).to("cycle")
+                    .run());
+
+            // Pass 3: swap the staged cycle in, airports and fixes together
+            long[] replaced = transactionTemplate.execute(status -> new long[] {
+                    count(DELETE_LIVE, "Airport"), count(DELETE_LIVE, "Fixx"),
+                    count(PROMOTE_STAGED, "Airport"), count(PROMOTE_STAGED, "Fixx")});
+
+            Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            installed = true;
+            navDatabase.markCurrent(target);
+            NavSnapshot snapshot = navDatabase.installFile(target);
+
+            _logger.info("Imported AIRAC cycle {}: {} airports, {} fixes, replaced {} airports and {} fixes in {} ms",
+                    cycle, airports, fixes, replaced[0], replaced[1], (System.nanoTime() - start) / 1_000_000);
+            return snapshot;
+        } finally {
+            if (!installed) Files.deleteIfExists(staged);
+        }
+    }
+
+    private long count(String statement, String label) {
+        return neo4jClient.query(String.format(statement, label)).fetchAs(Long.class).one().orElse(0L);
+    }
+
+    private void deleteStaged(String label) {
+        long total = 0;
+        while (true) {
+            long deleted = neo4jClient.query(String.format(DELETE_STAGED, label))
+                    .bind(batchSize).to("limit")
+                    .fetchAs(Long.class).one().orElse(0L);
+            total += deleted;
+            if (deleted < batchSize) break;
+        }
+        if (total > 0) _logger.info("Deleted {} {} nodes left over by an earlier import", total, label);
+    }
+
+    @FunctionalInterface
+    private interface BatchSink<T> {
+        void accept(List<T> batch) throws IOException;
+    }
+
+    // Reads a CSV with a header row in batches of batchSize, returns the number of records
+    private <T> int stream(Path csv, Function<Row, T> parser, BatchSink<T> sink) throws IOException {
+        int count = 0;
+        int lineNumber = 1;
+        List<T> batch = new ArrayList<>(batchSize);
+        try (BufferedReader reader = Files.newBufferedReader(csv, StandardCharsets.UTF_8)) {
+            String headerLine = reader.readLine();
+            if (headerLine == null) return 0;
+            Map<String, Integer> columns = new HashMap<>();
+            List<String> header = splitCsv(headerLine);
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || line.startsWith("#")) continue;
+                try {
+                    batch.add(parser.apply(new Row(columns, splitCsv(line))));
+                } catch (RuntimeException e) {
+                    throw new BadRequestException("Invalid record in " + csv.getFileName() + " at line " + lineNumber + ": " + e.getMessage());
+                }
+                if (batch.size() == batchSize) {
+                    sink.accept(batch);
+                    count += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            sink.accept(batch);
+            count += batch.size();
+        }
+        return count;
+    }
+
+    // Comma separated, double quotes around fields that contain commas, "" for a quote
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class Row {
+        final Map<String, Integer> columns;
+        final List<String> fields;
+
+        Row(Map<String, Integer> columns, List<String> fields) {
+            this.columns = columns;
+            this.fields = fields;
+        }
+
+        String text(String column) {
+            Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+            if (index == null) throw new IllegalArgumentException("missing column " + column);
+            String value = index < fields.size() ? fields.get(index).trim() : "";
+            return value.isEmpty() ? null : value;
+        }
+
+        String required(String column) {
+            String value = text(column);
+            if (value == null) throw new IllegalArgumentException(column + " is empty");
+            return value;
+        }
+
+        double coordinate(String column, double limit) {
+            double value = Double.parseDouble(required(column));
+            if (!(Math.abs(value) <= limit)) throw new IllegalArgumentException(column + " out of range: " + value);
+            return value;
+        }
+    }
+
+    private static Airport toAirport(Row row) {
+        Airport airport = new Airport();
+        airport.setIdent(row.required("ident"));
+        airport.setIcao(row.text("icao"));
+        airport.setName(row.text("name"));
+        airport.setLatitude(row.coordinate("latitude", 90));
+        airport.setLongitude(row.coordinate("longitude", 180));
+        String iap = row.text("iapExists");
+        airport.setIapExists(iap == null ? 0 : Integer.parseInt(iap));
+        return airport;
+    }
+
+    private static FIXX toFix(Row row) {
+        FIXX fix = new FIXX();
+        fix.setFixxId(row.required("fixxId"));
+        fix.setLatitude(row.coordinate("latitude", 90));
+        fix.setLongitude(row.coordinate("longitude", 180));
+        return fix;
+    }
+
+    private static Map<String, Object> airportRow(Airport airport) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("ident", airport.getIdent());
+        row.put("icao", airport.getIcao());
+        row.put("name", airport.getName());
+        row.put("latitude", airport.getLatitude());
+        row.put("longitude", airport.getLongitude());
+        row.put("iapExists", airport.getIapExists());
+        return row;
+    }
+
+    private static Map<String, Object> fixRow(FIXX fix) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("fixxId", fix.getFixxId());
+        row.put("latitude", fix.getLatitude());
+        row.put("longitude", fix.getLongitude());
+        return row;
+    }
+}
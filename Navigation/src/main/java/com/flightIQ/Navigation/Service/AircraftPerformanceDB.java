@@ -0,0 +1,195 @@
+package com.flightIQ.Navigation.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.AircraftPerformance;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+
+/**
+ * Loadable aircraft performance database.
+ *
+ * Type ids are interned to a dense int index at load time so callers can resolve
+ * a type once per request and then work with the {@link AircraftPerformance}
+ * tables directly. The file format is a simple CSV, one table row per line:
+ *
+ * <pre>
+ * AIRCRAFT,&lt;type&gt;,&lt;referenceWeightLbs&gt;
+ * CRZ,&lt;type&gt;,&lt;altitudeFt&gt;,&lt;weightLbs&gt;,&lt;tasKt&gt;,&lt;fuelFlowGph&gt;
+ * CLB,&lt;type&gt;,&lt;altitudeFt&gt;,&lt;rateFpm&gt;,&lt;tasKt&gt;,&lt;fuelFlowGph&gt;
+ * DES,&lt;type&gt;,&lt;altitudeFt&gt;,&lt;rateFpm&gt;,&lt;tasKt&gt;,&lt;fuelFlowGph&gt;
+ * </pre>
+ */
+@Component
+public class AircraftPerformanceDB {
+
+    private final Logger _logger = LoggerFactory.getLogger(AircraftPerformanceDB.class);
+
+    private final Map<String, Integer> typeIndex;
+    private final AircraftPerformance[] tables;
+
+    public AircraftPerformanceDB(ResourceLoader resourceLoader,
+                                 @Value("${aircraft.performance.location:classpath:aircraft-performance.csv}") String location) throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            List<AircraftPerformance> loaded = load(in);
+            this.tables = loaded.toArray(new AircraftPerformance[0]);
+            this.typeIndex = new HashMap<>();
+            for (int i = 0; i < tables.length; i++) {
+                typeIndex.put(normalize(tables[i].getTypeId()), i);
+            }
+        }
+        _logger.info("Loaded performance tables for {} aircraft types from {}", tables.length, location);
+    }
+
+    /** Interned index of the type, or -1 when the type is unknown. */
+    public int typeId(String aircraft) {
+        if (aircraft == null) return -1;
+        Integer index = typeIndex.get(normalize(aircraft));
+        return index == null ? -1 : index;
+    }
+
+    public AircraftPerformance get(int typeId) {
+        if (typeId < 0 || typeId >= tables.length) {
+            throw new BadRequestException("Unknown aircraft type id: " + typeId);
+        }
+        return tables[typeId];
+    }
+
+    public AircraftPerformance getPerformance(String aircraft) {
+        int id = typeId(aircraft);
+        if (id < 0) {
+            throw new BadRequestException("Unknown aircraft type: " + aircraft);
+        }
+        return tables[id];
+    }
+
+    private static String normalize(String aircraft) {
+        return aircraft.trim().toUpperCase(Locale.ROOT);
+    }
+
+    static List<AircraftPerformance> load(InputStream in) throws IOException {
+        Map<String, TypeRows> rowsByType = new LinkedHashMap<>();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) continue;
+
+            String[] parts = line.split(",");
+            for (int i = 0; i < parts.length; i++) parts[i] = parts[i].trim();
+
+            try {
+                switch (parts[0].toUpperCase(Locale.ROOT)) {
+                    case "AIRCRAFT" -> rows(rowsByType, parts[1]).referenceWeight = Double.parseDouble(parts[2]);
+                    case "CRZ" -> rows(rowsByType, parts[1]).cruise
+                            .computeIfAbsent(Float.parseFloat(parts[2]), k -> new TreeMap<>())
+                            .put(Float.parseFloat(parts[3]), new float[] {Float.parseFloat(parts[4]), Float.parseFloat(parts[5])});
+                    case "CLB" -> rows(rowsByType, parts[1]).climb.put(Float.parseFloat(parts[2]), profileRow(parts));
+                    case "DES" -> rows(rowsByType, parts[1]).descent.put(Float.parseFloat(parts[2]), profileRow(parts));
+                    default -> throw new IllegalArgumentException("unknown record type " + parts[0]);
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Invalid aircraft performance data at line " + lineNumber + ": " + line, e);
+            }
+        }
+
+        List<AircraftPerformance> result = new ArrayList<>(rowsByType.size());
+        for (TypeRows rows : rowsByType.values()) {
+            result.add(rows.build());
+        }
+        return result;
+    }
+
+    private static TypeRows rows(Map<String, TypeRows> rowsByType, String type) {
+        return rowsByType.computeIfAbsent(type, TypeRows::new);
+    }
+
+    private static float[] profileRow(String[] parts) {
+        return new float[] {Float.parseFloat(parts[3]), Float.parseFloat(parts[4]), Float.parseFloat(parts[5])};
+    }
+
+    // Rows of one aircraft type collected while parsing, flattened into arrays once complete
+    private static class TypeRows {
+        final String type;
+        double referenceWeight = Double.NaN;
+        final TreeMap<Float, TreeMap<Float, float[]>> cruise = new TreeMap<>();
+        final TreeMap<Float, float[]> climb = new TreeMap<>();
+        final TreeMap<Float, float[]> descent = new TreeMap<>();
+
+        TypeRows(String type) {
+            this.type = type;
+        }
+
+        AircraftPerformance build() {
+            if (Double.isNaN(referenceWeight)) {
+                throw new IllegalStateException("Missing AIRCRAFT record for " + type);
+            }
+
+            TreeSet<Float> weights = new TreeSet<>();
+            cruise.values().forEach(row -> weights.addAll(row.keySet()));
+
+            float[] altitudeGrid = toArray(cruise.keySet());
+            float[] weightGrid = toArray(weights);
+            float[] tas = new float[altitudeGrid.length * weightGrid.length];
+            float[] fuelFlow = new float[tas.length];
+
+            for (int a = 0; a < altitudeGrid.length; a++) {
+                TreeMap<Float, float[]> row = cruise.get(altitudeGrid[a]);
+                for (int w = 0; w < weightGrid.length; w++) {
+                    float[] cell = row.get(weightGrid[w]);
+                    if (cell == null) {
+                        throw new IllegalStateException("Missing CRZ entry for " + type + " at "
+                                + altitudeGrid[a] + " ft / " + weightGrid[w] + " lbs");
+                    }
+                    tas[a * weightGrid.length + w] = cell[0];
+                    fuelFlow[a * weightGrid.length + w] = cell[1];
+                }
+            }
+
+            return new AircraftPerformance(type, referenceWeight,
+                    altitudeGrid, weightGrid, tas, fuelFlow,
+                    toArray(climb.keySet()), flatten(climb),
+                    toArray(descent.keySet()), flatten(descent));
+        }
+
+        private static float[] toArray(Collection<Float> values) {
+            float[] array = new float[values.size()];
+            int i = 0;
+            for (Float value : values) array[i++] = value;
+            return array;
+        }
+
+        private static float[] flatten(TreeMap<Float, float[]> profile) {
+            float[] flat = new float[profile.size() * AircraftPerformance.PROFILE_COLUMNS];
+            int i = 0;
+            for (float[] row : profile.values()) {
+                System.arraycopy(row, 0, flat, i, AircraftPerformance.PROFILE_COLUMNS);
+                i += AircraftPerformance.PROFILE_COLUMNS;
+            }
+            return flat;
+        }
+    }
+}
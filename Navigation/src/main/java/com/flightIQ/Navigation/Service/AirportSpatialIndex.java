@@ -0,0 +1,297 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.NavSnapshot;
+import com.flightIQ.Navigation.DTO.NearbyAirport;
+import com.flightIQ.Navigation.Exceptions.AirportNotFoundException;
+import com.flightIQ.Navigation.Models.Airport;
+
+/**
+ * In-memory k-d tree over airport positions for proximity searches.
+ *
+ * Airports are stored as unit vectors on the sphere, so the tree works in 3D
+ * Euclidean space with no special cases at the antimeridian or the poles, and
+ * chord length is monotonic in great-circle distance. The tree is implicit:
+ * a permutation of airport indices where the median of every range is the
+ * node, so it is just a few primitive arrays. Rebuilds swap in a new tree
+ * atomically and never block readers.
+ */
+@Component
+public class AirportSpatialIndex implements NavSnapshotListener {
+
+    private final Logger _logger = LoggerFactory.getLogger(AirportSpatialIndex.class);
+
+    private final GeodesicEngine geodesicEngine;
+
+    private volatile Tree tree = Tree.build(List.of());
+
+    @Autowired
+    public AirportSpatialIndex(GeodesicEngine geodesicEngine) {
+        this.geodesicEngine = geodesicEngine;
+    }
+
+    @Override
+    public void onSnapshot(NavSnapshot snapshot) {
+        rebuild(snapshot.getAirports());
+    }
+
+    public void rebuild(Collection<Airport> airports) {
+        long start = System.nanoTime();
+        tree = Tree.build(new ArrayList<>(airports));
+        _logger.info("Airport spatial index built over {} airports in {} ms",
+                tree.airports.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public int size() {
+        return tree.airports.length;
+    }
+
+    public List<NearbyAirport> nearest(double lat, double lon, int count) {
+        Tree current = tree;
+        return current.toResults(current.nearest(lat, lon, count, Double.MAX_VALUE, i -> true), lat, lon, geodesicEngine);
+    }
+
+    public List<NearbyAirport> withinRadius(double lat, double lon, double radiusNm) {
+        Tree current = tree;
+        return current.toResults(current.nearest(lat, lon, Integer.MAX_VALUE, chord(radiusNm), i -> true), lat, lon, geodesicEngine);
+    }
+
+    /** Closest airports with an instrument approach within {@code radiusNm} of the destination. */
+    public List<NearbyAirport> alternates(String destinationIcao, int count, double radiusNm) {
+        Tree current = tree;
+        Integer destination = current.byIcao.get(destinationIcao.toUpperCase(Locale.ROOT));
+        if (destination == null) {
+            throw new AirportNotFoundException("Airport does not exist with ICAO: " + destinationIcao);
+        }
+        Airport target = current.airports[destination];
+        IntPredicate suitable = i -> i != destination && current.airports[i].getIapExists() == 1;
+        int[] found = current.nearest(target.getLatitude(), target.getLongitude(), count, chord(radiusNm), suitable);
+        return current.toResults(found, target.getLatitude(), target.getLongitude(), geodesicEngine);
+    }
+
+    // Straight-line distance through the unit sphere for a great-circle distance
+    private static double chord(double distanceNm) {
+        double angle = Math.min(Math.PI, distanceNm / GeodesicEngine.EARTH_RADIUS_NM);
+        return 2 * Math.sin(angle / 2);
+    }
+
+    private static final class Tree {
+        final Airport[] airports;
+        final double[] x;
+        final double[] y;
+        final double[] z;
+        final int[] order;    // implicit tree, node of [lo, hi) is order[(lo + hi) >>> 1]
+        final Map<String, Integer> byIcao;
+
+        private Tree(Airport[] airports) {
+            int n = airports.length;
+            this.airports = airports;
+            this.x = new double[n];
+            this.y = new double[n];
+            this.z = new double[n];
+            this.order = new int[n];
+            this.byIcao = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                double lat = Math.toRadians(airports[i].getLatitude());
+                double lon = Math.toRadians(airports[i].getLongitude());
+                x[i] = Math.cos(lat) * Math.cos(lon);
+                y[i] = Math.cos(lat) * Math.sin(lon);
+                z[i] = Math.sin(lat);
+                order[i] = i;
+                if (airports[i].getIcao() != null) {
+                    byIcao.put(airports[i].getIcao().toUpperCase(Locale.ROOT), i);
+                }
+            }
+        }
+
+        static Tree build(List<Airport> airports) {
+            Tree tree = new Tree(airports.toArray(new Airport[0]));
+            tree.split(0, airports.size(), 0);
+            return tree;
+        }
+
+        private double coordinate(int index, int axis) {
+            return axis == 0 ? x[index] : axis == 1 ? y[index] : z[index];
+        }
+
+        private void split(int lo, int hi, int axis) {
+            if (hi - lo <= 1) return;
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, axis);
+            int next = (axis + 1) % 3;
+            split(lo, mid, next);
+            split(mid + 1, hi, next);
+        }
+
+        // Quickselect so that order[k] holds the median along the axis for [lo, hi]
+        private void select(int lo, int hi, int k, int axis) {
+            while (hi > lo) {
+                double pivot = coordinate(order[(lo + hi) >>> 1], axis);
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (coordinate(order[i], axis) < pivot) i++;
+                    while (coordinate(order[j], axis) > pivot) j--;
+                    if (i <= j) {
+                        int swap = order[i];
+                        order[i] = order[j];
+                        order[j] = swap;
+                        i++;
+                        j--;
+                    }
+                }
+                if (k <= j) hi = j;
+                else if (k >= i) lo = i;
+                else return;
+            }
+        }
+
+        /** Indices of up to {@code count} accepted airports within {@code maxChord}, nearest first. */
+        int[] nearest(double lat, double lon, int count, double maxChord, IntPredicate accept) {
+            double latRad = Math.toRadians(lat);
+            double lonRad = Math.toRadians(lon);
+            Search search = new Search(Math.cos(latRad) * Math.cos(lonRad), Math.cos(latRad) * Math.sin(lonRad),
+                    Math.sin(latRad), Math.min(count, airports.length), maxChord * maxChord, accept);
+            if (search.capacity > 0) {
+                visit(search, 0, airports.length, 0);
+            }
+            return search.sorted();
+        }
+
+        private void visit(Search search, int lo, int hi, int axis) {
+            if (lo >= hi) return;
+            int mid = (lo + hi) >>> 1;
+            int index = order[mid];
+
+            double dx = x[index] - search.qx;
+            double dy = y[index] - search.qy;
+            double dz = z[index] - search.qz;
+            double distance = dx * dx + dy * dy + dz * dz;
+            if (distance <= search.limit() && search.accept.test(index)) {
+                search.offer(index, distance);
+            }
+
+            double delta = (axis == 0 ? search.qx : axis == 1 ? search.qy : search.qz) - coordinate(index, axis);
+            int next = (axis + 1) % 3;
+            if (delta < 0) {
+                visit(search, lo, mid, next);
+                if (delta * delta <= search.limit()) visit(search, mid + 1, hi, next);
+            } else {
+                visit(search, mid + 1, hi, next);
+                if (delta * delta <= search.limit()) visit(search, lo, mid, next);
+            }
+        }
+
+        List<NearbyAirport> toResults(int[] indices, double lat, double lon, GeodesicEngine geodesicEngine) {
+            List<NearbyAirport> results = new ArrayList<>(indices.length);
+            for (int index : indices) {
+                Airport airport = airports[index];
+                GeodesicEngine.Leg leg = geodesicEngine.computeLeg(lat, lon, airport.getLatitude(), airport.getLongitude());
+                results.add(new NearbyAirport(airport, leg.distance(), leg.bearing()));
+            }
+            return results;
+        }
+    }
+
+    // Bounded max-heap of the best candidates found so far, keyed by squared chord
+    private static final class Search {
+        final double qx;
+        final double qy;
+        final double qz;
+        final int capacity;
+        final double maxDistance;
+        final IntPredicate accept;
+        int[] heap;
+        double[] distances;
+        int size;
+
+        Search(double qx, double qy, double qz, int capacity, double maxDistance, IntPredicate accept) {
+            this.qx = qx;
+            this.qy = qy;
+            this.qz = qz;
+            this.capacity = capacity;
+            this.maxDistance = maxDistance;
+            this.accept = accept;
+            int initial = Math.max(1, Math.min(capacity, 64));
+            this.heap = new int[initial];
+            this.distances = new double[initial];
+        }
+
+        double limit() {
+            return size < capacity ? maxDistance : distances[0];
+        }
+
+        void offer(int index, double distance) {
+            if (size < capacity) {
+                if (size == heap.length) {
+                    int grown = (int) Math.min(capacity, heap.length * 2L);
+                    heap = Arrays.copyOf(heap, grown);
+                    distances = Arrays.copyOf(distances, grown);
+                }
+                int i = size++;
+                heap[i] = index;
+                distances[i] = distance;
+                siftUp(i);
+            } else if (distance < distances[0]) {
+                heap[0] = index;
+                distances[0] = distance;
+                siftDown(0);
+            }
+        }
+
+        int[] sorted() {
+            int[] result = new int[size];
+            while (size > 0) {
+                result[size - 1] = heap[0];
+                size--;
+                heap[0] = heap[size];
+                distances[0] = distances[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (distances[parent] >= distances[i]) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int largest = i;
+                if (left < size && distances[left] > distances[largest]) largest = left;
+                if (left + 1 < size && distances[left + 1] > distances[largest]) largest = left + 1;
+                if (largest == i) return;
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int index = heap[a];
+            heap[a] = heap[b];
+            heap[b] = index;
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.flightIQ.Navigation.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import com.flightIQ.Navigation.DTO.AtisReport;
+import com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException;
+import com.flightIQ.Navigation.Models.AtisProvider;
+
+/**
+ * TTL cache of parsed destination weather in front of the {@link AtisProvider}.
+ *
+ * Misses of a multi-airport lookup are fetched with a single provider call,
+ * and concurrent lookups of the same airport share one upstream request.
+ * Entries that are still being read are refreshed in the background shortly
+ * before they expire, so popular airports are always served from memory.
+ * When the provider is unavailable, expired reports keep being served; only
+ * airports that were never fetched fail with {@link UpstreamUnavailableException}.
+ */
+@Service
+public class AtisService {
+
+    public static final int MAX_BATCH = 50;
+
+    private final Logger _logger = LoggerFactory.getLogger(AtisService.class);
+
+    private final AtisProvider provider;
+    private final long ttlMillis;
+    private final long idleMillis;
+
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<AtisReport>> inFlight = new ConcurrentHashMap<>();
+
+    private static final class Entry {
+        final AtisReport report;
+        final long fetchedAt;
+        volatile long lastAccess;
+
+        Entry(AtisReport report, long fetchedAt) {
+            this.report = report;
+            this.fetchedAt = fetchedAt;
+            this.lastAccess = fetchedAt;
+        }
+    }
+
+    public AtisService(@Lazy AtisProvider provider,
+                       @Qualifier("atisRefresher") ScheduledExecutorService refresher,
+                       @Value("${atis.cache.ttl-seconds:300}") long ttlSeconds,
+                       @Value("${atis.cache.idle-seconds:1800}") long idleSeconds,
+                       @Value("${atis.cache.refresh-interval-seconds:30}") long refreshIntervalSeconds) {
+        this.provider = provider;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.idleMillis = TimeUnit.SECONDS.toMillis(idleSeconds);
+        refresher.scheduleWithFixedDelay(this::refreshExpiring, refreshIntervalSeconds, refreshIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /** Report for one airport, or null when no report is available. */
+    public AtisReport getReport(String icao) {
+        return getReports(List.of(icao)).get(normalize(icao));
+    }
+
+    /** Reports keyed by upper-case ICAO, in request order. Airports without a report are left out. */
+    public Map<String, AtisReport> getReports(Collection<String> icaoCodes) {
+        long now = System.currentTimeMillis();
+        Map<String, AtisReport> result = new LinkedHashMap<>();
+        List<String> misses = new ArrayList<>();
+
+        for (String code : new LinkedHashSet<>(icaoCodes)) {
+            String icao = normalize(code);
+            Entry entry = cache.get(icao);
+            if (entry != null && now - entry.fetchedAt < ttlMillis) {
+                entry.lastAccess = now;
+                result.put(icao, entry.report);
+            } else {
+                result.put(icao, null); // keeps request order
+                misses.add(icao);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, AtisReport> fetched;
+            UpstreamUnavailableException failure = null;
+            try {
+                fetched = fetch(misses);
+            } catch (UpstreamUnavailableException ex) {
+                fetched = Map.of();
+                failure = ex;
+            }
+            for (String icao : misses) {
+                AtisReport report = fetched.get(icao);
+                if (report == null) {
+                    // Upstream had nothing or is down, serve the expired report rather than nothing
+                    Entry stale = cache.get(icao);
+                    report = stale != null ? stale.report : null;
+                }
+                if (report == null && failure != null) {
+                    // Nothing to fall back on, an outage is not the same as "no report"
+                    throw failure;
+                }
+                result.put(icao, report);
+            }
+        }
+
+        result.values().removeIf(report -> report == null);
+        return result;
+    }
+
+    private Map<String, AtisReport> fetch(List<String> icaoCodes) {
+        Map<String, CompletableFuture<AtisReport>> pending = new HashMap<>();
+        Map<String, CompletableFuture<AtisReport>> owned = new HashMap<>();
+
+        for (String icao : icaoCodes) {
+            CompletableFuture<AtisReport> future = new CompletableFuture<>();
+            CompletableFuture<AtisReport> existing = inFlight.putIfAbsent(icao, future);
+            if (existing != null) {
+                pending.put(icao, existing);
+            } else {
+                owned.put(icao, future);
+                pending.put(icao, future);
+            }
+        }
+
+        if (!owned.isEmpty()) {
+            try {
+                Map<String, String> raw = provider.fetchRawReports(owned.keySet());
+                Instant fetchedAt = Instant.now();
+                for (Map.Entry<String, CompletableFuture<AtisReport>> own : owned.entrySet()) {
+                    String text = raw.get(own.getKey());
+                    AtisReport report = null;
+                    if (text != null) {
+                        report = AtisReport.fromRaw(own.getKey(), text, fetchedAt);
+                        cache.put(own.getKey(), new Entry(report, fetchedAt.toEpochMilli()));
+                    }
+                    own.getValue().complete(report);
+                }
+            } catch (Throwable ex) {
+                _logger.error("ATIS provider failed for {}", owned.keySet(), ex);
+                if (ex instanceof Error error) throw error;
+                UpstreamUnavailableException failure = ex instanceof UpstreamUnavailableException upstream
+                        ? upstream
+                        : new UpstreamUnavailableException("ATIS provider failed: " + ex.getMessage(), ex);
+                owned.values().forEach(future -> future.completeExceptionally(failure));
+            } finally {
+                // Lookups of other requests wait on these, never leave one incomplete; no-op for the completed ones
+                owned.values().forEach(future -> future.complete(null));
+                owned.forEach(inFlight::remove);
+            }
+        }
+
+        Map<String, AtisReport> result = new HashMap<>();
+        UpstreamUnavailableException failure = null;
+        for (Map.Entry<String, CompletableFuture<AtisReport>> entry : pending.entrySet()) {
+            try {
+                result.put(entry.getKey(), entry.getValue().join());
+            } catch (CompletionException ex) {
+                failure = (UpstreamUnavailableException) ex.getCause();
+            }
+        }
+        if (failure != null) throw failure;
+        return result;
+    }
+
+    // Refresh-ahead of entries that are still being read, and eviction of the idle ones
+    private void refreshExpiring() {
+        try {
+            long now = System.currentTimeMillis();
+            List<String> expiring = new ArrayList<>();
+            cache.forEach((icao, entry) -> {
+                if (now - entry.lastAccess > idleMillis) {
+                    cache.remove(icao, entry);
+                } else if (now - entry.fetchedAt > ttlMillis * 4 / 5) {
+                    expiring.add(icao);
+                }
+            });
+
+            for (int i = 0; i < expiring.size(); i += MAX_BATCH) {
+                List<String> batch = expiring.subList(i, Math.min(i + MAX_BATCH, expiring.size()));
+                Map<String, Long> lastAccess = new HashMap<>();
+                batch.forEach(icao -> {
+                    Entry entry = cache.get(icao);
+                    if (entry != null) lastAccess.put(icao, entry.lastAccess);
+                });
+                try {
+                    fetch(batch);
+                } catch (UpstreamUnavailableException ex) {
+                    // Already logged, the current entries stay and are retried on the next run
+                }
+                // A background refresh is not a read, keep the idle clock running
+                lastAccess.forEach((icao, accessed) -> {
+                    Entry entry = cache.get(icao);
+                    if (entry != null) entry.lastAccess = accessed;
+                });
+            }
+        } catch (RuntimeException ex) {
+            _logger.error("ATIS background refresh failed", ex);
+        }
+    }
+
+    private static String normalize(String icao) {
+        return icao.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,148 @@
+package com.flightIQ.Navigation.Service;
+
+import java.time.Instant;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.flightIQ.Navigation.DTO.CircuitBreakerMetrics;
+import com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException;
+
+/**
+ * Circuit breaker and bulkhead for one upstream dependency.
+ *
+ * After {@code failureThreshold} consecutive failures the circuit opens and
+ * calls fail immediately for {@code openMillis}. Then a single trial call is
+ * let through: if it succeeds the circuit closes, otherwise it stays open for
+ * another period. Calls slower than {@code slowCallMillis} return their result
+ * but count as failures, so a service that is slow rather than down still
+ * trips the breaker.
+ *
+ * At most {@code maxConcurrent} calls run at once. A call over that limit
+ * fails at once instead of waiting, so a hanging upstream can tie up no more
+ * than that many request threads.
+ *
+ * Every refused or failed call throws {@link UpstreamUnavailableException}.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final Logger _logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openMillis;
+    private final long slowCallNanos;
+    private final int maxConcurrent;
+    private final Semaphore bulkhead;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+    private volatile long openedAt;
+    private volatile String lastFailure;
+    private volatile Instant lastFailureAt;
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder bulkheadRejected = new LongAdder();
+
+    public CircuitBreaker(String name, int failureThreshold, long openMillis, long slowCallMillis, int maxConcurrent) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.maxConcurrent = maxConcurrent;
+        this.bulkhead = new Semaphore(maxConcurrent);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public <T> T call(Callable<T> upstream) {
+        boolean trial = admit();
+        if (!bulkhead.tryAcquire()) {
+            if (trial) trialInFlight.set(false);
+            bulkheadRejected.increment();
+            throw new UpstreamUnavailableException(name + " is at its concurrency limit of " + maxConcurrent);
+        }
+        long start = System.nanoTime();
+        try {
+            T result = upstream.call();
+            if (System.nanoTime() - start > slowCallNanos) {
+                slowCalls.increment();
+                onFailure(trial, "slow call of " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            } else {
+                onSuccess(trial);
+            }
+            return result;
+        } catch (Exception e) {
+            onFailure(trial, e.toString());
+            throw new UpstreamUnavailableException(name + " call failed: " + e.getMessage(), e);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    // True when this call is the single trial of a half-open circuit
+    private boolean admit() {
+        State current = state.get();
+        if (current == State.CLOSED) return false;
+        if (current == State.OPEN
+                && System.currentTimeMillis() - openedAt >= openMillis
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+            trialInFlight.set(true);
+            return true;
+        }
+        if (current == State.HALF_OPEN && trialInFlight.compareAndSet(false, true)) {
+            return true;
+        }
+        shortCircuited.increment();
+        throw new UpstreamUnavailableException(name + " circuit is open");
+    }
+
+    private void onSuccess(boolean trial) {
+        succeeded.increment();
+        consecutiveFailures.set(0);
+        if (trial) {
+            state.set(State.CLOSED);
+            trialInFlight.set(false);
+            _logger.info("{} circuit closed", name);
+        }
+    }
+
+    private void onFailure(boolean trial, String reason) {
+        failed.increment();
+        lastFailure = reason;
+        lastFailureAt = Instant.now();
+        int failures = consecutiveFailures.incrementAndGet();
+        if (trial || (failures >= failureThreshold && state.get() == State.CLOSED)) {
+            openedAt = System.currentTimeMillis();
+            state.set(State.OPEN);
+            trialInFlight.set(false);
+            _logger.warn("{} circuit opened for {} ms after {} consecutive failures, last: {}", name, openMillis, failures, reason);
+        }
+    }
+
+    public CircuitBreakerMetrics metrics() {
+        return new CircuitBreakerMetrics(name, state.get().name(), consecutiveFailures.get(),
+                maxConcurrent - bulkhead.availablePermits(), maxConcurrent,
+                succeeded.sum(), failed.sum(), slowCalls.sum(), shortCircuited.sum(), bulkheadRejected.sum(),
+                lastFailure, lastFailureAt);
+    }
+}
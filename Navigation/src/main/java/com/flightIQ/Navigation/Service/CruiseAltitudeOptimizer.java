@@ -0,0 +1,163 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.flightIQ.Navigation.DTO.AircraftPerformance;
+import com.flightIQ.Navigation.DTO.AltitudeOption;
+import com.flightIQ.Navigation.DTO.NavlogResult;
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.DTO.WindAloft;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+
+/**
+ * Evaluates a resolved route at every candidate cruise altitude in one go.
+ *
+ * Winds are fetched once per standard winds-aloft band for the origin and the
+ * destination, concurrently, and interpolated for altitudes between bands.
+ * The navlog for each altitude is then computed on a fork-join pool.
+ */
+@Service
+public class CruiseAltitudeOptimizer {
+
+    public static final int MAX_CANDIDATES = 100;
+
+    // Altitudes reported by the winds aloft forecast
+    private static final int[] WIND_BANDS = {3000, 6000, 9000, 12000, 18000, 24000, 30000, 34000, 39000};
+
+    private final NavlogEngine navlogEngine;
+    private final ExecutorService windsExecutor;
+    private final ForkJoinPool navlogPool;
+
+    @Autowired
+    public CruiseAltitudeOptimizer(NavlogEngine navlogEngine,
+                                   @Qualifier("windsExecutor") ExecutorService windsExecutor,
+                                   @Qualifier("navlogPool") ForkJoinPool navlogPool) {
+        this.navlogEngine = navlogEngine;
+        this.windsExecutor = windsExecutor;
+        this.navlogPool = navlogPool;
+    }
+
+    /**
+     * @param tas   fixed cruise TAS in knots, or null to take it from the performance tables
+     * @param winds wind lookup for (ICAO, altitude), never returning null
+     */
+    public List<AltitudeOption> optimize(List<RouteNode> route, AircraftPerformance performance,
+                                         int minAltitude, int maxAltitude, int step, Integer tas, String rankBy,
+                                         BiFunction<String, Integer, WindAloft> winds) {
+        int[] altitudes = candidateAltitudes(minAltitude, maxAltitude, step);
+        Comparator<AltitudeOption> ranking = ranking(rankBy);
+
+        String origin = route.get(0).getNodeName();
+        String destination = route.get(route.size() - 1).getNodeName();
+        Map<Integer, CompletableFuture<WindAloft>> originBands = fetchBands(origin, altitudes, winds);
+        Map<Integer, CompletableFuture<WindAloft>> destinationBands = fetchBands(destination, altitudes, winds);
+
+        WindAloft[] routeWinds = new WindAloft[altitudes.length];
+        for (int i = 0; i < altitudes.length; i++) {
+            routeWinds[i] = WindAloft.average(
+                    windAt(originBands, altitudes[i]),
+                    windAt(destinationBands, altitudes[i]));
+        }
+
+        try {
+            return navlogPool.submit(() -> IntStream.range(0, altitudes.length)
+                    .parallel()
+                    .mapToObj(i -> evaluate(route, performance, altitudes[i], tas, routeWinds[i]))
+                    .sorted(ranking)
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cruise altitude optimization interrupted", e);
+        } catch (ExecutionException e) {
+            throw Futures.unwrap(e);
+        }
+    }
+
+    private AltitudeOption evaluate(List<RouteNode> route, AircraftPerformance performance,
+                                    int altitude, Integer tas, WindAloft wind) {
+        double cruiseTas = tas != null ? tas : performance.cruiseTas(altitude, performance.getReferenceWeight());
+        NavlogResult navlog = navlogEngine.compute(route, performance, altitude, cruiseTas,
+                wind.getDirection(), wind.getSpeed());
+        return new AltitudeOption(altitude, cruiseTas, wind.getDirection(), wind.getSpeed(),
+                navlog.getTotalMinutes(), navlog.getTotalFuel(),
+                navlog.getTopOfClimbDistance(), navlog.getTopOfDescentDistance());
+    }
+
+    static int[] candidateAltitudes(int minAltitude, int maxAltitude, int step) {
+        if (step <= 0) {
+            throw new BadRequestException("Altitude step must be positive");
+        }
+        if (minAltitude <= 0 || maxAltitude < minAltitude) {
+            throw new BadRequestException("Altitude range must be positive with min <= max");
+        }
+        int count = (maxAltitude - minAltitude) / step + 1;
+        if (count > MAX_CANDIDATES) {
+            throw new BadRequestException("At most " + MAX_CANDIDATES + " candidate altitudes can be evaluated at once");
+        }
+        int[] altitudes = new int[count];
+        for (int i = 0; i < count; i++) {
+            altitudes[i] = minAltitude + i * step;
+        }
+        return altitudes;
+    }
+
+    private static Comparator<AltitudeOption> ranking(String rankBy) {
+        if (rankBy == null || rankBy.equalsIgnoreCase("fuel")) {
+            return Comparator.comparingDouble(AltitudeOption::getTotalFuel)
+                    .thenComparingDouble(AltitudeOption::getTotalMinutes);
+        }
+        if (rankBy.equalsIgnoreCase("time")) {
+            return Comparator.comparingDouble(AltitudeOption::getTotalMinutes)
+                    .thenComparingDouble(AltitudeOption::getTotalFuel);
+        }
+        throw new BadRequestException("rankBy must be 'time' or 'fuel'");
+    }
+
+    // Starts one lookup per wind band needed to cover the candidate altitudes
+    private Map<Integer, CompletableFuture<WindAloft>> fetchBands(String icao, int[] altitudes,
+                                                                   BiFunction<String, Integer, WindAloft> winds) {
+        Map<Integer, CompletableFuture<WindAloft>> bands = new TreeMap<>();
+        for (int altitude : altitudes) {
+            int[] bracket = bracket(altitude);
+            for (int band : bracket) {
+                bands.computeIfAbsent(band, b -> CompletableFuture.supplyAsync(() -> winds.apply(icao, b), windsExecutor));
+            }
+        }
+        return bands;
+    }
+
+    private static WindAloft windAt(Map<Integer, CompletableFuture<WindAloft>> bands, int altitude) {
+        int[] bracket = bracket(altitude);
+        WindAloft lower = Futures.join(bands.get(bracket[0]));
+        if (bracket.length == 1) {
+            return lower;
+        }
+        WindAloft upper = Futures.join(bands.get(bracket[1]));
+        double fraction = (altitude - bracket[0]) / (double) (bracket[1] - bracket[0]);
+        return WindAloft.interpolate(lower, upper, fraction);
+    }
+
+    // The one or two wind bands around an altitude, clamped to the reported range
+    private static int[] bracket(int altitude) {
+        if (altitude <= WIND_BANDS[0]) return new int[] {WIND_BANDS[0]};
+        if (altitude >= WIND_BANDS[WIND_BANDS.length - 1]) return new int[] {WIND_BANDS[WIND_BANDS.length - 1]};
+        int index = Arrays.binarySearch(WIND_BANDS, altitude);
+        if (index >= 0) return new int[] {WIND_BANDS[index]};
+        int upper = -index - 1;
+        return new int[] {WIND_BANDS[upper - 1], WIND_BANDS[upper]};
+    }
+}
@@ -0,0 +1,74 @@
+package com.flightIQ.Navigation.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Records which upstream data a response was built from a last-known-good
+ * copy, and since when, so it can be reported in the response headers.
+ *
+ * There is one recorder per request. Work that a request hands to a pool
+ * thread takes the recorder along with {@link #within}.
+ */
+public final class DataFreshness {
+
+    private static final String ATTRIBUTE = DataFreshness.class.getName();
+    private static final ThreadLocal<DataFreshness> BOUND = new ThreadLocal<>();
+
+    private final Map<String, Instant> staleSources = new ConcurrentHashMap<>();
+
+    private DataFreshness() {
+    }
+
+    /** Recorder of the request served by this thread, or null outside of a request. */
+    public static DataFreshness current() {
+        DataFreshness bound = BOUND.get();
+        if (bound != null) return bound;
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return null;
+        DataFreshness freshness = (DataFreshness) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (freshness == null) {
+            freshness = new DataFreshness();
+            attributes.setAttribute(ATTRIBUTE, freshness, RequestAttributes.SCOPE_REQUEST);
+        }
+        return freshness;
+    }
+
+    /** Notes that data from {@code source} is a copy fetched at {@code asOf}; the oldest copy per source wins. */
+    public static void markStale(String source, Instant asOf) {
+        DataFreshness freshness = current();
+        if (freshness != null) {
+            freshness.staleSources.merge(source, asOf, (a, b) -> a.isBefore(b) ? a : b);
+        }
+    }
+
+    /** Runs {@code work} on this thread on behalf of the request that owns {@code freshness}. */
+    public static <T> T within(DataFreshness freshness, Supplier<T> work) {
+        if (freshness == null) return work.get();
+        DataFreshness previous = BOUND.get();
+        BOUND.set(freshness);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) BOUND.remove();
+            else BOUND.set(previous);
+        }
+    }
+
+    public boolean hasStaleData() {
+        return !staleSources.isEmpty();
+    }
+
+    /** Stale sources recorded for a request, empty when everything was fresh. */
+    public static Map<String, Instant> staleSources(HttpServletRequest request) {
+        Object freshness = request.getAttribute(ATTRIBUTE);
+        return freshness instanceof DataFreshness recorded ? recorded.staleSources : Map.of();
+    }
+}
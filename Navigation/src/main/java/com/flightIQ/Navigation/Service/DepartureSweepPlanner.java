@@ -0,0 +1,134 @@
+package com.flightIQ.Navigation.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import com.flightIQ.Navigation.DTO.AircraftPerformance;
+import com.flightIQ.Navigation.DTO.DepartureOption;
+import com.flightIQ.Navigation.DTO.NavlogResult;
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.DTO.WindAloft;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+
+/**
+ * Computes a navlog for every departure time in a window.
+ *
+ * The route is resolved by the caller once and shared by all time steps. Each
+ * step is matched to a forecast period of the winds aloft product, the wind
+ * snapshot of every period in use is fetched once (origin and destination
+ * concurrently), and the navlogs are evaluated on the fork-join pool.
+ */
+@Service
+public class DepartureSweepPlanner {
+
+    public static final int MAX_STEPS = 288;
+    public static final int MIN_STEP_MINUTES = 5;
+
+    private final NavlogEngine navlogEngine;
+    private final ExecutorService windsExecutor;
+    private final ForkJoinPool navlogPool;
+
+    /** Lookup of winds for (ICAO, altitude, forecast period in hours), never returning null. */
+    @FunctionalInterface
+    public interface ForecastWinds {
+        WindAloft get(String icao, int altitude, int forecastHours);
+    }
+
+    @Autowired
+    public DepartureSweepPlanner(NavlogEngine navlogEngine,
+                                 @Qualifier("windsExecutor") ExecutorService windsExecutor,
+                                 @Qualifier("navlogPool") ForkJoinPool navlogPool) {
+        this.navlogEngine = navlogEngine;
+        this.windsExecutor = windsExecutor;
+        this.navlogPool = navlogPool;
+    }
+
+    public List<DepartureOption> sweep(List<RouteNode> route, AircraftPerformance performance, int cruiseAltitude, double tas,
+                                       Instant start, Instant end, int stepMinutes, ForecastWinds winds) {
+        Instant[] departures = departureTimes(start, end, stepMinutes);
+        Instant now = Instant.now();
+
+        int[] periods = new int[departures.length];
+        for (int i = 0; i < departures.length; i++) {
+            periods[i] = forecastPeriod(now, departures[i]);
+        }
+
+        String origin = route.get(0).getNodeName();
+        String destination = route.get(route.size() - 1).getNodeName();
+        Map<Integer, CompletableFuture<WindAloft>> snapshots = new TreeMap<>();
+        for (int period : periods) {
+            snapshots.computeIfAbsent(period, p -> {
+                CompletableFuture<WindAloft> originWinds =
+                        CompletableFuture.supplyAsync(() -> winds.get(origin, cruiseAltitude, p), windsExecutor);
+                CompletableFuture<WindAloft> destinationWinds =
+                        CompletableFuture.supplyAsync(() -> winds.get(destination, cruiseAltitude, p), windsExecutor);
+                return originWinds.thenCombine(destinationWinds, WindAloft::average);
+            });
+        }
+
+        try {
+            return navlogPool.submit(() -> IntStream.range(0, departures.length)
+                    .parallel()
+                    .mapToObj(i -> evaluate(route, performance, cruiseAltitude, tas, departures[i], periods[i],
+                            Futures.join(snapshots.get(periods[i]))))
+                    .toList()).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Departure sweep interrupted", e);
+        } catch (ExecutionException e) {
+            throw Futures.unwrap(e);
+        }
+    }
+
+    private DepartureOption evaluate(List<RouteNode> route, AircraftPerformance performance, int cruiseAltitude, double tas,
+                                     Instant departure, int forecastHours, WindAloft wind) {
+        NavlogResult navlog = navlogEngine.compute(route, performance, cruiseAltitude, tas,
+                wind.getDirection(), wind.getSpeed());
+        Instant arrival = departure.plusSeconds(Math.round(navlog.getTotalMinutes() * 60));
+        return new DepartureOption(departure, arrival, forecastHours, wind.getValidTime(),
+                wind.getDirection(), wind.getSpeed(), navlog.getTotalMinutes(), navlog.getTotalFuel());
+    }
+
+    static Instant[] departureTimes(Instant start, Instant end, int stepMinutes) {
+        if (stepMinutes < MIN_STEP_MINUTES) {
+            throw new BadRequestException("Departure step must be at least " + MIN_STEP_MINUTES + " minutes");
+        }
+        if (end.isBefore(start)) {
+            throw new BadRequestException("Departure window end must not be before its start");
+        }
+        long steps = Duration.between(start, end).toMinutes() / stepMinutes + 1;
+        if (steps > MAX_STEPS) {
+            throw new BadRequestException("At most " + MAX_STEPS + " departure times can be swept at once");
+        }
+        Instant[] departures = new Instant[(int) steps];
+        for (int i = 0; i < departures.length; i++) {
+            departures[i] = start.plus(Duration.ofMinutes((long) i * stepMinutes));
+        }
+        return departures;
+    }
+
+    /*
+     * Forecast period of the winds aloft product to use for a departure, following
+     * the FB winds usage windows: the 6 hour forecast covers roughly the next 9
+     * hours, the 12 hour forecast up to 18 hours and the 24 hour forecast up to 30.
+     */
+    static int forecastPeriod(Instant now, Instant departure) {
+        long hoursAhead = Duration.between(now, departure).toMinutes() / 60;
+        if (hoursAhead < 9) return 6;
+        if (hoursAhead < 18) return 12;
+        if (hoursAhead < 30) return 24;
+        throw new BadRequestException("No winds forecast covers departures more than 30 hours ahead");
+    }
+}
@@ -0,0 +1,114 @@
+package com.flightIQ.Navigation.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+
+/**
+ * One degree of elevation data in the SRTM {@code .hgt} layout, memory-mapped
+ * and read in place.
+ *
+ * <pre>
+ *   file name  N26W081.hgt, the south west corner of the tile
+ *   body       n x n big endian signed shorts, metres above sea level,
+ *              rows from the north edge to the south edge, columns from west to east
+ *   voids      -32768
+ * </pre>
+ *
+ * Edge posts are shared with the neighbouring tiles, so n is 1201 for
+ * 3 arc-second data and 3601 for 1 arc-second data.
+ */
+public final class ElevationTile {
+
+    public static final short VOID = Short.MIN_VALUE;
+
+    /** Elevation in metres of a point of the tile, in degrees. */
+    @FunctionalInterface
+    public interface ElevationModel {
+        int elevation(double lat, double lon);
+    }
+
+    private final ByteBuffer posts;
+    private final int size;
+    private final int south;
+    private final int west;
+
+    private ElevationTile(ByteBuffer posts, int size, int south, int west) {
+        this.posts = posts;
+        this.size = size;
+        this.south = south;
+        this.west = west;
+    }
+
+    public static String fileName(int south, int west) {
+        return String.format(Locale.ROOT, "%s%02d%s%03d.hgt",
+                south < 0 ? "S" : "N", Math.abs(south), west < 0 ? "W" : "E", Math.abs(west));
+    }
+
+    public static ElevationTile map(Path file, int south, int west) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long bytes = channel.size();
+            int size = (int) Math.round(Math.sqrt(bytes / 2.0));
+            if (size < 2 || (long) size * size * 2 != bytes) {
+                throw new IOException(file + " is not a square grid of 16-bit posts");
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer posts = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            return new ElevationTile(posts, size, south, west);
+        }
+    }
+
+    /** Writes a tile of {@code size} x {@code size} posts sampled from {@code model}, replacing the file atomically. */
+    public static void write(Path file, int south, int west, int size, ElevationModel model) throws IOException {
+        ByteBuffer posts = ByteBuffer.allocate(size * size * 2);
+        double step = 1.0 / (size - 1);
+        for (int row = 0; row < size; row++) {
+            double lat = south + 1 - row * step;
+            for (int column = 0; column < size; column++) {
+                posts.putShort((short) model.elevation(lat, west + column * step));
+            }
+        }
+        posts.flip();
+
+        Path staged = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(staged, StandardOpenOption.WRITE)) {
+                while (posts.hasRemaining()) channel.write(posts);
+            }
+            Files.move(staged, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * Highest of the posts around a point of this tile in metres, or
+     * {@link #VOID} when all of them are voids. Taking the highest rather than
+     * interpolating keeps the answer on the safe side for clearance checks.
+     */
+    public int maxElevation(double lat, double lon) {
+        double row = (south + 1 - lat) * (size - 1);
+        double column = (lon - west) * (size - 1);
+        int row0 = Math.max(0, Math.min(size - 1, (int) row));
+        int column0 = Math.max(0, Math.min(size - 1, (int) column));
+        int row1 = Math.min(size - 1, row0 + 1);
+        int column1 = Math.min(size - 1, column0 + 1);
+
+        int max = VOID;
+        max = Math.max(max, post(row0, column0));
+        max = Math.max(max, post(row0, column1));
+        max = Math.max(max, post(row1, column0));
+        max = Math.max(max, post(row1, column1));
+        return max;
+    }
+
+    private short post(int row, int column) {
+        return posts.getShort((row * size + column) * 2);
+    }
+}
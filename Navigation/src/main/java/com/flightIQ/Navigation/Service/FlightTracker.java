@@ -0,0 +1,338 @@
+package com.flightIQ.Navigation.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.AircraftPerformance;
+import com.flightIQ.Navigation.DTO.FlightProjection;
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.DTO.StateVector;
+import com.flightIQ.Navigation.DTO.TrafficSnapshot;
+import com.flightIQ.Navigation.DTO.WaypointProjection;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+
+/**
+ * Remaining navlog of airborne aircraft along their filed routes, kept up to
+ * date from the traffic feed.
+ *
+ * The route legs are resolved once when tracking starts, so their bearings
+ * and distances come from the {@link GeodesicEngine} leg cache and never
+ * change. The legs from a waypoint to a new position reuse the cached trig
+ * terms of the waypoint, only the position's are computed for each update.
+ * A new position only recomputes the active leg: the search starts at
+ * the leg that was active before and moves on while the aircraft is past its
+ * end, and only an aircraft that is far from that leg makes it search the
+ * whole route. Distances beyond the next waypoint are suffix sums of the leg
+ * distances, and the per-waypoint ETA and fuel are only built when a
+ * projection is read.
+ *
+ * Snapshots are applied on a background thread, keeping only the latest one
+ * when several are pending. While flights are tracked and no snapshot came in
+ * for {@code nav.tracking.refresh-seconds}, the tracker asks for the feed itself.
+ */
+@Component
+public class FlightTracker implements TrafficSnapshotListener {
+
+    private static final double KNOTS_PER_MPS = 1.943844;
+    private static final double FEET_PER_METER = 3.28084;
+    private static final double FPM_PER_MPS = 196.85;
+    private static final double OFF_ROUTE_NM = 10;
+    private static final double MIN_GROUND_SPEED_KT = 30; // slower aircraft are on the ground or hovering, no ETA
+    private static final double LEVEL_FPM = 300;
+
+    private final Logger _logger = LoggerFactory.getLogger(FlightTracker.class);
+
+    private final GeodesicEngine geodesicEngine;
+    private final TrafficService trafficService;
+    private final int maxFlights;
+    private final long expireMillis;
+    private final long refreshMillis;
+
+    private final Map<String, TrackedFlight> flights = new ConcurrentHashMap<>();
+    private final AtomicReference<TrafficSnapshot> pending = new AtomicReference<>();
+    private volatile TrafficSnapshot latest;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "flight-tracker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Route of a tracked flight, fixed once tracking starts
+    private static final class TrackedFlight {
+        final String icao24;
+        final String route;
+        final AircraftPerformance performance;
+        final String[] waypoints;
+        final double[] latitude;
+        final double[] longitude;
+        final double[] legBearing;
+        final double[] legDistance;
+        final double[] distanceAfter;   // from each waypoint to the destination
+        final long trackedAt;
+        volatile Position position;
+
+        TrackedFlight(String icao24, String route, AircraftPerformance performance, String[] waypoints,
+                      double[] latitude, double[] longitude, List<RouteNode> legs) {
+            this.icao24 = icao24;
+            this.route = route;
+            this.performance = performance;
+            this.waypoints = waypoints;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            int count = waypoints.length - 1;
+            this.legBearing = new double[count];
+            this.legDistance = new double[count];
+            this.distanceAfter = new double[waypoints.length];
+            for (int i = count - 1; i >= 0; i--) {
+                legBearing[i] = legs.get(i).getBearing();
+                legDistance[i] = legs.get(i).getDistance();
+                distanceAfter[i] = distanceAfter[i + 1] + legDistance[i];
+            }
+            this.trackedAt = System.currentTimeMillis();
+        }
+    }
+
+    // Where the aircraft was last reported and which leg it is on
+    private record Position(StateVector vector, Instant at, int activeLeg, double crossTrack, double toNext,
+                            boolean offRoute, double fuelFlow) {}
+
+    // Aircraft position relative to one leg, in NM
+    private record Fit(int leg, double crossTrack, double alongTrack, double offset) {}
+
+    @Autowired
+    public FlightTracker(GeodesicEngine geodesicEngine, TrafficService trafficService,
+                         @Value("${nav.tracking.max-flights:500}") int maxFlights,
+                         @Value("${nav.tracking.expire-minutes:30}") long expireMinutes,
+                         @Value("${nav.tracking.refresh-seconds:15}") long refreshSeconds) {
+        this.geodesicEngine = geodesicEngine;
+        this.trafficService = trafficService;
+        this.maxFlights = maxFlights;
+        this.expireMillis = TimeUnit.MINUTES.toMillis(expireMinutes);
+        this.refreshMillis = TimeUnit.SECONDS.toMillis(refreshSeconds);
+        worker.scheduleWithFixedDelay(this::refresh, refreshSeconds, refreshSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Starts tracking an aircraft along a resolved route and projects it from the
+     * latest snapshot right away.
+     *
+     * @param legs legs as produced by prepareRouteObject for the same waypoints
+     */
+    public FlightProjection track(String icao24, String route, AircraftPerformance performance, String[] waypoints,
+                                  double[] latitude, double[] longitude, List<RouteNode> legs) {
+        String key = icao24.toLowerCase(Locale.ROOT);
+        if (!flights.containsKey(key) && flights.size() >= maxFlights) {
+            throw new BadRequestException("Already tracking the maximum of " + maxFlights + " flights");
+        }
+        TrackedFlight flight = new TrackedFlight(key, route, performance, waypoints, latitude, longitude, legs);
+        TrafficSnapshot snapshot = latest;
+        if (snapshot != null) {
+            for (StateVector vector : snapshot.getVectors()) {
+                if (vector != null && key.equals(vector.icao24())) {
+                    update(flight, vector, snapshot.getFetchedAt());
+                    break;
+                }
+            }
+        }
+        flights.put(key, flight);
+        return project(flight);
+    }
+
+    public boolean untrack(String icao24) {
+        return flights.remove(icao24.toLowerCase(Locale.ROOT)) != null;
+    }
+
+    /** Projection of a tracked flight, or null when it is not tracked. */
+    public FlightProjection projection(String icao24) {
+        TrackedFlight flight = flights.get(icao24.toLowerCase(Locale.ROOT));
+        return flight == null ? null : project(flight);
+    }
+
+    public List<FlightProjection> projections() {
+        List<FlightProjection> result = new ArrayList<>(flights.size());
+        for (TrackedFlight flight : flights.values()) result.add(project(flight));
+        return result;
+    }
+
+    @Override
+    public void onTraffic(TrafficSnapshot snapshot) {
+        latest = snapshot;
+        if (flights.isEmpty()) return;
+        if (pending.getAndSet(snapshot) == null) {
+            worker.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        TrafficSnapshot snapshot;
+        while ((snapshot = pending.getAndSet(null)) != null) {
+            try {
+                long start = System.nanoTime();
+                int updated = apply(snapshot);
+                _logger.debug("Flight tracker updated {} of {} flights in {} us", updated, flights.size(),
+                        (System.nanoTime() - start) / 1000);
+            } catch (RuntimeException e) {
+                _logger.error("Flight tracker could not apply the snapshot of {}", snapshot.getFetchedAt(), e);
+            }
+        }
+    }
+
+    private int apply(TrafficSnapshot snapshot) {
+        int updated = 0;
+        for (StateVector vector : snapshot.getVectors()) {
+            if (vector == null || vector.icao24() == null) continue;
+            TrackedFlight flight = flights.get(vector.icao24());
+            if (flight != null && update(flight, vector, snapshot.getFetchedAt())) updated++;
+        }
+
+        long cutoff = System.currentTimeMillis() - expireMillis;
+        flights.values().removeIf(flight -> {
+            Position position = flight.position;
+            long lastSeen = position == null ? flight.trackedAt : position.at().toEpochMilli();
+            return lastSeen < cutoff;
+        });
+        return updated;
+    }
+
+    // Asks for the feed when nothing else has lately, so tracked flights keep moving
+    private void refresh() {
+        TrafficSnapshot snapshot = latest;
+        if (flights.isEmpty() || (snapshot != null
+                && System.currentTimeMillis() - snapshot.getFetchedAt().toEpochMilli() < refreshMillis)) {
+            return;
+        }
+        try {
+            trafficService.feed();
+        } catch (RuntimeException e) {
+            _logger.warn("Could not refresh the traffic feed for {} tracked flights: {}", flights.size(), e.getMessage());
+        }
+    }
+
+    // Moves the flight to its new position, true when it changed
+    private boolean update(TrackedFlight flight, StateVector vector, Instant fetchedAt) {
+        if (vector.latitude() == null || vector.longitude() == null) return false;
+        Instant at = vector.timePosition() != null ? Instant.ofEpochSecond(vector.timePosition()) : fetchedAt;
+        Position previous = flight.position;
+        if (previous != null && !at.isAfter(previous.at())) return false;
+
+        double lat = vector.latitude();
+        double lon = vector.longitude();
+        Fit fit = sequence(flight, lat, lon, previous == null ? 0 : previous.activeLeg());
+        if (fit.offset() > OFF_ROUTE_NM) {
+            fit = nearestLeg(flight, lat, lon);
+        }
+        int next = fit.leg() + 1;
+        double toNext = distanceFrom(flight, next, lat, lon);
+        flight.position = new Position(vector, at, fit.leg(), fit.crossTrack(), toNext,
+                fit.offset() > OFF_ROUTE_NM, fuelFlow(flight.performance, vector));
+        return true;
+    }
+
+    // From the previously active leg, moves on while the aircraft is past the end of the leg
+    private Fit sequence(TrackedFlight flight, double lat, double lon, int leg) {
+        Fit fit = fit(flight, leg, lat, lon);
+        while (fit.alongTrack() >= flight.legDistance[fit.leg()] && fit.leg() < flight.legDistance.length - 1) {
+            fit = fit(flight, fit.leg() + 1, lat, lon);
+        }
+        return fit;
+    }
+
+    private Fit nearestLeg(TrackedFlight flight, double lat, double lon) {
+        Fit best = null;
+        for (int leg = 0; leg < flight.legDistance.length; leg++) {
+            Fit fit = fit(flight, leg, lat, lon);
+            if (best == null || fit.offset() < best.offset()) best = fit;
+        }
+        return best;
+    }
+
+    private Fit fit(TrackedFlight flight, int leg, double lat, double lon) {
+        GeodesicEngine.Leg fromStart = geodesicEngine.computeLeg(flight.waypoints[leg], flight.latitude[leg],
+                flight.longitude[leg], lat, lon);
+        double angle = fromStart.distance() / GeodesicEngine.EARTH_RADIUS_NM;
+        double relative = Math.toRadians(fromStart.bearing() - flight.legBearing[leg]);
+        double crossAngle = Math.asin(Math.sin(angle) * Math.sin(relative));
+        double alongAngle = Math.acos(Math.max(-1, Math.min(1, Math.cos(angle) / Math.cos(crossAngle))));
+
+        double crossTrack = crossAngle * GeodesicEngine.EARTH_RADIUS_NM;
+        double alongTrack = Math.copySign(alongAngle * GeodesicEngine.EARTH_RADIUS_NM, Math.cos(relative));
+        double offset;
+        if (alongTrack < 0) {
+            offset = fromStart.distance();
+        } else if (alongTrack > flight.legDistance[leg]) {
+            offset = distanceFrom(flight, leg + 1, lat, lon);
+        } else {
+            offset = Math.abs(crossTrack);
+        }
+        return new Fit(leg, crossTrack, alongTrack, offset);
+    }
+
+    // Great-circle distance is the same both ways, so it starts at the waypoint whose trig terms are cached
+    private double distanceFrom(TrackedFlight flight, int waypoint, double lat, double lon) {
+        return geodesicEngine.computeLeg(flight.waypoints[waypoint], flight.latitude[waypoint],
+                flight.longitude[waypoint], lat, lon).distance();
+    }
+
+    private static double fuelFlow(AircraftPerformance performance, StateVector vector) {
+        Float baro = vector.baroAltitude() != null ? vector.baroAltitude() : vector.geoAltitude();
+        double altitude = baro == null ? 0 : Math.max(0, baro * FEET_PER_METER);
+        double verticalFpm = vector.verticalVelocity() == null ? 0 : vector.verticalVelocity() * FPM_PER_MPS;
+        if (verticalFpm > LEVEL_FPM) return performance.climbFuelFlow(altitude);
+        if (verticalFpm < -LEVEL_FPM) return performance.descentFuelFlow(altitude);
+        return performance.cruiseFuelFlow(altitude, performance.getReferenceWeight());
+    }
+
+    private FlightProjection project(TrackedFlight flight) {
+        Position position = flight.position;
+        String aircraft = flight.performance.getTypeId();
+        if (position == null) {
+            return new FlightProjection(flight.icao24, null, flight.route, aircraft, null, null, null, null, null, null,
+                    null, null, null, false, null, List.of());
+        }
+
+        StateVector vector = position.vector();
+        Double groundSpeed = vector.velocity() == null ? null : vector.velocity() * KNOTS_PER_MPS;
+        boolean moving = groundSpeed != null && groundSpeed >= MIN_GROUND_SPEED_KT;
+        int next = position.activeLeg() + 1;
+
+        List<WaypointProjection> waypoints = new ArrayList<>(flight.waypoints.length - next);
+        for (int i = next; i < flight.waypoints.length; i++) {
+            double distance = position.toNext() + flight.distanceAfter[next] - flight.distanceAfter[i];
+            if (!moving) {
+                waypoints.add(new WaypointProjection(flight.waypoints[i], distance, null, null, null));
+                continue;
+            }
+            double minutes = distance / groundSpeed * 60;
+            waypoints.add(new WaypointProjection(flight.waypoints[i], distance, minutes,
+                    position.at().plusMillis((long) (minutes * 60_000)), position.fuelFlow() * minutes / 60));
+        }
+
+        Float altitude = vector.baroAltitude() != null ? vector.baroAltitude() : vector.geoAltitude();
+        return new FlightProjection(flight.icao24, vector.callSign() == null ? null : vector.callSign().trim(),
+                flight.route, aircraft, position.at(), vector.latitude(), vector.longitude(),
+                altitude == null ? null : (int) Math.round(altitude * FEET_PER_METER), groundSpeed, vector.trueTrack(),
+                flight.waypoints[position.activeLeg()], flight.waypoints[next], position.crossTrack(),
+                position.offRoute(), position.fuelFlow(), waypoints);
+    }
+}
@@ -0,0 +1,36 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Waits on work handed to the winds executor or the navlog pool so that its
+ * failures reach the caller as thrown, instead of wrapped in a
+ * CompletionException or ExecutionException that GlobalExceptionHandler can
+ * only answer with 500.
+ */
+final class Futures {
+
+    private Futures() {
+    }
+
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /** The original failure behind any number of CompletionException and ExecutionException layers. */
+    static RuntimeException unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof RuntimeException runtime) return runtime;
+        if (cause instanceof Error error) throw error;
+        return new IllegalStateException(cause);
+    }
+}
@@ -0,0 +1,135 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.NavSnapshot;
+
+/**
+ * Great-circle math for route legs.
+ *
+ * Bearing and distance are computed in one fused pass that shares the trig
+ * terms of both formulas. sin/cos of latitude are cached per nav-database
+ * point and whole legs are memoized per (fromId, toId) pair, so the common
+ * airport-to-fix and fix-to-fix legs are only computed once. A memoized leg
+ * is only used while both of its points still have the coordinates it was
+ * computed for.
+ */
+@Component
+public class GeodesicEngine implements NavSnapshotListener {
+
+    public static final double EARTH_RADIUS_NM = 3440; // Radius of the Earth in nautical miles
+
+    private static final int MAX_CACHED_POINTS = 50_000;
+    private static final int MAX_CACHED_LEGS = 200_000;
+
+    private final Map<String, PointTrig> pointCache = new ConcurrentHashMap<>();
+    private final Map<String, CachedLeg> legCache = new ConcurrentHashMap<>();
+
+    /** Initial true bearing in degrees [0, 360) and distance in nautical miles. */
+    public record Leg(double bearing, double distance) {}
+
+    // A memoized leg with the points it was computed for
+    private record CachedLeg(PointTrig from, PointTrig to, Leg leg) {}
+
+    // Trig terms of a point that never change for the lifetime of a nav-database cycle
+    private record PointTrig(double lat, double lon, double lonRad, double sinLat, double cosLat) {
+
+        static PointTrig of(double lat, double lon) {
+            double latRad = Math.toRadians(lat);
+            return new PointTrig(lat, lon, Math.toRadians(lon), Math.sin(latRad), Math.cos(latRad));
+        }
+
+        boolean matches(double lat, double lon) {
+            return this.lat == lat && this.lon == lon;
+        }
+    }
+
+    /**
+     * Memoized leg between two identified points. The identifiers are the route
+     * tokens (ICAO code, fixx id or coordinate literal).
+     */
+    public Leg computeLeg(String fromId, double lat1, double lon1, String toId, double lat2, double lon2) {
+        String key = fromId + '>' + toId;
+        CachedLeg cached = legCache.get(key);
+        if (cached != null && cached.from().matches(lat1, lon1) && cached.to().matches(lat2, lon2)) {
+            return cached.leg();
+        }
+
+        PointTrig from = pointTrig(fromId, lat1, lon1);
+        PointTrig to = pointTrig(toId, lat2, lon2);
+        Leg leg = fused(from.sinLat, from.cosLat, from.lonRad, to.sinLat, to.cosLat, to.lonRad);
+
+        if (legCache.size() >= MAX_CACHED_LEGS) {
+            legCache.clear();
+        }
+        legCache.put(key, new CachedLeg(from, to, leg));
+        return leg;
+    }
+
+    /**
+     * Leg from an identified point to any position, such as an aircraft. The
+     * trig terms of the identified point come from the point cache, the leg is
+     * not memoized.
+     */
+    public Leg computeLeg(String fromId, double lat1, double lon1, double lat2, double lon2) {
+        PointTrig from = pointTrig(fromId, lat1, lon1);
+        double lat2Rad = Math.toRadians(lat2);
+        return fused(from.sinLat, from.cosLat, from.lonRad, Math.sin(lat2Rad), Math.cos(lat2Rad), Math.toRadians(lon2));
+    }
+
+    /** Uncached leg between two coordinates. */
+    public Leg computeLeg(double lat1, double lon1, double lat2, double lon2) {
+        double lat1Rad = Math.toRadians(lat1);
+        double lat2Rad = Math.toRadians(lat2);
+        return fused(Math.sin(lat1Rad), Math.cos(lat1Rad), Math.toRadians(lon1),
+                Math.sin(lat2Rad), Math.cos(lat2Rad), Math.toRadians(lon2));
+    }
+
+    // Legs are memoized by identifier, a new cycle may have moved any of them
+    @Override
+    public void onSnapshot(NavSnapshot snapshot) {
+        clear();
+    }
+
+    /** Drops every cached point and leg, e.g. when the nav database changes. */
+    public void clear() {
+        pointCache.clear();
+        legCache.clear();
+    }
+
+    private PointTrig pointTrig(String id, double lat, double lon) {
+        PointTrig trig = pointCache.get(id);
+        if (trig == null || !trig.matches(lat, lon)) {
+            if (pointCache.size() >= MAX_CACHED_POINTS) {
+                pointCache.clear();
+            }
+            trig = PointTrig.of(lat, lon);
+            pointCache.put(id, trig);
+        }
+        return trig;
+    }
+
+    /*
+     * The bearing numerator/denominator (y, x) are also the components of the
+     * cross product used by the atan2 form of the central angle, so one sin/cos
+     * of the longitude difference serves both results. The atan2 form is also
+     * better conditioned than haversine for very short and antipodal legs.
+     */
+    private static Leg fused(double sinPhi1, double cosPhi1, double lambda1,
+                             double sinPhi2, double cosPhi2, double lambda2) {
+        double dLon = lambda2 - lambda1;
+        double sinDLon = Math.sin(dLon);
+        double cosDLon = Math.cos(dLon);
+
+        double y = sinDLon * cosPhi2;
+        double x = cosPhi1 * sinPhi2 - sinPhi1 * cosPhi2 * cosDLon;
+        double z = sinPhi1 * sinPhi2 + cosPhi1 * cosPhi2 * cosDLon;
+
+        double bearing = (Math.toDegrees(Math.atan2(y, x)) + 360) % 360;
+        double distance = EARTH_RADIUS_NM * Math.atan2(Math.sqrt(y * y + x * x), z);
+        return new Leg(bearing, distance);
+    }
+}
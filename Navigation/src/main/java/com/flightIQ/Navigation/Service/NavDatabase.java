@@ -0,0 +1,133 @@
+package com.flightIQ.Navigation.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.NavSnapshot;
+import com.flightIQ.Navigation.Repository.AirportRepository;
+import com.flightIQ.Navigation.Repository.FIXXRepository;
+
+/**
+ * Holds the current snapshot of the nav database and hands every new snapshot
+ * to the {@link NavSnapshotListener}s that build in-memory indexes from it.
+ *
+ * When a snapshot directory is configured, startup memory-maps the snapshot
+ * file of the current AIRAC cycle, named by the {@code CURRENT} pointer file,
+ * instead of reading every node from Neo4j.
+ */
+@Component
+public class NavDatabase {
+
+    private final Logger _logger = LoggerFactory.getLogger(NavDatabase.class);
+
+    private final AirportRepository airportRepository;
+    private final FIXXRepository fixxRepository;
+    private final ObjectProvider<NavSnapshotListener> listeners;
+    private final Path snapshotDirectory;
+
+    static final String CURRENT_POINTER = "CURRENT";
+
+    private volatile NavSnapshot current = new NavSnapshot("empty", List.of(), List.of(), Instant.EPOCH);
+
+    @Autowired
+    public NavDatabase(AirportRepository airportRepository, FIXXRepository fixxRepository,
+                       ObjectProvider<NavSnapshotListener> listeners,
+                       @Value("${nav.snapshot.directory:}") String snapshotDirectory) {
+        this.airportRepository = airportRepository;
+        this.fixxRepository = fixxRepository;
+        this.listeners = listeners;
+        this.snapshotDirectory = snapshotDirectory.isBlank() ? null : Path.of(snapshotDirectory);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Path file = currentSnapshotFile();
+        if (file != null) {
+            try {
+                installFile(file);
+                return;
+            } catch (IOException | RuntimeException ex) {
+                _logger.error("Failed to load nav snapshot file {}, falling back to Neo4j", file, ex);
+            }
+        }
+        try {
+            reload();
+        } catch (RuntimeException ex) {
+            _logger.error("Failed to load the nav database snapshot, in-memory indexes will be empty", ex);
+        }
+    }
+
+    /** Memory-maps a snapshot file written by the AIRAC import and installs it. */
+    public NavSnapshot installFile(Path file) throws IOException {
+        long start = System.nanoTime();
+        NavSnapshot snapshot = NavSnapshotFile.read(file);
+        _logger.info("Mapped nav snapshot {} with {} airports and {} fixes from {} in {} ms", snapshot.getVersion(),
+                snapshot.getAirports().size(), snapshot.getFixes().size(), file, (System.nanoTime() - start) / 1_000_000);
+        install(snapshot);
+        return snapshot;
+    }
+
+    /** Directory holding the snapshot files and the CURRENT pointer, or null when snapshot files are disabled. */
+    public Path snapshotDirectory() {
+        return snapshotDirectory;
+    }
+
+    /** Points CURRENT at a snapshot file with an atomic rename, so a restart always finds a complete cycle. */
+    public void markCurrent(Path file) throws IOException {
+        Path pointer = snapshotDirectory.resolve(CURRENT_POINTER);
+        Path staged = snapshotDirectory.resolve(CURRENT_POINTER + ".tmp");
+        Files.writeString(staged, file.getFileName().toString(), StandardCharsets.UTF_8);
+        Files.move(staged, pointer, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path currentSnapshotFile() {
+        if (snapshotDirectory == null) return null;
+        Path pointer = snapshotDirectory.resolve(CURRENT_POINTER);
+        try {
+            if (!Files.exists(pointer)) return null;
+            return snapshotDirectory.resolve(Files.readString(pointer, StandardCharsets.UTF_8).trim());
+        } catch (IOException ex) {
+            _logger.error("Could not read {}", pointer, ex);
+            return null;
+        }
+    }
+
+    /** Reads all airports and fixes from Neo4j and installs them as the current snapshot. */
+    public void reload() {
+        long start = System.nanoTime();
+        Instant loadedAt = Instant.now();
+        NavSnapshot snapshot = new NavSnapshot("neo4j-" + loadedAt.toEpochMilli(),
+                List.copyOf(airportRepository.findAll()), List.copyOf(fixxRepository.findAll()), loadedAt);
+        _logger.info("Loaded nav snapshot {} with {} airports and {} fixes in {} ms", snapshot.getVersion(),
+                snapshot.getAirports().size(), snapshot.getFixes().size(), (System.nanoTime() - start) / 1_000_000);
+        install(snapshot);
+    }
+
+    // Serialized so listeners always see cycles in the order they were installed
+    public synchronized void install(NavSnapshot snapshot) {
+        current = snapshot;
+        listeners.orderedStream().forEach(listener -> listener.onSnapshot(snapshot));
+    }
+
+    public NavSnapshot current() {
+        return current;
+    }
+
+    public String version() {
+        return current.getVersion();
+    }
+}
@@ -0,0 +1,207 @@
+package com.flightIQ.Navigation.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import com.flightIQ.Navigation.DTO.NavSnapshot;
+import com.flightIQ.Navigation.Models.Airport;
+import com.flightIQ.Navigation.Models.FIXX;
+
+/**
+ * Binary nav snapshot file, written once per AIRAC cycle import and
+ * memory-mapped at startup.
+ *
+ * <pre>
+ * header (48 bytes, big endian)
+ *   int    magic 'NAVS'
+ *   short  format version
+ *   short  reserved
+ *   long   created at, epoch millis
+ *   int    airport count
+ *   int    fix count
+ *   long   CRC-32 of the body
+ *   byte[16] cycle name, ASCII, zero padded
+ * body
+ *   airports: ident, icao, name (strings), latitude, longitude (doubles), iapExists (byte)
+ *   fixes:    fixxId (string), latitude, longitude (doubles)
+ * </pre>
+ *
+ * Strings are an unsigned short byte length followed by UTF-8, with 0xFFFF for null.
+ */
+public final class NavSnapshotFile {
+
+    private static final int MAGIC = 0x4E415653; // NAVS
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 48;
+    private static final int CYCLE_BYTES = 16;
+    private static final int NULL_STRING = 0xFFFF;
+
+    private NavSnapshotFile() {
+    }
+
+    public static Writer writer(Path path, String cycle) throws IOException {
+        return new Writer(path, cycle);
+    }
+
+    public static NavSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("Nav snapshot " + path + " is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException(path + " is not a nav snapshot");
+            }
+            short format = buffer.getShort();
+            if (format != FORMAT_VERSION) {
+                throw new IOException("Unsupported nav snapshot format " + format + " in " + path);
+            }
+            buffer.getShort();
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            int airportCount = buffer.getInt();
+            int fixCount = buffer.getInt();
+            long checksum = buffer.getLong();
+            byte[] cycleBytes = new byte[CYCLE_BYTES];
+            buffer.get(cycleBytes);
+            String cycle = new String(cycleBytes, StandardCharsets.US_ASCII).trim();
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(HEADER_SIZE, buffer.capacity() - HEADER_SIZE));
+            if (crc.getValue() != checksum) {
+                throw new IOException("Nav snapshot " + path + " failed its checksum");
+            }
+
+            List<Airport> airports = new ArrayList<>(airportCount);
+            for (int i = 0; i < airportCount; i++) {
+                Airport airport = new Airport();
+                airport.setIdent(readString(buffer));
+                airport.setIcao(readString(buffer));
+                airport.setName(readString(buffer));
+                airport.setLatitude(buffer.getDouble());
+                airport.setLongitude(buffer.getDouble());
+                airport.setIapExists(buffer.get());
+                airports.add(airport);
+            }
+            List<FIXX> fixes = new ArrayList<>(fixCount);
+            for (int i = 0; i < fixCount; i++) {
+                FIXX fix = new FIXX();
+                fix.setFixxId(readString(buffer));
+                fix.setLatitude(buffer.getDouble());
+                fix.setLongitude(buffer.getDouble());
+                fixes.add(fix);
+            }
+
+            // Same content, same version, so every instance serving this file agrees on ETags
+            String version = cycle + "-" + String.format("%08x", checksum);
+            return new NavSnapshot(version, List.copyOf(airports), List.copyOf(fixes), createdAt);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = Short.toUnsignedInt(buffer.getShort());
+        if (length == NULL_STRING) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Streams records to the file; airports first, then fixes. The header is written on close. */
+    public static final class Writer implements Closeable {
+        private final Path path;
+        private final String cycle;
+        private final FileChannel channel;
+        private final CRC32 crc = new CRC32();
+        private final DataOutputStream out;
+        private int airportCount;
+        private int fixCount;
+        private boolean closed;
+
+        private Writer(Path path, String cycle) throws IOException {
+            if (cycle.length() > CYCLE_BYTES || !StandardCharsets.US_ASCII.newEncoder().canEncode(cycle)) {
+                throw new IllegalArgumentException("Cycle name must be at most " + CYCLE_BYTES + " ASCII characters");
+            }
+            this.path = path;
+            this.cycle = cycle;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            channel.position(HEADER_SIZE);
+            this.out = new DataOutputStream(new BufferedOutputStream(
+                    new CheckedOutputStream(Channels.newOutputStream(channel), crc), 1 << 16));
+        }
+
+        public void writeAirport(Airport airport) throws IOException {
+            if (fixCount > 0) {
+                throw new IllegalStateException("Airports must be written before fixes in " + path);
+            }
+            writeString(airport.getIdent());
+            writeString(airport.getIcao());
+            writeString(airport.getName());
+            out.writeDouble(airport.getLatitude());
+            out.writeDouble(airport.getLongitude());
+            out.writeByte(airport.getIapExists());
+            airportCount++;
+        }
+
+        public void writeFix(FIXX fix) throws IOException {
+            writeString(fix.getFixxId());
+            out.writeDouble(fix.getLatitude());
+            out.writeDouble(fix.getLongitude());
+            fixCount++;
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeShort(NULL_STRING);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length >= NULL_STRING) {
+                throw new IOException("String too long for nav snapshot: " + value.substring(0, 32) + "...");
+            }
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) return;
+            closed = true;
+            try {
+                out.flush();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC);
+                header.putShort(FORMAT_VERSION);
+                header.putShort((short) 0);
+                header.putLong(System.currentTimeMillis());
+                header.putInt(airportCount);
+                header.putInt(fixCount);
+                header.putLong(crc.getValue());
+                header.put(cycle.getBytes(StandardCharsets.US_ASCII));
+                header.position(HEADER_SIZE);
+                header.flip();
+                long offset = 0;
+                while (header.hasRemaining()) {
+                    offset += channel.write(header, offset);
+                }
+                channel.force(true);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
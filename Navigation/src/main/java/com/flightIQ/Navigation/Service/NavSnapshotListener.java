@@ -0,0 +1,8 @@
+package com.flightIQ.Navigation.Service;
+
+import com.flightIQ.Navigation.DTO.NavSnapshot;
+
+/** Implemented by beans that keep derived state of the nav database, called whenever a new snapshot is installed. */
+public interface NavSnapshotListener {
+    void onSnapshot(NavSnapshot snapshot);
+}
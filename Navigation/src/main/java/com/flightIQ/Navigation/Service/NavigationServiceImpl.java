@@ -1,93 +1,105 @@
 
 package com.flightIQ.Navigation.Service;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.flightIQ.Navigation.DTO.*;
 
 import java.time.Instant;
-import java.util.Optional;
-import com.fasterxml.jackson.core.type.TypeReference;
-
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Bean;
+import org.springframework.beans.factory.annotation.Qualifier;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.Hashtable;
 import java.util.List;
-import java.util.Map;
 
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import com.flightIQ.Navigation.Models.Airport;
 import com.flightIQ.Navigation.Models.FIXX;
-import com.flightIQ.Navigation.Models.WindsAloftClient;
 import com.flightIQ.Navigation.Repository.AirportRepository;
 import com.flightIQ.Navigation.Repository.FIXXRepository;
 import com.flightIQ.Navigation.Exceptions.AirportNotFoundException;
 import com.flightIQ.Navigation.Exceptions.FixxNotFoundException;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.util.UriComponentsBuilder;
+import com.flightIQ.Navigation.Exceptions.FlightNotTrackedException;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 @Service
 public class NavigationServiceImpl implements Navigation_svc {
 
-       
+    @Autowired
+	private AirportRepository airportRepository;
+	
+	@Autowired
+	private FIXXRepository fixxRepository;
 
-    private final Map<Integer, Integer> compassDeviationTable = Map.ofEntries(
-        Map.entry(0, 0),
-        Map.entry(30, 1),
-        Map.entry(60, 4),
-        Map.entry(90, 6),
-        Map.entry(120, 4),
-        Map.entry(150, 3),
-        Map.entry(180, 2),
-        Map.entry(210, 0),
-        Map.entry(240, 0),
-        Map.entry(270, 0),
-        Map.entry(300, 0),
-        Map.entry(330, -1)
-    );
+    @Autowired
+    private AircraftPerformanceDB aircraftPerformanceDB;
 
+    @Autowired
+    private NavlogEngine navlogEngine;
 
+    @Autowired
+    private CruiseAltitudeOptimizer cruiseAltitudeOptimizer;
 
+    @Autowired
+    private DepartureSweepPlanner departureSweepPlanner;
 
     @Autowired
-	private AirportRepository airportRepository;
-	
-	@Autowired
-	private FIXXRepository fixxRepository;
+    private AtisService atisService;
 
-    private WindsAloftClient Windclient;
+    @Autowired
+    private AirportSpatialIndex airportSpatialIndex;
 
+    @Autowired
+    private WaypointSearchIndex waypointSearchIndex;
 
-    private static final String ENDPOINT_OPENSKY = "https://opensky-network.org/api";
-    private static final String ENDPOINT_OPENSKY_AUTH = "https://auth.opensky-network.org/auth/realms/opensky-network/protocol/openid-connect/token";
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
 
-    private static final ObjectMapper OBJ_MAPPER = new ObjectMapper(); // Maps StateVectors from API to a List
-    private final RestTemplate _restTemplate = new RestTemplate();
-    private final Logger _logger = LoggerFactory.getLogger(NavigationServiceImpl.class);
+    @Autowired
+    private AiracImporter airacImporter;
+
+    @Autowired
+    private Neo4jPoolMonitor neo4jPoolMonitor;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private NavlogCache navlogCache;
 
-    private static final float[] US_BOUNDING_BOX = new float[] {24.5f, -125.0f, 49.5f, -66.9f}; // {lamin, lomin, lamax, lomax}
+    @Autowired
+    private ReactiveRouteResolver reactiveRouteResolver;
+
+    @Autowired
+    private GeodesicEngine geodesicEngine;
+
+    @Autowired
+    @Qualifier("windsScheduler")
+    private Scheduler windsScheduler;
+
+    @Autowired
+    private TrafficService trafficService;
+
+    @Autowired
+    private TrafficAnalytics trafficAnalytics;
+
+    @Autowired
+    private FlightTracker flightTracker;
+
+    @Autowired
+    private TerrainClearanceChecker terrainClearanceChecker;
 
-    @Value("${opensky.client-id}")
-    private String clientId;
+    private WindsAloftService windsAloftService;
 
-    @Value("${opensky.client-secret}")
-    private String clientSecret;
+    private final Logger _logger = LoggerFactory.getLogger(NavigationServiceImpl.class);
 
-    private AccessToken openskyToken;
 
 
-    public NavigationServiceImpl(WindsAloftClient windsAloftClient) {
-        this.Windclient = windsAloftClient;
+    public NavigationServiceImpl(WindsAloftService windsAloftService) {
+        this.windsAloftService = windsAloftService;
     }
 
 
@@ -106,88 +118,97 @@ public class NavigationServiceImpl implements Navigation_svc {
 
 
 
-    private void configureAccessToken() {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-        MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
-        body.add("grant_type", "client_credentials");
-        body.add("client_id", clientId);
-        body.add("client_secret", clientSecret);
-
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
+    @Override
+    public StateVector[] getStateVectors(float lamin, float lomin, float lamax, float lomax) {
+        return trafficService.stateVectors(lamin, lomin, lamax, lomax);
+    }
 
-        ResponseEntity<Map> response = _restTemplate.postForEntity(ENDPOINT_OPENSKY_AUTH, request, Map.class);
 
-        // Access Token expires after 30 minutes. So reconfigure after 28 minutes.
-        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-            String accessToken = (String) response.getBody().get("access_token");
-            openskyToken = new AccessToken(accessToken, Instant.now().plusSeconds(1680));
-        } else {
-            _logger.error("configureAccessToken: Failed to obtain AccessToken.");
-        }
+    @Override
+    public StateVector[] getStateVectorsUS() {
+        return trafficService.feed();
     }
 
 
-    private StateVector[] parseRawVectors(String rawJson) {
-        try {
-            Map<String, Object> map = OBJ_MAPPER.readValue(rawJson, new TypeReference<>() {});
-            List<List<Object>> rawStates = (List<List<Object>>) map.get("states");
-
-            if (rawStates == null) return new StateVector[0];
-            return rawStates.stream().map(StateVector::fromList).toArray(StateVector[]::new);
 
-        } catch (JsonProcessingException e) {
-            _logger.error(">>>Error Processing Raw Vectors<<<", e);
-            return null;
-        }
+    @Override
+    public TrafficSummary getTrafficSummary() {
+        return trafficAnalytics.summary();
     }
 
-
     @Override
-    public StateVector[] getStateVectors(float lamin, float lomin, float lamax, float lomax) {
-        // Check Token
-        if (openskyToken == null || openskyToken.expired())
-            configureAccessToken();
-
-        // Build URI
-        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(ENDPOINT_OPENSKY+"/states/all");
-        uriBuilder.queryParam("lamin", lamin);
-        uriBuilder.queryParam("lomin", lomin);
-        uriBuilder.queryParam("lamax", lamax);
-        uriBuilder.queryParam("lomax", lomax);
+    public List<TrafficCell> getTrafficByCell() {
+        return trafficAnalytics.cells();
+    }
 
-        // Build request
-        HttpHeaders headers = new HttpHeaders();
-        headers.setBearerAuth(openskyToken.getToken());
-        HttpEntity<Void> request = new HttpEntity<>(headers);
+    @Override
+    public List<AirportTraffic> getBusiestAirports(int limit) {
+        return trafficAnalytics.busiestAirports(limit);
+    }
 
-        // Send Endpoint output
-        return parseRawVectors(_restTemplate.exchange(uriBuilder.toUriString(), HttpMethod.GET, request, String.class).getBody());
+    @Override
+    public FlightProjection trackFlight(String icao24, String route, String aircraft) {
+        String normalizedRoute = NavlogCache.normalizeRoute(route);
+        if (normalizedRoute.split(" ").length < 2) {
+            throw new BadRequestException("A route needs at least a departure and a destination");
+        }
+        AircraftPerformance performance = aircraftPerformanceDB.getPerformance(aircraft);
+        ResolvedRoute resolved = resolveRoute(normalizedRoute);
+        return flightTracker.track(icao24, normalizedRoute, performance, resolved.names(), resolved.latitude(),
+                resolved.longitude(), resolved.legs());
     }
 
+    @Override
+    public TerrainClearance checkTerrainClearance(String route, String cruiseALT) {
+        String normalizedRoute = NavlogCache.normalizeRoute(route);
+        if (normalizedRoute.split(" ").length < 2) {
+            throw new BadRequestException("A route needs at least a departure and a destination");
+        }
+        int cruiseAltitude = parseCruiseAltitude(cruiseALT);
+        ResolvedRoute resolved = resolveRoute(normalizedRoute);
+        return terrainClearanceChecker.check(normalizedRoute, resolved.names(), resolved.latitude(),
+                resolved.longitude(), resolved.legs(), cruiseAltitude);
+    }
 
     @Override
-    public StateVector[] getStateVectorsUS() {
-        return getStateVectors(US_BOUNDING_BOX[0], US_BOUNDING_BOX[1], US_BOUNDING_BOX[2], US_BOUNDING_BOX[3]);
+    public FlightProjection getFlightProjection(String icao24) {
+        FlightProjection projection = flightTracker.projection(icao24);
+        if (projection == null) {
+            throw new FlightNotTrackedException("Flight " + icao24 + " is not tracked");
+        }
+        return projection;
     }
 
+    @Override
+    public List<FlightProjection> getTrackedFlights() {
+        return flightTracker.projections();
+    }
 
+    @Override
+    public void untrackFlight(String icao24) {
+        if (!flightTracker.untrack(icao24)) {
+            throw new FlightNotTrackedException("Flight " + icao24 + " is not tracked");
+        }
+    }
 
     @Override
-    public String GetATISOFDestination(String X_coord, String Y_coord, String DestAirportCode) {
-        // TODO Auto-generated method stub
+    public String GetATISOFDestination(String DestAirportCode) {
+        AtisReport report = atisService.getReport(DestAirportCode);
+        if (report == null) {
+            throw new AirportNotFoundException("No weather report available for ICAO: " + DestAirportCode);
+        }
+        return report.getRawText();
+    }
 
-        // System.out.println(ComputeTrueCourse(0, DestAirportCode,
-        // 26.2473600,-80.1111272 ));
-        String response = "";
-        return response;
+    @Override
+    public List<AtisReport> getATIS(List<String> airportCodes) {
+        return new ArrayList<>(atisService.getReports(airportCodes).values());
     }
 
 
     @Override
     public Airport getAirportFromIDENT(String identCode) {
-    	Airport airport = airportRepository.findByIdent(identCode)
+    	Airport airport = referenceDataCache.airportByIdent(identCode)
     			.orElseThrow(() -> new AirportNotFoundException("Airport does not exist with IDENT: " + identCode));
     	
     	return airport;
@@ -195,114 +216,184 @@ public class NavigationServiceImpl implements Navigation_svc {
 
 	@Override
 	public Airport getAirportFromICAO(String icaoCode) {
-		Airport airport = airportRepository.findByIcao(icaoCode)
+		Airport airport = referenceDataCache.airportByIcao(icaoCode)
 						  .orElseThrow(() -> new AirportNotFoundException("Airport does not exist with ICAO: " + icaoCode));
 		
 		return airport;
 	}
     
+	@Override
+	public List<NearbyAirport> getNearestAirports(double lat, double lon, int count) {
+		return airportSpatialIndex.nearest(lat, lon, count);
+	}
+
+	@Override
+	public List<NearbyAirport> getAirportsWithinRadius(double lat, double lon, double radiusNm) {
+		return airportSpatialIndex.withinRadius(lat, lon, radiusNm);
+	}
+
+	@Override
+	public List<NearbyAirport> getAlternates(String icaoCode, int count, double radiusNm) {
+		return airportSpatialIndex.alternates(icaoCode, count, radiusNm);
+	}
+
+	@Override
+	public CachedEntity getCachedAirportFromIDENT(String identCode) {
+		return referenceDataCache.serialized(getAirportFromIDENT(identCode));
+	}
+
+	@Override
+	public CachedEntity getCachedAirportFromICAO(String icaoCode) {
+		return referenceDataCache.serialized(getAirportFromICAO(icaoCode));
+	}
+
+	@Override
+	public String importAiracCycle(String cycle) {
+		return airacImporter.importCycle(cycle).getVersion();
+	}
+
+	@Override
+	public List<Neo4jPoolMetrics> getNeo4jPoolMetrics() {
+		return neo4jPoolMonitor.poolMetrics();
+	}
+
+	@Override
+	public List<AdmissionMetrics> getAdmissionMetrics() {
+		return admissionControl.metrics();
+	}
+
+	@Override
+	public List<CircuitBreakerMetrics> getCircuitBreakers() {
+		return List.of(windsAloftService.metrics(), trafficService.metrics());
+	}
+
+	@Override
+	public List<WaypointSuggestion> searchWaypoints(String query, int limit, Double lat, Double lon) {
+		return waypointSearchIndex.search(query, limit, lat, lon);
+	}
+
 	@Override
 	public FIXX getFIXXFromId(String fixxId) {
-		FIXX fixx = fixxRepository.findByFixxId(fixxId)				
-					.orElseGet(() -> {
-						if (fixxId.charAt(0) == '(' && fixxId.charAt(fixxId.length() - 1) == ')') {
-							FIXX fixx1 = new FIXX();
-							fixx1.setFixxId(fixxId);
-		            		String[] formattedCoordinates = (fixxId.substring(1,fixxId.length() - 1)).split(",");
-		            		fixx1.setLatitude(Double.parseDouble(formattedCoordinates[0]));
-		            		fixx1.setLongitude(Double.parseDouble(formattedCoordinates[1]));
-		            		return fixx1;
-						}
-						else {
-							throw new FixxNotFoundException("FIXX not found with ID: " + fixxId);
-						}
-					});
-		
-		return fixx;
+		// Coordinate literals are never stored, parse them before any lookup
+		if (isCoordinate(fixxId)) {
+			LatLon point = parseCoordinate(fixxId);
+			FIXX fixx = new FIXX();
+			fixx.setFixxId(fixxId);
+			fixx.setLatitude(point.lat);
+			fixx.setLongitude(point.lon);
+			return fixx;
+		}
+
+		return referenceDataCache.fixById(fixxId)
+				.orElseThrow(() -> new FixxNotFoundException("FIXX not found with ID: " + fixxId));
 	}
     @Override
     public String computeNavlog(String route, String aircraft, String cruiseALT, String TAS) {
-        // TODO Auto-generated method stub
-    
         // KIMM (26.2241,-81.3186) (26.2233,-80.4911) (26.2407,-80.2758) KPMP test data
         // point
         // http://localhost:8080/api/v1/ComputeNavlog?route=KIMM%20(26.2241,-81.3186)%20(26.2233,-80.4911)%20(26.2407,-80.2758)%20KPMP&aircraft=PA-28-151&CruiseALT=4500&TAS=118
     
-        List<RouteNode> flightroute = prepareRouteObject(route);
-    
-        System.out.println(flightroute);
-    
-        double totalFuelBurn = 1.5;
-        double totalETE = 0;
-        double totalDistance = 0; 
-    
-        List<Double> runningTotalFuelBurn = new ArrayList<>();
-        List<String> runningTotalETE = new ArrayList<>();
-
-    WindAloft originWinds = getWindsAoft(flightroute.get(0).getNodeName(), Integer.parseInt(cruiseALT));
-    System.out.println("HAVE WINDS FOR" + originWinds );
+        int cruiseAltitude = parseCruiseAltitude(cruiseALT);
+        String normalizedRoute = NavlogCache.normalizeRoute(route);
+        NavlogCache.Key key = navlogCache.key(normalizedRoute, aircraft, cruiseAltitude, Integer.parseInt(TAS));
+        String cached = navlogCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
 
-    WindAloft destinationWinds = getWindsAoft(flightroute.get(flightroute.size() - 1).getNodeName(), Integer.parseInt(cruiseALT));
-    System.out.println("HAVE WINDS FOR" + destinationWinds );
+        AircraftPerformance performance = aircraftPerformanceDB.getPerformance(aircraft);
+        List<RouteNode> flightroute = prepareRouteObject(normalizedRoute);
+        _logger.debug("Computing navlog for {}", flightroute);
 
-    // Calculate the average wind data for use throughout the flight
+        WindAloft originWinds = getWindsAoft(flightroute.get(0).getNodeName(), cruiseAltitude);
+        WindAloft destinationWinds = getWindsAoft(flightroute.get(flightroute.size() - 1).getNodeName(), cruiseAltitude);
 
-    int avgDirection = (int) Math.round((originWinds.getDirection() + destinationWinds.getDirection()) / 2.0);
+        // Calculate the average wind data for use throughout the flight
+        WindAloft avgWinds = WindAloft.average(originWinds, destinationWinds);
+        _logger.debug("Using average winds of {}@{} from {} and {}", avgWinds.getDirection(), avgWinds.getSpeed(),
+                originWinds, destinationWinds);
 
-    int avgSpeed = (int) Math.round((originWinds.getSpeed() + destinationWinds.getSpeed()) / 2.0);
+        NavlogResult navlog = navlogEngine.compute(flightroute, performance, cruiseAltitude, Integer.parseInt(TAS),
+                avgWinds.getDirection(), avgWinds.getSpeed());
 
-    String avgwinds = avgDirection + "@" + avgSpeed;
+        String formatted = formatNavlog(navlog);
+        navlogCache.put(key, formatted, DataFreshness.current());
+        return formatted;
+    }
 
+    @Override
+    public Mono<List<RouteNode>> resolveRouteReactive(String route) {
+        return reactiveRouteResolver.resolve(route);
+    }
 
-    System.out.println("USING AVG WINDS OF " + avgwinds);
+    @Override
+    public Mono<String> computeNavlogReactive(String route, String aircraft, String cruiseALT, String TAS) {
+        int cruiseAltitude = parseCruiseAltitude(cruiseALT);
+        int tas = Integer.parseInt(TAS);
+        String normalizedRoute = NavlogCache.normalizeRoute(route);
+        NavlogCache.Key key = navlogCache.key(normalizedRoute, aircraft, cruiseAltitude, tas);
+        String cached = navlogCache.get(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
 
+        AircraftPerformance performance = aircraftPerformanceDB.getPerformance(aircraft);
+        DataFreshness freshness = DataFreshness.current();
+
+        return reactiveRouteResolver.resolve(normalizedRoute).flatMap(flightroute -> {
+            // The winds client blocks, so both lookups run side by side on the winds pool
+            Mono<WindAloft> originWinds = Mono.fromCallable(() -> DataFreshness.within(freshness,
+                            () -> getWindsAoft(flightroute.get(0).getNodeName(), cruiseAltitude)))
+                    .subscribeOn(windsScheduler);
+            Mono<WindAloft> destinationWinds = Mono.fromCallable(() -> DataFreshness.within(freshness,
+                            () -> getWindsAoft(flightroute.get(flightroute.size() - 1).getNodeName(), cruiseAltitude)))
+                    .subscribeOn(windsScheduler);
+
+            return Mono.zip(originWinds, destinationWinds).map(winds -> {
+                WindAloft avgWinds = WindAloft.average(winds.getT1(), winds.getT2());
+                String formatted = formatNavlog(navlogEngine.compute(flightroute, performance, cruiseAltitude, tas,
+                        avgWinds.getDirection(), avgWinds.getSpeed()));
+                navlogCache.put(key, formatted, freshness);
+                return formatted;
+            });
+        });
+    }
 
+    private String formatNavlog(NavlogResult navlog) {
+        List<String> runningTotalETE = new ArrayList<>();
+        List<Double> runningTotalFuelBurn = new ArrayList<>();
+        // The last leg ends at the destination, whose totals are already reported above
+        for (int i = 0; i < navlog.getCumulativeMinutes().length - 1; i++) {
+            runningTotalETE.add(formatTime(navlog.getCumulativeMinutes()[i] / 60));
+            runningTotalFuelBurn.add(navlog.getCumulativeFuel()[i]);
+        }
 
-    
-        for (int i = 0; i < flightroute.size(); i++) {
-            RouteNode curr = flightroute.get(i);
-    
-            String phaseOfFlight = (i == 0) ? "CLB" : (i == flightroute.size() - 1) ? "DES" : "CRZ";
-    
-            int course = (int) curr.getBearing();
-    
-            System.out.println();
-    
-            double groundspeed = Double.parseDouble(
-                    ComputeTrueCourseAndGroundsped(course, avgwinds, Integer.parseInt(TAS)).split("-")[1]);
-            int truecourse = Integer.parseInt(ComputeTrueCourseAndGroundsped(course, avgwinds, Integer.parseInt(TAS)).split("-")[0]);
-            System.out.println("CHANGING " + curr.getBearing() + " TO " + truecourse);
-            
-            curr.setBearing(truecourse);
-           
-            double dist = curr.getDistance();
-            double timeForLeg = computeTimeForLeg(groundspeed, dist);
-    
-            double legFuelBurn = computeFuelBurnForLeg(getAircraftFromDB(aircraft), dist, timeForLeg, phaseOfFlight);
-    
-            totalETE += timeForLeg;
-            totalFuelBurn += legFuelBurn;
-            totalDistance += dist;
-   
-    
-            System.out.println("TIME FOR LEG " + timeForLeg + " leg dist " + dist);
-            System.out.println("FUEL BURNED " + legFuelBurn);
+        String formattedETE = formatTime(navlog.getTotalMinutes() / 60);
+        _logger.debug("Navlog legs {}", navlog.getLegs());
 
-            runningTotalFuelBurn.add(totalFuelBurn);
-            runningTotalETE.add(formatTime(totalETE));
+        return "Distance " + truncate(navlog.getTotalDistance()) + "^Total ETE: " + formattedETE + "^Total Fuel Burn: " + truncate(navlog.getTotalFuel()) + "gallons^" + runningTotalETE + "^" + runningTotalFuelBurn +"^" + navlog.getLegs().toString();
+    }
 
-        }
-    
-        String formattedETE = formatTime(totalETE);
-    
-        System.out.println("FLIGHTROUTE OBJ " + flightroute.toString());
+    @Override
+    public List<AltitudeOption> optimizeCruiseAltitude(String route, String aircraft, int minALT, int maxALT, int step, Integer TAS, String rankBy) {
+        AircraftPerformance performance = aircraftPerformanceDB.getPerformance(aircraft);
+        List<RouteNode> flightroute = prepareRouteObject(route);
 
-        runningTotalETE.remove(runningTotalETE.size() -1);
-        runningTotalFuelBurn.remove(runningTotalFuelBurn.size() -1 );
+        // Winds are fetched on the winds pool, stale fallbacks still have to be reported on this request
+        DataFreshness freshness = DataFreshness.current();
+        return cruiseAltitudeOptimizer.optimize(flightroute, performance, minALT, maxALT, step, TAS, rankBy,
+                (icao, altitude) -> DataFreshness.within(freshness, () -> getWindsAoft(icao, altitude)));
+    }
 
+    @Override
+    public List<DepartureOption> sweepDepartureTimes(String route, String aircraft, String cruiseALT, String TAS, Instant start, Instant end, int stepMinutes) {
+        AircraftPerformance performance = aircraftPerformanceDB.getPerformance(aircraft);
+        List<RouteNode> flightroute = prepareRouteObject(route);
 
-    
-        return "Distance " + truncate(totalDistance) + "^Total ETE: " + formattedETE + "^Total Fuel Burn: " + truncate(totalFuelBurn) + "gallons^" + runningTotalETE + "^" + runningTotalFuelBurn +"^" + flightroute.toString();
+        DataFreshness freshness = DataFreshness.current();
+        return departureSweepPlanner.sweep(flightroute, performance, parseCruiseAltitude(cruiseALT), Integer.parseInt(TAS),
+                start, end, stepMinutes,
+                (icao, altitude, hours) -> DataFreshness.within(freshness, () -> getForecastWinds(icao, altitude, hours)));
     }
 
     private String formatTime(double totalHours) {
@@ -321,12 +412,20 @@ public class NavigationServiceImpl implements Navigation_svc {
      ******************************************************/
 
      public WindAloft getWindsAoft(String ICAO, int altitude) {
-        System.out.println("GETTING WINDS FOR " + ICAO + " ALTITUDE " + altitude);
-    
-        WindAloft wind = Windclient.getWindsAloftByIcao(ICAO, altitude);
+        _logger.debug("Getting winds for {} at {} ft", ICAO, altitude);
     
+        return calmIfMissing(windsAloftService.windsAloft(ICAO, altitude), ICAO);
+    }
+
+    public WindAloft getForecastWinds(String ICAO, int altitude, int forecastHours) {
+        _logger.debug("Getting {} hour forecast winds for {} at {} ft", forecastHours, ICAO, altitude);
+
+        return calmIfMissing(windsAloftService.forecastWinds(ICAO, altitude, forecastHours), ICAO);
+    }
+
+    private WindAloft calmIfMissing(WindAloft wind, String ICAO) {
         if (wind == null) {
-            System.out.println("Wind data is null. Returning default 000@0.");
+            _logger.debug("No winds for {}, using calm winds", ICAO);
             WindAloft defaultWind = new WindAloft();
             defaultWind.setDirection(0);
             defaultWind.setSpeed(0);
@@ -337,7 +436,7 @@ public class NavigationServiceImpl implements Navigation_svc {
     
         // Additional safety: treat variable wind (0 deg and 0 speed) as default too
         if (wind.getDirection() == 0 && wind.getSpeed() == 0) {
-            System.out.println("Variable or calm wind detected. Normalized to 000@0.");
+            _logger.debug("Calm or variable winds at {}", ICAO);
         }
     
         return wind;
@@ -347,51 +446,53 @@ public class NavigationServiceImpl implements Navigation_svc {
 
     
     public List<RouteNode> prepareRouteObject(String routeString) {
+        return resolveRoute(routeString).legs();
+    }
+
+    // Route points with their coordinates, in route order, and the legs between them
+    private record ResolvedRoute(String[] names, double[] latitude, double[] longitude, List<RouteNode> legs) {}
+
+    // Looks every route point up once, callers that need the coordinates as well as the legs reuse them
+    private ResolvedRoute resolveRoute(String routeString) {
         String[] points = routeString.split(" ");
-        ArrayList<RouteNode> flightRoute = new ArrayList<>();
-    
+        String[] names = new String[points.length];
+        double[] latitude = new double[points.length];
+        double[] longitude = new double[points.length];
+
         // Handle simple direct airport-to-airport route
         if (points.length == 2) {
-            Airport departureAirport = getAirportFromICAO(points[0]);
-            Airport arrivalAirport = getAirportFromICAO(points[1]);
-    
-            double bearing = computeBearing(
-                departureAirport.getLatitude(), departureAirport.getLongitude(),
-                arrivalAirport.getLatitude(), arrivalAirport.getLongitude()
-            );
-            double distance = computeDistance(
-                departureAirport.getLatitude(), departureAirport.getLongitude(),
-                arrivalAirport.getLatitude(), arrivalAirport.getLongitude()
-            );
-    
-            flightRoute.add(new RouteNode(departureAirport.getIcao(), bearing, distance));
-            flightRoute.add(new RouteNode(arrivalAirport.getIcao(), 0.0, 0.0));
-            return flightRoute;
+            for (int i = 0; i < 2; i++) {
+                Airport airport = getAirportFromICAO(points[i]);
+                names[i] = airport.getIcao();
+                latitude[i] = airport.getLatitude();
+                longitude[i] = airport.getLongitude();
+            }
+        } else {
+            for (int i = 0; i < points.length; i++) {
+                LatLon point = getLatLon(points[i]);
+                names[i] = getIdentifier(points[i]);
+                latitude[i] = point.lat;
+                longitude[i] = point.lon;
+            }
         }
-    
+
+        // Memoized per pair of points, so legs shared between routes are only computed once
+        ArrayList<RouteNode> flightRoute = new ArrayList<>(points.length);
         for (int i = 0; i < points.length - 1; i++) {
-            LatLon from = getLatLon(points[i]);
-            LatLon to = getLatLon(points[i + 1]);
-    
-            double bearing = computeBearing(from.lat, from.lon, to.lat, to.lon);
-            double distance = computeDistance(from.lat, from.lon, to.lat, to.lon);
-    
-            String fromId = getIdentifier(points[i]);
-            flightRoute.add(new RouteNode(fromId, bearing, distance));
+            GeodesicEngine.Leg leg = geodesicEngine.computeLeg(names[i], latitude[i], longitude[i],
+                    names[i + 1], latitude[i + 1], longitude[i + 1]);
+            flightRoute.add(new RouteNode(names[i], leg.bearing(), leg.distance()));
         }
-    
+
         // Add the final point with 0.0 values
-        String finalId = getIdentifier(points[points.length - 1]);
-        flightRoute.add(new RouteNode(finalId, 0.0, 0.0));
-    
-        return flightRoute;
+        flightRoute.add(new RouteNode(names[points.length - 1], 0.0, 0.0));
+        return new ResolvedRoute(names, latitude, longitude, flightRoute);
     }
-    
 
- 
 
-        // Represents a parsed lat/lon coordinate
-    private static class LatLon {
+
+    // Represents a parsed lat/lon coordinate
+    static class LatLon {
         public double lat;
         public double lon;
         public LatLon(double lat, double lon) {
@@ -400,10 +501,45 @@ public class NavigationServiceImpl implements Navigation_svc {
         }
     }
 
+    // Cruise altitude in feet; anything that is not a positive whole number is a bad request
+    static int parseCruiseAltitude(String cruiseALT) {
+        int cruiseAltitude;
+        try {
+            cruiseAltitude = Integer.parseInt(cruiseALT.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cruise altitude: " + cruiseALT);
+        }
+        if (cruiseAltitude <= 0) {
+            throw new BadRequestException("Cruise altitude must be greater than 0: " + cruiseALT);
+        }
+        return cruiseAltitude;
+    }
+
+    static boolean isCoordinate(String point) {
+        return point.length() > 2 && point.charAt(0) == '(' && point.charAt(point.length() - 1) == ')';
+    }
+
+    // Parses a "(lat,lon)" route literal; anything malformed or off the globe is a bad request
+    static LatLon parseCoordinate(String point) {
+        String[] coord = point.substring(1, point.length() - 1).split(",");
+        double lat;
+        double lon;
+        try {
+            if (coord.length != 2) throw new NumberFormatException();
+            lat = Double.parseDouble(coord[0].trim());
+            lon = Double.parseDouble(coord[1].trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid coordinate waypoint: " + point);
+        }
+        if (!(Math.abs(lat) <= 90) || !(Math.abs(lon) <= 180)) {
+            throw new BadRequestException("Coordinate waypoint out of range: " + point);
+        }
+        return new LatLon(lat, lon);
+    }
+
     private LatLon getLatLon(String point) {
-        if (point.matches("\\(.*?,.*?\\)")) {
-            String[] coord = point.replace("(", "").replace(")", "").split(",");
-            return new LatLon(Double.parseDouble(coord[0]), Double.parseDouble(coord[1]));
+        if (isCoordinate(point)) {
+            return parseCoordinate(point);
         } else if (isICAO(point)) {
             Airport airport = getAirportFromICAO(point);
             return new LatLon(airport.getLatitude(), airport.getLongitude());
@@ -428,98 +564,4 @@ public class NavigationServiceImpl implements Navigation_svc {
     }
 
 
-    private double computeBearing(double lat1, double lon1, double lat2, double lon2) {
-        double dLon = Math.toRadians(lon2 - lon1);
-        double y = Math.sin(dLon) * Math.cos(Math.toRadians(lat2));
-        double x = Math.cos(Math.toRadians(lat1)) * Math.sin(Math.toRadians(lat2)) -
-                Math.sin(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.cos(dLon);
-        return (Math.toDegrees(Math.atan2(y, x)) + 360) % 360;
-    }
-
-    private double computeDistance(double lat1, double lon1, double lat2, double lon2) {
-        final int R = 3440; // Radius of the Earth in nautical miles
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c; // Distance in nautical miles
-    }
-
-    public String ComputeTrueCourseAndGroundsped(int plottedCourse, String WindsAloftAtCruise, int TAS) {
-        int windHeading = Integer.parseInt(WindsAloftAtCruise.split("@")[0]);
-        int windspeed = Integer.parseInt(WindsAloftAtCruise.split("@")[1]);
-    
-        double groundSpeed = computeGroundSpeed(TAS, windspeed, plottedCourse, windHeading);
-    
-        double angleDiff = ((windHeading - plottedCourse + 540) % 360) - 180;
-        double angleDiffRad = Math.toRadians(angleDiff);
-    
-        double sinWCA = (windspeed * Math.sin(angleDiffRad)) / TAS;
-        sinWCA = Math.max(-1.0, Math.min(1.0, sinWCA));  // clamp to avoid asin domain errors
-    
-        double WCA = Math.toDegrees(Math.asin(sinWCA));
-        int truecourse = (int) ((plottedCourse + WCA + 360) % 360);
-    
-        // === Compass deviation adjustment ===
-        Map<Integer, Integer> deviationTable = compassDeviationTable;
-    
-        // Round to the nearest key (typically in 30° increments)
-        int rounded = ((truecourse + 15) / 30) * 30 % 360;
-    
-        // Apply deviation adjustment
-        int deviation = deviationTable.getOrDefault(rounded, 0);
-        int adjustedTrueCourse = (truecourse + deviation + 360) % 360;
-    
-        return adjustedTrueCourse + "-" + Math.round(groundSpeed);
-    }
-    
-    
-
- 
-
-    public static double computeGroundSpeed(double airspeed, double windSpeed, double course, double windDirection) {
-        // Convert course and wind direction from degrees to radians
-        double courseInRadians = Math.toRadians(course);
-        double windDirectionInRadians = Math.toRadians(windDirection);
-        double angle = windDirectionInRadians - courseInRadians;
-        double windComponent = windSpeed * Math.cos(angle);
-        double groundSpeed = airspeed - windComponent; // Subtracting because windComponent is positive for headwind
-
-        return groundSpeed;
-    }
-
-    private double computeFuelBurnForLeg(Aircraft aircraft, double distance, double time, String legType) {
-
-        double fuelBurn = 0.0;
-        double galsPerMin = aircraft.getCRZfuelBurn() / 60;
-
-        switch (legType.toUpperCase()) {
-            case "CLB":
-                fuelBurn = (aircraft.getCLBFuelBurn() / 60) * time;
-                break;
-            case "CRZ":
-                fuelBurn = (aircraft.getCRZfuelBurn() / 60) * time;
-                break;
-            case "DES":
-                fuelBurn = (aircraft.getDescFuelbURN() / 60) * time;
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid leg type: " + legType);
-        }
-
-        return fuelBurn;
-    }
-
-    private double computeTimeForLeg(double groundspeed, double distance) {
-
-        double nautical_miles_per_min = groundspeed / 60;
-        return distance / nautical_miles_per_min;
-    }
-
-    public static Aircraft getAircraftFromDB(String ac) {
-        return AircraftDB.getAircraftFromDB(ac);
-    }
-
 }
@@ -1,22 +1,63 @@
 package com.flightIQ.Navigation.Service;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import com.flightIQ.Navigation.DTO.AdmissionMetrics;
+import com.flightIQ.Navigation.DTO.AirportTraffic;
+import com.flightIQ.Navigation.DTO.AltitudeOption;
+import com.flightIQ.Navigation.DTO.AtisReport;
+import com.flightIQ.Navigation.DTO.CachedEntity;
+import com.flightIQ.Navigation.DTO.CircuitBreakerMetrics;
+import com.flightIQ.Navigation.DTO.DepartureOption;
+import com.flightIQ.Navigation.DTO.FlightProjection;
+import com.flightIQ.Navigation.DTO.NearbyAirport;
+import com.flightIQ.Navigation.DTO.Neo4jPoolMetrics;
 import com.flightIQ.Navigation.DTO.RouteNode;
 import com.flightIQ.Navigation.DTO.StateVector;
+import com.flightIQ.Navigation.DTO.TerrainClearance;
+import com.flightIQ.Navigation.DTO.TrafficCell;
+import com.flightIQ.Navigation.DTO.TrafficSummary;
+import com.flightIQ.Navigation.DTO.WaypointSuggestion;
 import com.flightIQ.Navigation.Models.Airport;
 import com.flightIQ.Navigation.Models.FIXX;
 
+import reactor.core.publisher.Mono;
+
 public interface Navigation_svc {
-	String GetATISOFDestination(String X_coord, String Y_coord, String DestAirportCode);
+	String GetATISOFDestination(String DestAirportCode);
+	List<AtisReport> getATIS(List<String> airportCodes);
 	Airport getAirportFromIDENT(String ident);
 	Airport getAirportFromICAO(String icaoCode);
+	CachedEntity getCachedAirportFromIDENT(String ident);
+	CachedEntity getCachedAirportFromICAO(String icaoCode);
 	FIXX getFIXXFromId(String fixxId);
+	List<NearbyAirport> getNearestAirports(double lat, double lon, int count);
+	List<NearbyAirport> getAirportsWithinRadius(double lat, double lon, double radiusNm);
+	List<NearbyAirport> getAlternates(String icaoCode, int count, double radiusNm);
+	List<WaypointSuggestion> searchWaypoints(String query, int limit, Double lat, Double lon);
 	String computeNavlog(String route, String aircraft, String cruiseALT, String TAS);
+	Mono<List<RouteNode>> resolveRouteReactive(String route);
+	Mono<String> computeNavlogReactive(String route, String aircraft, String cruiseALT, String TAS);
+	List<AltitudeOption> optimizeCruiseAltitude(String route, String aircraft, int minALT, int maxALT, int step, Integer TAS, String rankBy);
+	List<DepartureOption> sweepDepartureTimes(String route, String aircraft, String cruiseALT, String TAS, Instant start, Instant end, int stepMinutes);
+	TerrainClearance checkTerrainClearance(String route, String cruiseALT);
+
+	String importAiracCycle(String cycle);
+	List<Neo4jPoolMetrics> getNeo4jPoolMetrics();
+	List<AdmissionMetrics> getAdmissionMetrics();
+	List<CircuitBreakerMetrics> getCircuitBreakers();
 
 	StateVector[] getStateVectors(float lamin, float lomin, float lamax, float lomax);
+	TrafficSummary getTrafficSummary();
+	List<TrafficCell> getTrafficByCell();
+	List<AirportTraffic> getBusiestAirports(int limit);
 	StateVector[] getStateVectorsUS();
+	FlightProjection trackFlight(String icao24, String route, String aircraft);
+	FlightProjection getFlightProjection(String icao24);
+	List<FlightProjection> getTrackedFlights();
+	void untrackFlight(String icao24);
 }
 
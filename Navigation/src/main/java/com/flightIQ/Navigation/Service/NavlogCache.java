@@ -0,0 +1,85 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.NavSnapshot;
+
+/**
+ * Bounded LRU cache of formatted navlogs.
+ *
+ * A navlog depends on the route, aircraft, cruise altitude and TAS, plus the
+ * nav database and the winds it was computed with, so both versions are part
+ * of the key. When either moves on the whole cache is dropped, since no old
+ * entry can be hit again. Navlogs built from stale fallback winds are never
+ * cached.
+ */
+@Component
+public class NavlogCache implements NavSnapshotListener {
+
+    private final WindsAloftService windsAloftService;
+    private final Map<Key, String> navlogs;
+
+    private volatile String navVersion = "empty";
+    private String windsVersion = "";   // guarded by navlogs
+
+    record Key(String route, String aircraft, int cruiseAltitude, int tas, String navVersion, String windsVersion) {}
+
+    @Autowired
+    public NavlogCache(WindsAloftService windsAloftService,
+                       @Value("${nav.navlog-cache.max-entries:5000}") int maxEntries) {
+        this.windsAloftService = windsAloftService;
+        this.navlogs = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public void onSnapshot(NavSnapshot snapshot) {
+        synchronized (navlogs) {
+            navVersion = snapshot.getVersion();
+            navlogs.clear();
+        }
+    }
+
+    /** Route with single spaces between upper case waypoints, the form navlogs are computed and cached under. */
+    public static String normalizeRoute(String route) {
+        return String.join(" ", route.trim().toUpperCase(Locale.ROOT).split("\\s+"));
+    }
+
+    public Key key(String normalizedRoute, String aircraft, int cruiseAltitude, int tas) {
+        return new Key(normalizedRoute, aircraft.trim().toUpperCase(Locale.ROOT), cruiseAltitude, tas,
+                navVersion, windsAloftService.snapshotVersion());
+    }
+
+    /** Cached navlog, or null. */
+    public String get(Key key) {
+        synchronized (navlogs) {
+            if (!key.windsVersion().equals(windsVersion)) {
+                windsVersion = key.windsVersion();
+                navlogs.clear();
+                return null;
+            }
+            return navlogs.get(key);
+        }
+    }
+
+    /** Caches a navlog computed for {@code key}, unless its request used stale data or the versions moved on meanwhile. */
+    public void put(Key key, String navlog, DataFreshness freshness) {
+        if (freshness != null && freshness.hasStaleData()) return;
+        synchronized (navlogs) {
+            if (key.navVersion().equals(navVersion) && key.windsVersion().equals(windsVersion)
+                    && key.windsVersion().equals(windsAloftService.snapshotVersion())) {
+                navlogs.put(key, navlog);
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.AircraftPerformance;
+import com.flightIQ.Navigation.DTO.NavlogResult;
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+
+/**
+ * Computes navlog legs, times and fuel for a resolved route.
+ *
+ * The route is split at the top of climb and top of descent, which are derived
+ * from the aircraft climb/descent profiles and the cruise altitude, and a
+ * synthetic TOC/TOD node is inserted where a split falls inside a leg. Every
+ * performance value is looked up once per call, so the walk over the route is
+ * a single O(legs) pass. The input route is never modified, which lets callers
+ * evaluate the same route many times concurrently.
+ */
+@Component
+public class NavlogEngine {
+
+    public static final String CLIMB = "CLB";
+    public static final String CRUISE = "CRZ";
+    public static final String DESCENT = "DES";
+
+    public static final double TAXI_FUEL = 1.5; // gallons
+
+    // Splits closer than this to a waypoint are snapped to it instead of adding a node
+    private static final double SNAP_DISTANCE_NM = 0.05;
+
+    // Compass deviation card, one entry per 30 degrees starting at 000
+    private static final int[] COMPASS_DEVIATION = {0, 1, 4, 6, 4, 3, 2, 0, 0, 0, 0, -1};
+
+    /**
+     * @param route          legs as produced by prepareRouteObject, last node has no leg
+     * @param cruiseAltitude feet MSL; departure and destination are assumed at sea level
+     * @param tas            cruise true airspeed in knots
+     */
+    public NavlogResult compute(List<RouteNode> route, AircraftPerformance performance,
+                                int cruiseAltitude, double tas, int windDirection, int windSpeed) {
+        if (cruiseAltitude <= 0) {
+            throw new BadRequestException("Cruise altitude must be positive");
+        }
+        if (!(tas > 0)) {
+            throw new BadRequestException("True airspeed must be positive");
+        }
+        int nodes = route.size();
+        double totalDistance = 0;
+        for (RouteNode node : route) {
+            totalDistance += node.getDistance();
+        }
+
+        // Performance for the climb and descent is taken at the middle of the altitude band
+        double midAltitude = cruiseAltitude / 2.0;
+        double climbTas = performance.climbTas(midAltitude);
+        double climbFuelFlow = performance.climbFuelFlow(midAltitude);
+        double cruiseFuelFlow = performance.cruiseFuelFlow(cruiseAltitude, performance.getReferenceWeight());
+        double descentTas = performance.descentTas(midAltitude);
+        double descentFuelFlow = performance.descentFuelFlow(midAltitude);
+        double climbRate = performance.climbRate(midAltitude);
+        double descentRate = performance.descentRate(midAltitude);
+        // A zero rate would put the top of climb or descent at infinity
+        if (!(climbRate > 0) || !(descentRate > 0)) {
+            throw new BadRequestException("Aircraft " + performance.getTypeId() + " has no climb or descent rate up to "
+                    + cruiseAltitude + " ft");
+        }
+
+        double climbCourse = nodes > 1 ? route.get(0).getBearing() : 0;
+        double descentCourse = nodes > 1 ? route.get(nodes - 2).getBearing() : 0;
+
+        double climbMinutes = cruiseAltitude / climbRate;
+        double climbDistance = groundSpeed(climbTas, windSpeed, climbCourse, windDirection) * climbMinutes / 60;
+        double descentMinutes = cruiseAltitude / descentRate;
+        double descentDistance = groundSpeed(descentTas, windSpeed, descentCourse, windDirection) * descentMinutes / 60;
+
+        double topOfClimb = climbDistance;
+        double topOfDescent = totalDistance - descentDistance;
+        if (climbDistance + descentDistance > totalDistance) {
+            // Route too short to reach cruise altitude, climb and descent meet in proportion
+            topOfClimb = totalDistance * climbDistance / (climbDistance + descentDistance);
+            topOfDescent = topOfClimb;
+        }
+
+        double[] splits = topOfClimb < topOfDescent ? new double[] {topOfClimb, topOfDescent} : new double[] {topOfClimb};
+        String[] splitNames = topOfClimb < topOfDescent ? new String[] {"TOC", "TOD"} : new String[] {"TOC/TOD"};
+
+        List<RouteNode> legs = new ArrayList<>(nodes + splits.length);
+        double[] cumulativeMinutes = new double[Math.max(0, nodes - 1) + splits.length];
+        double[] cumulativeFuel = new double[cumulativeMinutes.length];
+        int segments = 0;
+
+        double minutes = 0;
+        double fuel = TAXI_FUEL;
+        double along = 0;
+        int nextSplit = 0;
+
+        for (int i = 0; i < nodes - 1; i++) {
+            RouteNode node = route.get(i);
+            double legEnd = along + node.getDistance();
+            double segmentStart = along;
+            String name = node.getNodeName();
+
+            while (true) {
+                double segmentEnd = legEnd;
+                String nextName = null;
+                if (nextSplit < splits.length && splits[nextSplit] < legEnd - SNAP_DISTANCE_NM) {
+                    if (splits[nextSplit] > segmentStart + SNAP_DISTANCE_NM) {
+                        segmentEnd = splits[nextSplit];
+                        nextName = splitNames[nextSplit];
+                    }
+                    nextSplit++;
+                    if (nextName == null) continue;
+                }
+
+                double distance = segmentEnd - segmentStart;
+                double middle = (segmentStart + segmentEnd) / 2;
+                String phase = middle < topOfClimb ? CLIMB : middle > topOfDescent ? DESCENT : CRUISE;
+                double phaseTas = CLIMB.equals(phase) ? climbTas : DESCENT.equals(phase) ? descentTas : tas;
+                double fuelFlow = CLIMB.equals(phase) ? climbFuelFlow : DESCENT.equals(phase) ? descentFuelFlow : cruiseFuelFlow;
+
+                int course = (int) node.getBearing();
+                double groundSpeed = groundSpeed(phaseTas, windSpeed, course, windDirection);
+                if (groundSpeed <= 0) {
+                    throw new BadRequestException("Winds aloft exceed the airspeed on leg from " + name);
+                }
+                double legMinutes = distance / (groundSpeed / 60);
+
+                minutes += legMinutes;
+                fuel += (fuelFlow / 60) * legMinutes;
+                cumulativeMinutes[segments] = minutes;
+                cumulativeFuel[segments] = fuel;
+                segments++;
+
+                legs.add(new RouteNode(name, correctedHeading(course, windDirection, windSpeed, phaseTas), distance, phase));
+
+                if (nextName == null) break;
+                name = nextName;
+                segmentStart = segmentEnd;
+            }
+            along = legEnd;
+        }
+
+        if (nodes > 0) {
+            legs.add(new RouteNode(route.get(nodes - 1).getNodeName(), 0.0, 0.0, DESCENT));
+        }
+
+        return new NavlogResult(legs, totalDistance, minutes, fuel,
+                Arrays.copyOf(cumulativeMinutes, segments), Arrays.copyOf(cumulativeFuel, segments),
+                topOfClimb, topOfDescent);
+    }
+
+    public static double groundSpeed(double airspeed, double windSpeed, double course, double windDirection) {
+        double angle = Math.toRadians(windDirection) - Math.toRadians(course);
+        double windComponent = windSpeed * Math.cos(angle);
+        return airspeed - windComponent; // Subtracting because windComponent is positive for headwind
+    }
+
+    /** Wind-corrected heading including the compass deviation card. */
+    public static int correctedHeading(int plottedCourse, int windHeading, int windSpeed, double tas) {
+        double angleDiff = ((windHeading - plottedCourse + 540) % 360) - 180;
+        double angleDiffRad = Math.toRadians(angleDiff);
+
+        double sinWCA = (windSpeed * Math.sin(angleDiffRad)) / tas;
+        sinWCA = Math.max(-1.0, Math.min(1.0, sinWCA));  // clamp to avoid asin domain errors
+
+        double WCA = Math.toDegrees(Math.asin(sinWCA));
+        int truecourse = (int) ((plottedCourse + WCA + 360) % 360);
+
+        // Round to the nearest 30 degree entry of the deviation card
+        int rounded = ((truecourse + 15) / 30) * 30 % 360;
+        int deviation = COMPASS_DEVIATION[rounded / 30];
+        return (truecourse + deviation + 360) % 360;
+    }
+}
@@ -0,0 +1,45 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.List;
+
+import org.neo4j.driver.ConnectionPoolMetrics;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Metrics;
+import org.neo4j.driver.exceptions.ClientException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.flightIQ.Navigation.DTO.Neo4jPoolMetrics;
+
+/** Reads the driver's per-server connection pool counters. Needs spring.neo4j.pool.metrics-enabled=true. */
+@Service
+public class Neo4jPoolMonitor {
+
+    private final Driver driver;
+    private final int maxPoolSize;
+
+    @Autowired
+    public Neo4jPoolMonitor(Driver driver, @Value("${spring.neo4j.pool.max-connection-pool-size:100}") int maxPoolSize) {
+        this.driver = driver;
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public List<Neo4jPoolMetrics> poolMetrics() {
+        Metrics metrics;
+        try {
+            metrics = driver.metrics();
+        } catch (ClientException ex) {
+            throw new IllegalStateException("Neo4j driver metrics are disabled, set spring.neo4j.pool.metrics-enabled=true", ex);
+        }
+        return metrics.connectionPoolMetrics().stream().map(this::toMetrics).toList();
+    }
+
+    private Neo4jPoolMetrics toMetrics(ConnectionPoolMetrics pool) {
+        double meanAcquisition = pool.acquired() == 0 ? 0 : pool.totalAcquisitionTime() / (double) pool.acquired();
+        return new Neo4jPoolMetrics(pool.id(), pool.inUse(), pool.idle(), maxPoolSize,
+                maxPoolSize == 0 ? 0 : pool.inUse() / (double) maxPoolSize,
+                pool.acquiring(), pool.acquired(), pool.timedOutToAcquire(), meanAcquisition,
+                pool.created(), pool.failedToCreate(), pool.closed());
+    }
+}
@@ -0,0 +1,119 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.Exceptions.AirportNotFoundException;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+import com.flightIQ.Navigation.Exceptions.FixxNotFoundException;
+import com.flightIQ.Navigation.Models.Airport;
+import com.flightIQ.Navigation.Models.FIXX;
+import com.flightIQ.Navigation.Repository.reactive.ReactiveAirportRepository;
+import com.flightIQ.Navigation.Repository.reactive.ReactiveFIXXRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of prepareRouteObject.
+ *
+ * Every waypoint of the route is looked up at once and the results are
+ * merged back in route order, so resolving a route costs about one
+ * database round trip however long it is, and no thread waits on it.
+ * Waypoints in the nav snapshot are answered from memory without a query.
+ */
+@Service
+public class ReactiveRouteResolver {
+
+    private static final int MAX_CONCURRENT_LOOKUPS = 32;
+
+    private final ReactiveAirportRepository airportRepository;
+    private final ReactiveFIXXRepository fixxRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final GeodesicEngine geodesicEngine;
+
+    private record Waypoint(String name, double lat, double lon) {}
+
+    @Autowired
+    public ReactiveRouteResolver(ReactiveAirportRepository airportRepository, ReactiveFIXXRepository fixxRepository,
+                                 ReferenceDataCache referenceDataCache, GeodesicEngine geodesicEngine) {
+        this.airportRepository = airportRepository;
+        this.fixxRepository = fixxRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.geodesicEngine = geodesicEngine;
+    }
+
+    public Mono<List<RouteNode>> resolve(String routeString) {
+        String[] points = routeString.trim().split("\\s+");
+        if (points.length < 2) {
+            return Mono.error(new BadRequestException("A route needs at least two waypoints"));
+        }
+        // A two-point route is airport to airport, like prepareRouteObject
+        boolean direct = points.length == 2;
+
+        return Flux.fromArray(points)
+                .flatMapSequential(point -> direct ? airport(point) : waypoint(point), MAX_CONCURRENT_LOOKUPS)
+                .collectList()
+                .map(this::toRoute);
+    }
+
+    private List<RouteNode> toRoute(List<Waypoint> waypoints) {
+        List<RouteNode> route = new ArrayList<>(waypoints.size());
+        for (int i = 0; i < waypoints.size() - 1; i++) {
+            Waypoint from = waypoints.get(i);
+            Waypoint to = waypoints.get(i + 1);
+            GeodesicEngine.Leg leg = geodesicEngine.computeLeg(from.name(), from.lat(), from.lon(), to.name(), to.lat(), to.lon());
+            route.add(new RouteNode(from.name(), leg.bearing(), leg.distance()));
+        }
+        route.add(new RouteNode(waypoints.get(waypoints.size() - 1).name(), 0.0, 0.0));
+        return route;
+    }
+
+    private Mono<Waypoint> waypoint(String point) {
+        if (NavigationServiceImpl.isCoordinate(point)) {
+            return Mono.fromCallable(() -> coordinate(point));
+        }
+        if (point.length() == 4 && point.matches("[A-Z]{4}")) {
+            return airport(point);
+        }
+        return fix(point);
+    }
+
+    private Mono<Waypoint> airport(String icao) {
+        Optional<Airport> cached = referenceDataCache.cachedAirportByIcao(icao);
+        if (cached.isPresent()) {
+            return Mono.just(new Waypoint(cached.get().getIcao(), cached.get().getLatitude(), cached.get().getLongitude()));
+        }
+        Mono<Waypoint> notFound = Mono.error(() -> new AirportNotFoundException("Airport does not exist with ICAO: " + icao));
+        if (referenceDataCache.isComplete()) {
+            return notFound;
+        }
+        return airportRepository.findByIcao(icao)
+                .map(airport -> new Waypoint(airport.getIcao(), airport.getLatitude(), airport.getLongitude()))
+                .switchIfEmpty(notFound);
+    }
+
+    private Mono<Waypoint> fix(String fixxId) {
+        Optional<FIXX> cached = referenceDataCache.cachedFix(fixxId);
+        if (cached.isPresent()) {
+            return Mono.just(new Waypoint(fixxId, cached.get().getLatitude(), cached.get().getLongitude()));
+        }
+        Mono<Waypoint> notFound = Mono.error(() -> new FixxNotFoundException("FIXX not found with ID: " + fixxId));
+        if (referenceDataCache.isComplete()) {
+            return notFound;
+        }
+        return fixxRepository.findByFixxId(fixxId)
+                .map(fix -> new Waypoint(fixxId, fix.getLatitude(), fix.getLongitude()))
+                .switchIfEmpty(notFound);
+    }
+
+    private static Waypoint coordinate(String point) {
+        NavigationServiceImpl.LatLon coordinate = NavigationServiceImpl.parseCoordinate(point);
+        return new Waypoint(point, coordinate.lat, coordinate.lon);
+    }
+}
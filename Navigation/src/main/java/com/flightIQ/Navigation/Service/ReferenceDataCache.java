@@ -0,0 +1,169 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightIQ.Navigation.DTO.CachedEntity;
+import com.flightIQ.Navigation.DTO.NavSnapshot;
+import com.flightIQ.Navigation.Models.Airport;
+import com.flightIQ.Navigation.Models.FIXX;
+import com.flightIQ.Navigation.Repository.AirportRepository;
+import com.flightIQ.Navigation.Repository.FIXXRepository;
+
+/**
+ * Airports and fixes of the current nav snapshot keyed by identifier, plus
+ * their JSON form, serialized once per snapshot.
+ *
+ * Everything is tied to the snapshot version: ETags are derived from it and
+ * a new snapshot replaces all entries at once. Once a snapshot is installed
+ * it holds every known identifier, so a miss is answered from memory and
+ * unknown or mistyped identifiers never reach Neo4j. Only before the first
+ * snapshot are lookups sent to Neo4j, and misses are then remembered for a
+ * short time so repeated garbage input costs one query per TTL.
+ */
+@Component
+public class ReferenceDataCache implements NavSnapshotListener {
+
+    private final AirportRepository airportRepository;
+    private final FIXXRepository fixxRepository;
+    private final ObjectMapper objectMapper;
+    private final long negativeTtlMillis;
+
+    private volatile Entries entries = new Entries("empty", false);
+
+    private static final int MAX_NEGATIVE_ENTRIES = 10_000;
+    private final Map<String, Long> negative = new ConcurrentHashMap<>();
+
+    private static final class Entries {
+        final String version;
+        final boolean complete;     // holds every identifier of the nav database
+        final Map<String, Airport> byIcao = new ConcurrentHashMap<>();
+        final Map<String, Airport> byIdent = new ConcurrentHashMap<>();
+        final Map<String, FIXX> fixes = new ConcurrentHashMap<>();
+        final Map<String, CachedEntity> serialized = new ConcurrentHashMap<>();
+
+        Entries(String version, boolean complete) {
+            this.version = version;
+            this.complete = complete;
+        }
+    }
+
+    @Autowired
+    public ReferenceDataCache(AirportRepository airportRepository, FIXXRepository fixxRepository, ObjectMapper objectMapper,
+                              @Value("${nav.lookup.negative-ttl-seconds:60}") long negativeTtlSeconds) {
+        this.airportRepository = airportRepository;
+        this.fixxRepository = fixxRepository;
+        this.objectMapper = objectMapper;
+        this.negativeTtlMillis = TimeUnit.SECONDS.toMillis(negativeTtlSeconds);
+    }
+
+    @Override
+    public void onSnapshot(NavSnapshot snapshot) {
+        Entries next = new Entries(snapshot.getVersion(), true);
+        for (Airport airport : snapshot.getAirports()) {
+            if (airport.getIcao() != null) next.byIcao.put(key(airport.getIcao()), airport);
+            if (airport.getIdent() != null) next.byIdent.put(key(airport.getIdent()), airport);
+        }
+        for (FIXX fix : snapshot.getFixes()) {
+            if (fix.getFixxId() != null) next.fixes.put(key(fix.getFixxId()), fix);
+        }
+        entries = next;
+        negative.clear();
+    }
+
+    public String version() {
+        return entries.version;
+    }
+
+    public Optional<Airport> airportByIcao(String icao) {
+        Entries current = entries;
+        return lookup(current, current.byIcao, "ICAO:", icao, airportRepository::findByIcao);
+    }
+
+    public Optional<Airport> airportByIdent(String ident) {
+        Entries current = entries;
+        return lookup(current, current.byIdent, "IDENT:", ident, airportRepository::findByIdent);
+    }
+
+    public Optional<FIXX> fixById(String fixxId) {
+        Entries current = entries;
+        return lookup(current, current.fixes, "FIXX:", fixxId, fixxRepository::findByFixxId);
+    }
+
+    private <T> Optional<T> lookup(Entries current, Map<String, T> cached, String kind, String identifier,
+                                   Function<String, Optional<T>> repository) {
+        String key = key(identifier);
+        T value = cached.get(key);
+        if (value != null || current.complete) {
+            return Optional.ofNullable(value);
+        }
+
+        long now = System.currentTimeMillis();
+        Long expiresAt = negative.get(kind + key);
+        if (expiresAt != null && expiresAt > now) {
+            return Optional.empty();
+        }
+
+        Optional<T> found = repository.apply(identifier);
+        if (found.isPresent()) {
+            cached.putIfAbsent(key, found.get());
+        } else {
+            rememberMiss(kind + key, now);
+        }
+        return found;
+    }
+
+    private void rememberMiss(String key, long now) {
+        if (negative.size() >= MAX_NEGATIVE_ENTRIES) {
+            negative.values().removeIf(expiresAt -> expiresAt <= now);
+            // Still full of live entries: a flood of distinct garbage, start over rather than grow
+            if (negative.size() >= MAX_NEGATIVE_ENTRIES) negative.clear();
+        }
+        negative.put(key, now + negativeTtlMillis);
+    }
+
+    /** Airport from the snapshot only, never querying Neo4j. */
+    public Optional<Airport> cachedAirportByIcao(String icao) {
+        return Optional.ofNullable(entries.byIcao.get(key(icao)));
+    }
+
+    /** Fix from the snapshot only, never querying Neo4j. */
+    public Optional<FIXX> cachedFix(String fixxId) {
+        return Optional.ofNullable(entries.fixes.get(key(fixxId)));
+    }
+
+    /** True once a snapshot is installed, from then on a miss means the identifier does not exist. */
+    public boolean isComplete() {
+        return entries.complete;
+    }
+
+    /** JSON of an airport, serialized on first use within the current snapshot. */
+    public CachedEntity serialized(Airport airport) {
+        return serialized("airport-" + key(airport.getIdent()), airport);
+    }
+
+    private CachedEntity serialized(String key, Object entity) {
+        Entries current = entries;
+        return current.serialized.computeIfAbsent(key, k -> {
+            try {
+                return new CachedEntity("\"" + current.version + "-" + k + "\"", objectMapper.writeValueAsBytes(entity));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize " + k, e);
+            }
+        });
+    }
+
+    private static String key(String identifier) {
+        return identifier.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,162 @@
+package com.flightIQ.Navigation.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.StateVector;
+import com.flightIQ.Navigation.DTO.TrafficSnapshot;
+import com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException;
+import com.flightIQ.Navigation.Models.SnapshotChannel;
+
+/**
+ * Shares upstream snapshots between the instances of the service when
+ * {@code nav.snapshots.mode=distributed}, so OpenSky and the winds service
+ * are polled once for the whole deployment instead of once per instance.
+ *
+ * Every tick each instance tries to take the poller lease of the
+ * {@link SnapshotChannel}. The instance holding it fetches the traffic feed
+ * every {@code nav.snapshots.traffic-poll-seconds} and publishes it as
+ * {@link TrafficWireFormat}, and publishes its known winds whenever they
+ * changed. The channel numbers what is published, so a poller whose clock
+ * runs behind is not ignored. All instances, the poller included, then
+ * install the newest published versions, so they all serve the same data. When the poller stops,
+ * its lease runs out after three ticks and another instance takes over.
+ */
+@Component
+public class SnapshotDistributor {
+
+    static final String TRAFFIC_TOPIC = "traffic";
+    static final String WINDS_TOPIC = "winds";
+
+    private final Logger _logger = LoggerFactory.getLogger(SnapshotDistributor.class);
+
+    private final SnapshotChannel channel;
+    private final TrafficService trafficService;
+    private final WindsAloftService windsAloftService;
+    private final boolean distributed;
+    private final long tickMillis;
+    private final long trafficPollMillis;
+    private final String node;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot-distributor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Used by the scheduler thread only
+    private boolean leader;
+    private long lastTrafficPoll;
+    private long publishedWindsUpdates = -1;
+    private long trafficVersion;
+    private long windsVersion;
+
+    public SnapshotDistributor(SnapshotChannel channel, TrafficService trafficService, WindsAloftService windsAloftService,
+                               @Value("${nav.snapshots.mode:standalone}") String snapshotsMode,
+                               @Value("${nav.snapshots.tick-seconds:5}") long tickSeconds,
+                               @Value("${nav.snapshots.traffic-poll-seconds:15}") long trafficPollSeconds) {
+        this.channel = channel;
+        this.trafficService = trafficService;
+        this.windsAloftService = windsAloftService;
+        this.distributed = "distributed".equals(snapshotsMode);
+        this.tickMillis = TimeUnit.SECONDS.toMillis(tickSeconds);
+        this.trafficPollMillis = TimeUnit.SECONDS.toMillis(trafficPollSeconds);
+        this.node = nodeName();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!distributed) return;
+        _logger.info("Distributed snapshots enabled, this instance is {} using {}", node, channel.getClass().getSimpleName());
+        scheduler.scheduleWithFixedDelay(this::tick, 0, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    void tick() {
+        try {
+            boolean holdsLease = channel.tryLease(node, Duration.ofMillis(tickMillis * 3));
+            if (holdsLease != leader) {
+                _logger.info(holdsLease ? "{} is now the snapshot poller" : "{} is no longer the snapshot poller", node);
+                leader = holdsLease;
+            }
+            // A new poller takes over the winds shared so far before it shares its own
+            installWinds();
+            if (leader) {
+                pollTraffic();
+                publishWinds();
+            }
+            installTraffic();
+            installWinds();
+        } catch (RuntimeException e) {
+            // Keep ticking; the next tick retries and the lease moves on if this instance stays broken
+            _logger.error("Snapshot distribution tick failed", e);
+        }
+    }
+
+    private void pollTraffic() {
+        long now = System.currentTimeMillis();
+        if (now - lastTrafficPoll < trafficPollMillis) return;
+        lastTrafficPoll = now;
+        try {
+            TrafficSnapshot snapshot = trafficService.pollFeed();
+            byte[] data = TrafficWireFormat.encode(snapshot.getVectors());
+            long version = channel.publish(TRAFFIC_TOPIC, snapshot.getFetchedAt(), data);
+            _logger.debug("Published {} aircraft in {} bytes as version {}", snapshot.getVectors().length, data.length, version);
+        } catch (UpstreamUnavailableException e) {
+            _logger.warn("Could not poll the traffic feed, peers keep the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void publishWinds() {
+        long updates = windsAloftService.knownUpdates();
+        if (updates == publishedWindsUpdates) return;
+        channel.publish(WINDS_TOPIC, Instant.now(), windsAloftService.exportKnown());
+        publishedWindsUpdates = updates;
+    }
+
+    private void installTraffic() {
+        SnapshotChannel.Blob blob = channel.latest(TRAFFIC_TOPIC, trafficVersion);
+        if (blob == null) return;
+        StateVector[] vectors = TrafficWireFormat.decode(blob.data());
+        trafficService.installShared(new TrafficSnapshot(vectors, blob.publishedAt()));
+        trafficVersion = blob.version();
+    }
+
+    private void installWinds() {
+        SnapshotChannel.Blob blob = channel.latest(WINDS_TOPIC, windsVersion);
+        if (blob == null) return;
+        int imported = windsAloftService.importKnown(blob.data());
+        windsVersion = blob.version();
+        _logger.debug("Installed winds version {}, {} newer than ours", blob.version(), imported);
+    }
+
+    private static String nodeName() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        // Unique even for several instances on one host
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,127 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.LegClearance;
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.DTO.TerrainClearance;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+
+/**
+ * Checks a route against the terrain below it.
+ *
+ * Every leg is sampled along its great circle every
+ * {@code nav.terrain.sample-spacing-nm}, both ends included, and each sample
+ * takes the highest elevation post around it. Points on the great circle are
+ * interpolated between the unit vectors of the leg ends, which needs one sine
+ * per sample and no inverse trig per step beyond the final lat/lon.
+ */
+@Component
+public class TerrainClearanceChecker {
+
+    private final TerrainDatabase terrain;
+    private final double spacingNm;
+    private final int requiredClearanceFeet;
+
+    @Autowired
+    public TerrainClearanceChecker(TerrainDatabase terrain,
+                                   @Value("${nav.terrain.sample-spacing-nm:0.5}") double spacingNm,
+                                   @Value("${nav.terrain.required-clearance-ft:1000}") int requiredClearanceFeet) {
+        if (!(spacingNm > 0)) {
+            throw new IllegalArgumentException("nav.terrain.sample-spacing-nm must be positive, was " + spacingNm);
+        }
+        this.terrain = terrain;
+        this.spacingNm = spacingNm;
+        this.requiredClearanceFeet = requiredClearanceFeet;
+    }
+
+    /**
+     * @param legs legs as produced by prepareRouteObject for the same waypoints
+     */
+    public TerrainClearance check(String route, String[] waypoints, double[] latitude, double[] longitude,
+                                  List<RouteNode> legs, int cruiseAltitude) {
+        if (!terrain.isAvailable()) {
+            throw new BadRequestException("Terrain checks require nav.terrain.directory or nav.terrain.synthetic");
+        }
+
+        List<LegClearance> results = new ArrayList<>(waypoints.length - 1);
+        double routeMax = Double.NaN;
+        int routeWithoutData = 0;
+        for (int i = 0; i < waypoints.length - 1; i++) {
+            LegClearance leg = checkLeg(waypoints[i], latitude[i], longitude[i], waypoints[i + 1],
+                    latitude[i + 1], longitude[i + 1], legs.get(i).getDistance(), cruiseAltitude);
+            results.add(leg);
+            routeWithoutData += leg.getSamplesWithoutData();
+            if (leg.getMaxElevation() != null && !(leg.getMaxElevation() <= routeMax)) {
+                routeMax = leg.getMaxElevation();
+            }
+        }
+
+        Integer maxElevation = Double.isNaN(routeMax) ? null : (int) routeMax;
+        Integer minClearance = maxElevation == null ? null : cruiseAltitude - maxElevation;
+        boolean clear = routeWithoutData == 0 && minClearance != null && minClearance >= requiredClearanceFeet;
+        return new TerrainClearance(route, cruiseAltitude, requiredClearanceFeet, spacingNm, maxElevation, minClearance,
+                routeWithoutData, clear, results);
+    }
+
+    private LegClearance checkLeg(String from, double lat1, double lon1, String to, double lat2, double lon2,
+                                  double distance, int cruiseAltitude) {
+        double phi1 = Math.toRadians(lat1);
+        double lambda1 = Math.toRadians(lon1);
+        double phi2 = Math.toRadians(lat2);
+        double lambda2 = Math.toRadians(lon2);
+        double x1 = Math.cos(phi1) * Math.cos(lambda1);
+        double y1 = Math.cos(phi1) * Math.sin(lambda1);
+        double z1 = Math.sin(phi1);
+        double x2 = Math.cos(phi2) * Math.cos(lambda2);
+        double y2 = Math.cos(phi2) * Math.sin(lambda2);
+        double z2 = Math.sin(phi2);
+
+        double angle = distance / GeodesicEngine.EARTH_RADIUS_NM;
+        double sinAngle = Math.sin(angle);
+        int steps = Math.max(1, (int) Math.ceil(distance / spacingNm));
+
+        double max = Double.NaN;
+        double maxLat = 0;
+        double maxLon = 0;
+        int withoutData = 0;
+        for (int step = 0; step <= steps; step++) {
+            double fraction = (double) step / steps;
+            double lat;
+            double lon;
+            if (sinAngle < 1e-12) {
+                lat = lat1;
+                lon = lon1;
+            } else {
+                double a = Math.sin((1 - fraction) * angle) / sinAngle;
+                double b = Math.sin(fraction * angle) / sinAngle;
+                double x = a * x1 + b * x2;
+                double y = a * y1 + b * y2;
+                double z = a * z1 + b * z2;
+                lat = Math.toDegrees(Math.atan2(z, Math.sqrt(x * x + y * y)));
+                lon = Math.toDegrees(Math.atan2(y, x));
+            }
+
+            double elevation = terrain.maxElevationFeet(lat, lon);
+            if (Double.isNaN(elevation)) {
+                withoutData++;
+            } else if (!(elevation <= max)) {
+                max = elevation;
+                maxLat = lat;
+                maxLon = lon;
+            }
+        }
+
+        if (Double.isNaN(max)) {
+            return new LegClearance(from, to, distance, steps + 1, withoutData, null, null, null, null);
+        }
+        int maxElevation = (int) Math.ceil(max);
+        return new LegClearance(from, to, distance, steps + 1, withoutData, maxElevation, maxLat, maxLon,
+                cruiseAltitude - maxElevation);
+    }
+}
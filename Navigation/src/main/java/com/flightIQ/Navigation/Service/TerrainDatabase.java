@@ -0,0 +1,126 @@
+package com.flightIQ.Navigation.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Terrain elevation from a directory of {@link ElevationTile} files.
+ *
+ * Tiles are indexed by whole degree in a flat array of 360 x 180 slots, so
+ * finding the tile of a point is one array read. Each tile is memory-mapped
+ * the first time a point in it is asked for, and a degree without a file is
+ * remembered as such, so lookups never touch the file system twice.
+ *
+ * With {@code nav.terrain.synthetic=true} missing tiles are generated instead,
+ * from a deterministic model of one hill per degree, so clearance checks can
+ * run locally and in tests without downloading elevation data. Generated tiles
+ * go to a temporary directory that is deleted on shutdown, never to
+ * {@code nav.terrain.directory}, so they cannot be mistaken for real terrain
+ * once synthetic mode is turned off.
+ */
+@Component
+public class TerrainDatabase {
+
+    public static final double FEET_PER_METER = 3.28084;
+
+    private static final int SYNTHETIC_POSTS = 121;   // 30 arc-second posts
+
+    // Marks a degree that has no tile file
+    private static final Object MISSING = new Object();
+
+    private final Logger _logger = LoggerFactory.getLogger(TerrainDatabase.class);
+
+    private final Path directory;
+    private final Path syntheticDirectory;   // null unless synthetic
+    private final AtomicReferenceArray<Object> tiles = new AtomicReferenceArray<>(360 * 180);
+
+    @Autowired
+    public TerrainDatabase(@Value("${nav.terrain.directory:}") String directory,
+                           @Value("${nav.terrain.synthetic:false}") boolean synthetic) throws IOException {
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.syntheticDirectory = synthetic ? Files.createTempDirectory("synthetic-terrain") : null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (syntheticDirectory == null) return;
+        try (Stream<Path> files = Files.walk(syntheticDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            _logger.warn("Could not delete synthetic terrain in {}: {}", syntheticDirectory, e.getMessage());
+        }
+    }
+
+    public boolean isAvailable() {
+        return directory != null || syntheticDirectory != null;
+    }
+
+    /**
+     * Highest terrain in feet around a point, or NaN where there is no
+     * elevation data. Safe to call from any number of threads.
+     */
+    public double maxElevationFeet(double lat, double lon) {
+        ElevationTile tile = tile((int) Math.floor(lat), (int) Math.floor(lon));
+        if (tile == null) return Double.NaN;
+        int metres = tile.maxElevation(lat, lon);
+        return metres == ElevationTile.VOID ? Double.NaN : metres * FEET_PER_METER;
+    }
+
+    // Null where there is no elevation data
+    private ElevationTile tile(int south, int west) {
+        if (!isAvailable() || south < -90 || south > 89) return null;
+        int slot = (south + 90) * 360 + Math.floorMod(west + 180, 360);
+        Object tile = tiles.get(slot);
+        if (tile == null) {
+            tile = load(south, Math.floorMod(west + 180, 360) - 180);
+            // Two threads may map the same tile, the first one to finish wins
+            if (!tiles.compareAndSet(slot, null, tile)) tile = tiles.get(slot);
+        }
+        return tile == MISSING ? null : (ElevationTile) tile;
+    }
+
+    // Real tiles take precedence, synthetic ones only fill the degrees without one
+    private Object load(int south, int west) {
+        String name = ElevationTile.fileName(south, west);
+        Path file = directory == null ? null : directory.resolve(name);
+        try {
+            if (file == null || !Files.exists(file)) {
+                if (syntheticDirectory == null) return MISSING;
+                file = syntheticDirectory.resolve(name);
+                if (!Files.exists(file)) {
+                    ElevationTile.write(file, south, west, SYNTHETIC_POSTS, TerrainDatabase::syntheticElevation);
+                }
+            }
+            ElevationTile tile = ElevationTile.map(file, south, west);
+            _logger.debug("Mapped elevation tile {}", file);
+            return tile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load elevation tile " + file, e);
+        }
+    }
+
+    // Rolling ground with one hill per degree, its height depending on the degree
+    static int syntheticElevation(double lat, double lon) {
+        int south = (int) Math.floor(lat);
+        int west = (int) Math.floor(lon);
+        double peak = Math.floorMod(south * 31 + west * 17, 25) * 100;
+        double dLat = lat - (south + 0.5);
+        double dLon = lon - (west + 0.5);
+        double hill = peak * Math.exp(-(dLat * dLat + dLon * dLon) / 0.02);
+        double ground = 150 + 100 * Math.sin(Math.toRadians(lat * 90)) * Math.cos(Math.toRadians(lon * 90));
+        return (int) Math.round(ground + hill);
+    }
+}
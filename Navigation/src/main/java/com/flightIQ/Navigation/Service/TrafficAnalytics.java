@@ -0,0 +1,312 @@
+package com.flightIQ.Navigation.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.AirportTraffic;
+import com.flightIQ.Navigation.DTO.NearbyAirport;
+import com.flightIQ.Navigation.DTO.StateVector;
+import com.flightIQ.Navigation.DTO.TrafficCell;
+import com.flightIQ.Navigation.DTO.TrafficSnapshot;
+import com.flightIQ.Navigation.DTO.TrafficSummary;
+import com.flightIQ.Navigation.Models.Airport;
+
+/**
+ * Aggregates of the traffic feed: aircraft per altitude band and grid cell,
+ * airborne versus on ground, and the airports with the most traffic nearby.
+ *
+ * Every aircraft keeps the buckets it was counted in. A new snapshot only
+ * moves the aircraft whose buckets changed from one counter to another and
+ * takes out the ones that left, so the counters are never rebuilt. Parked
+ * aircraft that have not moved keep their airport without a new lookup.
+ * After each snapshot the counters are published as immutable views, so
+ * reading them is a single volatile read.
+ *
+ * Snapshots are applied on a background thread. If several arrive while one
+ * is being applied, only the latest is.
+ *
+ * In standalone mode the aggregates do not depend on anyone asking for the
+ * feed: when no snapshot came in for {@code traffic.analytics.refresh-seconds},
+ * the same thread fetches the feed itself, which refreshes the aggregates
+ * through this listener. In distributed mode the elected poller keeps every
+ * instance supplied, so there is no refresh of its own.
+ */
+@Component
+public class TrafficAnalytics implements TrafficSnapshotListener {
+
+    private static final int BAND_WIDTH_FEET = 1000;
+    private static final int BANDS = 46;                 // 0 to 45,000 ft and above
+    private static final double FEET_PER_METER = 3.28084;
+    private static final double PARKED_DEGREES = 0.005;  // about 0.3 NM
+    public static final int MAX_BUSIEST = 50;
+
+    private final Logger _logger = LoggerFactory.getLogger(TrafficAnalytics.class);
+
+    private final AirportSpatialIndex airportIndex;
+    private final TrafficService trafficService;
+    private final long refreshMillis;
+    private final double cellDegrees;
+    private final int columns;
+    private final double airportRadiusNm;
+    private final double airportMaxAltitudeFeet;
+
+    // Written by the analytics thread only
+    private final Map<String, Track> tracks = new HashMap<>();
+    private final Map<String, AirportCounter> airports = new HashMap<>();
+    private final int[] bands = new int[BANDS];
+    private final int[] cellAircraft;
+    private final int[] cellAirborne;
+    private int aircraft;
+    private int onGround;
+    private int unknownAltitude;
+    private int generation;
+
+    private volatile View view;
+
+    private final AtomicReference<TrafficSnapshot> pending = new AtomicReference<>();
+    private volatile Instant lastSnapshotAt = Instant.EPOCH;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "traffic-analytics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record View(TrafficSummary summary, List<TrafficCell> cells, List<AirportTraffic> busiest) {}
+
+    // Buckets an aircraft is currently counted in
+    private static final class Track {
+        int generation;
+        boolean onGround;
+        int band = -1;       // -1 for on ground or unknown altitude
+        int cell = -1;       // -1 without a position
+        float latitude;
+        float longitude;
+        AirportCounter airport;
+    }
+
+    private static final class AirportCounter {
+        final Airport airport;
+        int aircraft;
+        int onGround;
+
+        AirportCounter(Airport airport) {
+            this.airport = airport;
+        }
+    }
+
+    @Autowired
+    public TrafficAnalytics(AirportSpatialIndex airportIndex, TrafficService trafficService,
+                            @Value("${traffic.analytics.cell-degrees:1}") double cellDegrees,
+                            @Value("${traffic.analytics.airport-radius-nm:10}") double airportRadiusNm,
+                            @Value("${traffic.analytics.airport-max-altitude-ft:10000}") double airportMaxAltitudeFeet,
+                            @Value("${traffic.analytics.refresh-seconds:30}") long refreshSeconds,
+                            @Value("${nav.snapshots.mode:standalone}") String snapshotsMode) {
+        this.airportIndex = airportIndex;
+        this.trafficService = trafficService;
+        this.refreshMillis = TimeUnit.SECONDS.toMillis(refreshSeconds);
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        int rows = (int) Math.ceil(180 / cellDegrees);
+        this.cellAircraft = new int[rows * columns];
+        this.cellAirborne = new int[rows * columns];
+        this.airportRadiusNm = airportRadiusNm;
+        this.airportMaxAltitudeFeet = airportMaxAltitudeFeet;
+        this.view = new View(new TrafficSummary(Instant.EPOCH, 0, 0, 0, 0, BAND_WIDTH_FEET, new int[BANDS]), List.of(), List.of());
+        if (refreshSeconds > 0 && !"distributed".equals(snapshotsMode)) {
+            worker.scheduleWithFixedDelay(this::refresh, 0, refreshSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    @Override
+    public void onTraffic(TrafficSnapshot snapshot) {
+        lastSnapshotAt = snapshot.getFetchedAt();
+        if (pending.getAndSet(snapshot) == null) {
+            worker.execute(this::drain);
+        }
+    }
+
+    public TrafficSummary summary() {
+        return view.summary();
+    }
+
+    public List<TrafficCell> cells() {
+        return view.cells();
+    }
+
+    public List<AirportTraffic> busiestAirports(int limit) {
+        List<AirportTraffic> busiest = view.busiest();
+        return busiest.subList(0, Math.min(limit, busiest.size()));
+    }
+
+    // Asks for the feed when nothing else has lately, so the aggregates stay current without feed readers
+    private void refresh() {
+        if (System.currentTimeMillis() - lastSnapshotAt.toEpochMilli() < refreshMillis) return;
+        try {
+            trafficService.feed();
+        } catch (RuntimeException e) {
+            _logger.warn("Could not refresh the traffic feed for the analytics: {}", e.getMessage());
+        }
+    }
+
+    private void drain() {
+        TrafficSnapshot snapshot;
+        while ((snapshot = pending.getAndSet(null)) != null) {
+            try {
+                long start = System.nanoTime();
+                int changed = apply(snapshot.getVectors());
+                view = publish(snapshot.getFetchedAt());
+                _logger.debug("Traffic analytics applied {} aircraft, {} changed, in {} us",
+                        snapshot.getVectors().length, changed, (System.nanoTime() - start) / 1000);
+            } catch (RuntimeException e) {
+                _logger.error("Traffic analytics could not apply the snapshot of {}", snapshot.getFetchedAt(), e);
+            }
+        }
+    }
+
+    /** Moves counters for aircraft that changed bucket, returns how many did. */
+    int apply(StateVector[] vectors) {
+        generation++;
+        int changed = 0;
+        for (StateVector vector : vectors) {
+            if (vector == null || vector.icao24() == null) continue;
+            Track track = tracks.get(vector.icao24());
+            if (track == null) {
+                track = new Track();
+                tracks.put(vector.icao24(), track);
+                update(vector, track, false);
+                changed++;
+            } else if (track.generation != generation && update(vector, track, true)) {
+                changed++;
+            }
+            track.generation = generation;
+        }
+
+        Iterator<Track> it = tracks.values().iterator();
+        while (it.hasNext()) {
+            Track track = it.next();
+            if (track.generation != generation) {
+                count(track, -1);
+                it.remove();
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    // Puts an aircraft into its current buckets, moving its counts if it was counted before. True when any changed
+    private boolean update(StateVector vector, Track track, boolean counted) {
+        boolean ground = vector.onGround();
+        Float baro = vector.baroAltitude();
+        int band = ground || baro == null ? -1 : Math.max(0, Math.min(BANDS - 1, (int) (baro * FEET_PER_METER) / BAND_WIDTH_FEET));
+        boolean positioned = vector.latitude() != null && vector.longitude() != null;
+        int cell = positioned ? cell(vector.latitude(), vector.longitude()) : -1;
+
+        AirportCounter airport = null;
+        boolean low = ground || (baro != null && baro * FEET_PER_METER <= airportMaxAltitudeFeet);
+        if (positioned && low) {
+            boolean parked = track.airport != null && track.onGround && ground
+                    && Math.abs(track.latitude - vector.latitude()) < PARKED_DEGREES
+                    && Math.abs(track.longitude - vector.longitude()) < PARKED_DEGREES;
+            airport = parked ? track.airport : nearbyAirport(vector.latitude(), vector.longitude());
+        }
+
+        if (positioned) {
+            track.latitude = vector.latitude();
+            track.longitude = vector.longitude();
+        }
+        boolean changed = track.onGround != ground || track.band != band || track.cell != cell || track.airport != airport;
+        if (changed || !counted) {
+            if (counted) count(track, -1);
+            track.onGround = ground;
+            track.band = band;
+            track.cell = cell;
+            track.airport = airport;
+            count(track, 1);
+        }
+        return changed;
+    }
+
+    private AirportCounter nearbyAirport(double lat, double lon) {
+        List<NearbyAirport> nearest = airportIndex.nearest(lat, lon, 1);
+        if (nearest.isEmpty() || nearest.get(0).getDistance() > airportRadiusNm) return null;
+        Airport airport = nearest.get(0).getAirport();
+        return airports.computeIfAbsent(airport.getIdent(), ident -> new AirportCounter(airport));
+    }
+
+    private int cell(double lat, double lon) {
+        int row = Math.min((int) ((lat + 90) / cellDegrees), cellAircraft.length / columns - 1);
+        int column = Math.min((int) ((lon + 180) / cellDegrees), columns - 1);
+        return Math.max(0, row) * columns + Math.max(0, column);
+    }
+
+    private void count(Track track, int delta) {
+        aircraft += delta;
+        if (track.onGround) {
+            onGround += delta;
+        } else if (track.band < 0) {
+            unknownAltitude += delta;
+        } else {
+            bands[track.band] += delta;
+        }
+        if (track.cell >= 0) {
+            cellAircraft[track.cell] += delta;
+            if (!track.onGround) cellAirborne[track.cell] += delta;
+        }
+        if (track.airport != null) {
+            track.airport.aircraft += delta;
+            if (track.onGround) track.airport.onGround += delta;
+        }
+    }
+
+    private View publish(Instant snapshotAt) {
+        TrafficSummary summary = new TrafficSummary(snapshotAt, aircraft, aircraft - onGround, onGround, unknownAltitude,
+                BAND_WIDTH_FEET, bands.clone());
+
+        List<TrafficCell> cells = new ArrayList<>();
+        for (int i = 0; i < cellAircraft.length; i++) {
+            if (cellAircraft[i] == 0) continue;
+            cells.add(new TrafficCell((i / columns) * cellDegrees - 90, (i % columns) * cellDegrees - 180, cellDegrees,
+                    cellAircraft[i], cellAirborne[i]));
+        }
+
+        Comparator<AirportCounter> byTraffic = Comparator.<AirportCounter>comparingInt(counter -> counter.aircraft)
+                .thenComparing(counter -> counter.airport.getIdent(), Comparator.reverseOrder());
+        PriorityQueue<AirportCounter> top = new PriorityQueue<>(MAX_BUSIEST + 1, byTraffic);
+        airports.values().removeIf(counter -> counter.aircraft == 0);
+        for (AirportCounter counter : airports.values()) {
+            top.offer(counter);
+            if (top.size() > MAX_BUSIEST) top.poll();
+        }
+        AirportTraffic[] busiest = new AirportTraffic[top.size()];
+        for (int i = busiest.length - 1; i >= 0; i--) {
+            AirportCounter counter = top.poll();
+            Airport airport = counter.airport;
+            busiest[i] = new AirportTraffic(airport.getIdent(), airport.getIcao(), airport.getName(),
+                    airport.getLatitude(), airport.getLongitude(), counter.aircraft, counter.onGround);
+        }
+        return new View(summary, List.copyOf(cells), List.of(busiest));
+    }
+}
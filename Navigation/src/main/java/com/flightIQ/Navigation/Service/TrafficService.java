@@ -0,0 +1,128 @@
+package com.flightIQ.Navigation.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import com.flightIQ.Navigation.DTO.CircuitBreakerMetrics;
+import com.flightIQ.Navigation.DTO.StateVector;
+import com.flightIQ.Navigation.DTO.TrafficSnapshot;
+import com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException;
+import com.flightIQ.Navigation.Models.OpenSkyClient;
+
+/**
+ * OpenSky traffic behind a circuit breaker.
+ *
+ * The last traffic snapshot of every bounding box is kept. While OpenSky
+ * fails or its circuit is open, the previous snapshot is served instead, up
+ * to {@code upstream.opensky.max-stale-seconds} old, and the response is
+ * marked stale.
+ *
+ * The feed is the contiguous US box. Every fresh snapshot of it is handed
+ * to the {@link TrafficSnapshotListener}s.
+ *
+ * With {@code nav.snapshots.mode=distributed} requests never fetch the feed.
+ * The elected poller fetches it and the {@link SnapshotDistributor} installs
+ * the shared copy on every instance, which is what the feed serves.
+ */
+@Service
+public class TrafficService {
+
+    /** Area of the traffic feed: {lamin, lomin, lamax, lomax}. */
+    private static final float[] FEED_BOX = new float[] {24.5f, -125.0f, 49.5f, -66.9f};
+
+    private final Logger _logger = LoggerFactory.getLogger(TrafficService.class);
+
+    private final OpenSkyClient client;
+    private final ObjectProvider<TrafficSnapshotListener> listeners;
+    private final CircuitBreaker breaker;
+    private final long maxStaleMillis;
+    private final Map<String, Snapshot> lastKnown = new ConcurrentHashMap<>();
+    private final boolean distributed;
+    private final long sharedStaleMillis;
+    private volatile TrafficSnapshot shared;
+
+    private record Snapshot(StateVector[] vectors, Instant fetchedAt) {}
+
+    public TrafficService(@Lazy OpenSkyClient client, ObjectProvider<TrafficSnapshotListener> listeners,
+                          @Value("${upstream.opensky.failure-threshold:3}") int failureThreshold,
+                          @Value("${upstream.opensky.open-seconds:60}") long openSeconds,
+                          @Value("${upstream.opensky.slow-call-ms:8000}") long slowCallMillis,
+                          @Value("${upstream.opensky.max-concurrent:4}") int maxConcurrent,
+                          @Value("${upstream.opensky.max-stale-seconds:600}") long maxStaleSeconds,
+                          @Value("${nav.snapshots.mode:standalone}") String snapshotsMode,
+                          @Value("${nav.snapshots.traffic-stale-seconds:60}") long sharedStaleSeconds) {
+        this.client = client;
+        this.listeners = listeners;
+        this.breaker = new CircuitBreaker("opensky", failureThreshold, TimeUnit.SECONDS.toMillis(openSeconds),
+                slowCallMillis, maxConcurrent);
+        this.maxStaleMillis = TimeUnit.SECONDS.toMillis(maxStaleSeconds);
+        this.distributed = "distributed".equals(snapshotsMode);
+        this.sharedStaleMillis = TimeUnit.SECONDS.toMillis(sharedStaleSeconds);
+    }
+
+    public StateVector[] feed() {
+        if (distributed) return sharedFeed();
+        return stateVectors(FEED_BOX[0], FEED_BOX[1], FEED_BOX[2], FEED_BOX[3]);
+    }
+
+    /** Fetches the feed for the elected poller, without serving or recording it. */
+    public TrafficSnapshot pollFeed() {
+        StateVector[] vectors = breaker.call(() -> client.getStateVectors(FEED_BOX[0], FEED_BOX[1], FEED_BOX[2], FEED_BOX[3]));
+        return new TrafficSnapshot(vectors, Instant.now());
+    }
+
+    /** Installs a feed snapshot replicated by the poller. */
+    public void installShared(TrafficSnapshot snapshot) {
+        shared = snapshot;
+        listeners.orderedStream().forEach(listener -> listener.onTraffic(snapshot));
+    }
+
+    private StateVector[] sharedFeed() {
+        TrafficSnapshot snapshot = shared;
+        if (snapshot == null) {
+            throw new UpstreamUnavailableException("No traffic snapshot has been replicated yet");
+        }
+        long age = Duration.between(snapshot.getFetchedAt(), Instant.now()).toMillis();
+        if (age > maxStaleMillis) {
+            throw new UpstreamUnavailableException("The replicated traffic snapshot is from " + snapshot.getFetchedAt());
+        }
+        if (age > sharedStaleMillis) DataFreshness.markStale("traffic", snapshot.getFetchedAt());
+        return snapshot.getVectors();
+    }
+
+    public StateVector[] stateVectors(float lamin, float lomin, float lamax, float lomax) {
+        String box = lamin + "," + lomin + "," + lamax + "," + lomax;
+        try {
+            StateVector[] vectors = breaker.call(() -> client.getStateVectors(lamin, lomin, lamax, lomax));
+            Instant fetchedAt = Instant.now();
+            lastKnown.put(box, new Snapshot(vectors, fetchedAt));
+            if (lamin == FEED_BOX[0] && lomin == FEED_BOX[1] && lamax == FEED_BOX[2] && lomax == FEED_BOX[3]) {
+                TrafficSnapshot snapshot = new TrafficSnapshot(vectors, fetchedAt);
+                listeners.orderedStream().forEach(listener -> listener.onTraffic(snapshot));
+            }
+            return vectors;
+        } catch (UpstreamUnavailableException e) {
+            Snapshot previous = lastKnown.get(box);
+            if (previous == null || Duration.between(previous.fetchedAt(), Instant.now()).toMillis() > maxStaleMillis) {
+                throw e;
+            }
+            _logger.warn("Serving traffic for {} from {} while OpenSky is unavailable: {}", box, previous.fetchedAt(), e.getMessage());
+            DataFreshness.markStale("traffic", previous.fetchedAt());
+            return previous.vectors();
+        }
+    }
+
+    public CircuitBreakerMetrics metrics() {
+        return breaker.metrics();
+    }
+}
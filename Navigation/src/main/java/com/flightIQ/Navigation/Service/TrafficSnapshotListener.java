@@ -0,0 +1,8 @@
+package com.flightIQ.Navigation.Service;
+
+import com.flightIQ.Navigation.DTO.TrafficSnapshot;
+
+/** Implemented by beans that keep derived state of the traffic feed, called for every fresh feed snapshot. */
+public interface TrafficSnapshotListener {
+    void onTraffic(TrafficSnapshot snapshot);
+}
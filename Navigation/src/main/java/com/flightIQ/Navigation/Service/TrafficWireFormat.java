@@ -0,0 +1,311 @@
+package com.flightIQ.Navigation.Service;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import com.flightIQ.Navigation.DTO.StateVector;
+
+/**
+ * Compact binary form of a traffic snapshot, served as
+ * {@value #MEDIA_TYPE}.
+ *
+ * The snapshot is written column by column, so every column holds values of
+ * one kind that compress well, and numbers are quantized to what a traffic
+ * display needs and written as zigzag varints (LEB128).
+ *
+ * <pre>
+ * header
+ *   int     magic 'NVTR'
+ *   byte    format version
+ *   varint  record count n
+ *   varint  base time, epoch seconds; time columns are offsets from it
+ * columns, records sorted by ICAO 24-bit address
+ *   icao24          n varints, difference to the previous record's address
+ *   callsign        n strings, varint byte length + 1 (0 for none) then UTF-8
+ *   onGround        bitmap
+ *   timePosition    presence bitmap, then one varint per present value: seconds from base
+ *   lastContact     "                                                  seconds from base
+ *   longitude       "                                                  1e-4 degrees
+ *   latitude        "                                                  1e-4 degrees
+ *   baroAltitude    "                                                  metres
+ *   geoAltitude     "                                                  metres, minus baroAltitude when present
+ *   velocity        "                                                  0.1 m/s
+ *   verticalRate    "                                                  0.1 m/s
+ *   trueTrack       "                                                  0.1 degrees
+ *   squawk          "                                                  the four octal digits as a number
+ *   positionSource  n varints
+ * </pre>
+ *
+ * Bitmaps are ceil(n / 8) bytes, record i in bit (i % 8) of byte i / 8.
+ * Records without a hexadecimal address and squawks that are not four octal
+ * digits are left out.
+ */
+public final class TrafficWireFormat {
+
+    public static final String MEDIA_TYPE = "application/vnd.flightiq.traffic";
+
+    private static final int MAGIC = 0x4E565452; // NVTR
+    private static final byte FORMAT_VERSION = 1;
+    private static final double POSITION_SCALE = 1e4;
+    private static final double RATE_SCALE = 10;
+    private static final double TRACK_SCALE = 10;
+
+    private TrafficWireFormat() {
+    }
+
+    public static byte[] encode(StateVector[] vectors) {
+        int[] addresses = new int[vectors.length];
+        Integer[] order = new Integer[vectors.length];
+        int n = 0;
+        for (int i = 0; i < vectors.length; i++) {
+            int address = vectors[i] == null ? -1 : address(vectors[i].icao24());
+            if (address < 0) continue;
+            addresses[i] = address;
+            order[n++] = i;
+        }
+        Integer[] sorted = Arrays.copyOf(order, n);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(addresses[a], addresses[b]));
+        StateVector[] records = new StateVector[n];
+        for (int i = 0; i < n; i++) records[i] = vectors[sorted[i]];
+
+        long base = Long.MAX_VALUE;
+        for (StateVector record : records) {
+            if (record.timePosition() != null) base = Math.min(base, record.timePosition());
+            if (record.lastContact() != null) base = Math.min(base, record.lastContact());
+        }
+        if (base == Long.MAX_VALUE) base = 0;
+
+        Output out = new Output(64 + n * 24);
+        out.writeInt(MAGIC);
+        out.writeByte(FORMAT_VERSION);
+        out.writeVarint(n);
+        out.writeVarint(base);
+
+        int previous = 0;
+        for (int i = 0; i < n; i++) {
+            int address = addresses[sorted[i]];
+            out.writeVarint(address - previous);
+            previous = address;
+        }
+        for (StateVector record : records) {
+            String callsign = record.callSign() == null ? null : record.callSign().stripTrailing();
+            if (callsign == null || callsign.isEmpty()) {
+                out.writeVarint(0);
+            } else {
+                byte[] bytes = callsign.getBytes(StandardCharsets.UTF_8);
+                out.writeVarint(bytes.length + 1);
+                out.writeBytes(bytes);
+            }
+        }
+        boolean[] onGround = new boolean[n];
+        for (int i = 0; i < n; i++) onGround[i] = records[i].onGround();
+        out.writeBitmap(onGround);
+
+        long[] values = new long[n];
+        boolean[] present = new boolean[n];
+        for (int column = 0; column < 10; column++) {
+            for (int i = 0; i < n; i++) {
+                StateVector record = records[i];
+                Long value = switch (column) {
+                    case 0 -> record.timePosition() == null ? null : record.timePosition() - base;
+                    case 1 -> record.lastContact() == null ? null : record.lastContact() - base;
+                    case 2 -> quantize(record.longitude(), POSITION_SCALE);
+                    case 3 -> quantize(record.latitude(), POSITION_SCALE);
+                    case 4 -> quantize(record.baroAltitude(), 1);
+                    case 5 -> geoAltitude(record);
+                    case 6 -> quantize(record.velocity(), RATE_SCALE);
+                    case 7 -> quantize(record.verticalVelocity(), RATE_SCALE);
+                    case 8 -> quantize(record.trueTrack(), TRACK_SCALE);
+                    default -> squawk(record.squak());
+                };
+                present[i] = value != null;
+                values[i] = value == null ? 0 : value;
+            }
+            out.writeBitmap(present);
+            for (int i = 0; i < n; i++) {
+                if (present[i]) out.writeVarint(values[i]);
+            }
+        }
+        for (StateVector record : records) out.writeVarint(record.poseSource());
+        return out.toByteArray();
+    }
+
+    /** Reads a snapshot back, with the precision it was quantized to. */
+    public static StateVector[] decode(byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        try {
+            if (in.getInt() != MAGIC) throw new IllegalArgumentException("Not a traffic snapshot");
+            byte format = in.get();
+            if (format != FORMAT_VERSION) throw new IllegalArgumentException("Unsupported traffic format " + format);
+            int n = (int) readVarint(in);
+            long base = readVarint(in);
+
+            int[] addresses = new int[n];
+            int address = 0;
+            for (int i = 0; i < n; i++) {
+                address += (int) readVarint(in);
+                addresses[i] = address;
+            }
+            String[] callsigns = new String[n];
+            for (int i = 0; i < n; i++) {
+                int length = (int) readVarint(in);
+                if (length == 0) continue;
+                byte[] bytes = new byte[length - 1];
+                in.get(bytes);
+                callsigns[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+            boolean[] onGround = readBitmap(in, n);
+
+            Long[][] columns = new Long[10][n];
+            for (int column = 0; column < 10; column++) {
+                boolean[] present = readBitmap(in, n);
+                for (int i = 0; i < n; i++) {
+                    if (present[i]) columns[column][i] = readVarint(in);
+                }
+            }
+
+            StateVector[] vectors = new StateVector[n];
+            for (int i = 0; i < n; i++) {
+                Long baro = columns[4][i];
+                Long geo = columns[5][i];
+                if (geo != null && baro != null) geo += baro;
+                Long squawk = columns[9][i];
+                vectors[i] = new StateVector(
+                        String.format("%06x", addresses[i]),
+                        callsigns[i],
+                        columns[0][i] == null ? null : (int) (columns[0][i] + base),
+                        columns[1][i] == null ? null : (int) (columns[1][i] + base),
+                        scale(columns[2][i], POSITION_SCALE),
+                        scale(columns[3][i], POSITION_SCALE),
+                        scale(baro, 1),
+                        scale(geo, 1),
+                        onGround[i],
+                        scale(columns[6][i], RATE_SCALE),
+                        scale(columns[7][i], RATE_SCALE),
+                        scale(columns[8][i], TRACK_SCALE),
+                        squawk == null ? null : String.format("%04o", squawk),
+                        (int) readVarint(in));
+            }
+            return vectors;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated traffic snapshot", e);
+        }
+    }
+
+    private static int address(String icao24) {
+        if (icao24 == null || icao24.isEmpty() || icao24.length() > 6) return -1;
+        try {
+            return Integer.parseInt(icao24, 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Long quantize(Float value, double scale) {
+        return value == null || !Float.isFinite(value) ? null : Math.round(value * scale);
+    }
+
+    private static Float scale(Long value, double scale) {
+        return value == null ? null : (float) (value / scale);
+    }
+
+    private static Long geoAltitude(StateVector record) {
+        Long geo = quantize(record.geoAltitude(), 1);
+        Long baro = quantize(record.baroAltitude(), 1);
+        if (geo == null || baro == null) return geo;
+        return geo - baro;
+    }
+
+    private static Long squawk(String squawk) {
+        if (squawk == null || squawk.length() != 4) return null;
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = squawk.charAt(i);
+            if (c < '0' || c > '7') return null;
+            value = value * 8 + (c - '0');
+        }
+        return (long) value;
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long raw = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            raw |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return (raw >>> 1) ^ -(raw & 1);
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static boolean[] readBitmap(ByteBuffer in, int n) {
+        boolean[] bits = new boolean[n];
+        byte current = 0;
+        for (int i = 0; i < n; i++) {
+            if ((i & 7) == 0) current = in.get();
+            bits[i] = (current & (1 << (i & 7))) != 0;
+        }
+        return bits;
+    }
+
+    // Growable byte array, no synchronization or stream overhead
+    private static final class Output {
+        private byte[] buffer;
+        private int size;
+
+        Output(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeVarint(long value) {
+            ensure(10);
+            long zigzag = (value << 1) ^ (value >> 63);
+            while ((zigzag & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((zigzag & 0x7F) | 0x80);
+                zigzag >>>= 7;
+            }
+            buffer[size++] = (byte) zigzag;
+        }
+
+        void writeBitmap(boolean[] bits) {
+            ensure((bits.length + 7) / 8);
+            for (int i = 0; i < bits.length; i += 8) {
+                int b = 0;
+                for (int j = 0; j < 8 && i + j < bits.length; j++) {
+                    if (bits[i + j]) b |= 1 << j;
+                }
+                buffer[size++] = (byte) b;
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+}
@@ -0,0 +1,471 @@
+package com.flightIQ.Navigation.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.NavSnapshot;
+import com.flightIQ.Navigation.DTO.WaypointSuggestion;
+import com.flightIQ.Navigation.Models.Airport;
+import com.flightIQ.Navigation.Models.FIXX;
+
+/**
+ * Typeahead over fix ids, airport idents, ICAO codes and airport names.
+ *
+ * The search terms are sorted and stored in a trie whose nodes live in a few
+ * primitive arrays. Because the terms are sorted, every node covers one
+ * contiguous range of them, so a prefix lookup is a walk down the trie and
+ * a scan of that range. When the prefix alone does not fill the result, the
+ * trie is walked again with a Levenshtein row per node to pick up terms one
+ * or two typos away. Results are ranked by edits, then exact matches, then
+ * distance from the reference point when one is given.
+ */
+@Component
+public class WaypointSearchIndex implements NavSnapshotListener {
+
+    public static final String AIRPORT = "AIRPORT";
+    public static final String FIX = "FIX";
+
+    private final Logger _logger = LoggerFactory.getLogger(WaypointSearchIndex.class);
+
+    private final GeodesicEngine geodesicEngine;
+
+    private volatile Index index = Index.build(List.of(), List.of());
+
+    @Autowired
+    public WaypointSearchIndex(GeodesicEngine geodesicEngine) {
+        this.geodesicEngine = geodesicEngine;
+    }
+
+    @Override
+    public void onSnapshot(NavSnapshot snapshot) {
+        rebuild(snapshot.getAirports(), snapshot.getFixes());
+    }
+
+    public void rebuild(Collection<Airport> airports, Collection<FIXX> fixes) {
+        long start = System.nanoTime();
+        Index built = Index.build(airports, fixes);
+        index = built;
+        _logger.info("Waypoint search index built over {} terms ({} trie nodes) in {} ms",
+                built.terms.length, built.nodeCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param lat reference latitude, or null to rank without proximity
+     * @param lon reference longitude, or null to rank without proximity
+     */
+    public List<WaypointSuggestion> search(String query, int limit, Double lat, Double lon) {
+        Index current = index;
+        String term = normalize(query);
+        if (term.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        boolean ranked = lat != null && lon != null;
+        Ranking ranking = new Ranking(current, limit, ranked ? lat : 0, ranked ? lon : 0, ranked);
+
+        int node = current.find(term);
+        if (node >= 0) {
+            ranking.collect(current.rangeStart[node], current.rangeEnd[node], current.terminalEnd[node], 0);
+        }
+        if (ranking.size < limit && term.length() >= 3) {
+            current.fuzzy(term, term.length() >= 6 ? 2 : 1, ranking);
+        }
+
+        int[] best = ranking.sorted();
+        List<WaypointSuggestion> results = new ArrayList<>(best.length);
+        for (int slot : best) {
+            int entity = current.termEntity[ranking.terms[slot]];
+            Double distance = null;
+            if (ranked) {
+                distance = geodesicEngine.computeLeg(lat, lon, current.latitude[entity], current.longitude[entity]).distance();
+            }
+            results.add(new WaypointSuggestion(current.ids[entity], current.airport[entity] ? AIRPORT : FIX,
+                    current.names[entity], current.latitude[entity], current.longitude[entity],
+                    current.terms[ranking.terms[slot]], ranking.edits[slot], distance));
+        }
+        return results;
+    }
+
+    public int size() {
+        return index.terms.length;
+    }
+
+    // Upper case, letters and digits only, single spaces between words
+    static String normalize(String text) {
+        if (text == null) return "";
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toUpperCase(text.charAt(i));
+            if ((c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                if (space && normalized.length() > 0) normalized.append(' ');
+                normalized.append(c);
+                space = false;
+            } else {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static final class Index {
+        // Waypoints
+        final String[] ids;
+        final String[] names;
+        final boolean[] airport;
+        final double[] latitude;
+        final double[] longitude;
+        final double[] x;
+        final double[] y;
+        final double[] z;
+
+        // Sorted search terms and the waypoint each one belongs to
+        final String[] terms;
+        final int[] termEntity;
+
+        // Trie, node 0 is the root. Node n covers terms [rangeStart, rangeEnd),
+        // of which [rangeStart, terminalEnd) end exactly at n
+        int nodeCount;
+        char[] label;
+        int[] firstChild;
+        int[] nextSibling;
+        int[] rangeStart;
+        int[] rangeEnd;
+        int[] terminalEnd;
+
+        private Index(int entities, int termCount) {
+            ids = new String[entities];
+            names = new String[entities];
+            airport = new boolean[entities];
+            latitude = new double[entities];
+            longitude = new double[entities];
+            x = new double[entities];
+            y = new double[entities];
+            z = new double[entities];
+            terms = new String[termCount];
+            termEntity = new int[termCount];
+        }
+
+        static Index build(Collection<Airport> airports, Collection<FIXX> fixes) {
+            List<String> rawTerms = new ArrayList<>();
+            List<Integer> rawEntities = new ArrayList<>();
+            List<Object> waypoints = new ArrayList<>(airports.size() + fixes.size());
+
+            for (Airport airport : airports) {
+                int entity = waypoints.size();
+                waypoints.add(airport);
+                String ident = normalize(airport.getIdent());
+                String icao = normalize(airport.getIcao());
+                String name = normalize(airport.getName());
+                addTerm(rawTerms, rawEntities, ident, entity);
+                if (!icao.equals(ident)) addTerm(rawTerms, rawEntities, icao, entity);
+                addTerm(rawTerms, rawEntities, name, entity);
+                // Every word of the name, so "HARTSFIELD JACKSON ATLANTA" is found by "ATLANTA"
+                String[] words = name.split(" ");
+                if (words.length > 1) {
+                    for (String word : words) {
+                        if (word.length() >= 2) addTerm(rawTerms, rawEntities, word, entity);
+                    }
+                }
+            }
+            for (FIXX fix : fixes) {
+                int entity = waypoints.size();
+                waypoints.add(fix);
+                addTerm(rawTerms, rawEntities, normalize(fix.getFixxId()), entity);
+            }
+
+            Integer[] order = new Integer[rawTerms.size()];
+            for (int i = 0; i < order.length; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> {
+                int byTerm = rawTerms.get(a).compareTo(rawTerms.get(b));
+                return byTerm != 0 ? byTerm : Integer.compare(rawEntities.get(a), rawEntities.get(b));
+            });
+
+            // Drop a term listed twice for the same waypoint, e.g. a name word repeated
+            int unique = 0;
+            for (int i = 0; i < order.length; i++) {
+                if (i > 0 && rawTerms.get(order[i]).equals(rawTerms.get(order[i - 1]))
+                        && rawEntities.get(order[i]).equals(rawEntities.get(order[i - 1]))) continue;
+                order[unique++] = order[i];
+            }
+
+            Index index = new Index(waypoints.size(), unique);
+            for (int i = 0; i < waypoints.size(); i++) {
+                index.setWaypoint(i, waypoints.get(i));
+            }
+            for (int i = 0; i < unique; i++) {
+                index.terms[i] = rawTerms.get(order[i]);
+                index.termEntity[i] = rawEntities.get(order[i]);
+            }
+            index.buildTrie();
+            return index;
+        }
+
+        private static void addTerm(List<String> terms, List<Integer> entities, String term, int entity) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+                entities.add(entity);
+            }
+        }
+
+        private void setWaypoint(int i, Object waypoint) {
+            if (waypoint instanceof Airport a) {
+                String icao = a.getIcao();
+                ids[i] = icao != null && !icao.isBlank() ? icao : a.getIdent();
+                names[i] = a.getName();
+                airport[i] = true;
+                latitude[i] = a.getLatitude();
+                longitude[i] = a.getLongitude();
+            } else {
+                FIXX f = (FIXX) waypoint;
+                ids[i] = f.getFixxId();
+                latitude[i] = f.getLatitude();
+                longitude[i] = f.getLongitude();
+            }
+            double lat = Math.toRadians(latitude[i]);
+            double lon = Math.toRadians(longitude[i]);
+            x[i] = Math.cos(lat) * Math.cos(lon);
+            y[i] = Math.cos(lat) * Math.sin(lon);
+            z[i] = Math.sin(lat);
+        }
+
+        // Terms are sorted, so each new term shares a path with the previous one up to their common prefix
+        private void buildTrie() {
+            int capacity = Math.max(16, terms.length * 2);
+            label = new char[capacity];
+            firstChild = new int[capacity];
+            nextSibling = new int[capacity];
+            rangeStart = new int[capacity];
+            rangeEnd = new int[capacity];
+            terminalEnd = new int[capacity];
+            int[] lastChild = new int[capacity];
+            Arrays.fill(firstChild, -1);
+            Arrays.fill(nextSibling, -1);
+            Arrays.fill(lastChild, -1);
+            nodeCount = 1;
+
+            int maxLength = 0;
+            for (String term : terms) maxLength = Math.max(maxLength, term.length());
+            int[] path = new int[maxLength + 1];
+
+            String previous = "";
+            for (int t = 0; t < terms.length; t++) {
+                String term = terms[t];
+                int common = 0;
+                int bound = Math.min(previous.length(), term.length());
+                while (common < bound && previous.charAt(common) == term.charAt(common)) common++;
+
+                for (int depth = common + 1; depth <= term.length(); depth++) {
+                    if (nodeCount == label.length) {
+                        int grown = label.length * 2;
+                        label = Arrays.copyOf(label, grown);
+                        firstChild = grow(firstChild, grown);
+                        nextSibling = grow(nextSibling, grown);
+                        lastChild = grow(lastChild, grown);
+                        rangeStart = Arrays.copyOf(rangeStart, grown);
+                        rangeEnd = Arrays.copyOf(rangeEnd, grown);
+                        terminalEnd = Arrays.copyOf(terminalEnd, grown);
+                    }
+                    int node = nodeCount++;
+                    int parent = path[depth - 1];
+                    label[node] = term.charAt(depth - 1);
+                    rangeStart[node] = t;
+                    terminalEnd[node] = t;
+                    if (lastChild[parent] < 0) firstChild[parent] = node;
+                    else nextSibling[lastChild[parent]] = node;
+                    lastChild[parent] = node;
+                    path[depth] = node;
+                }
+                for (int depth = 0; depth <= term.length(); depth++) {
+                    rangeEnd[path[depth]] = t + 1;
+                }
+                terminalEnd[path[term.length()]] = t + 1;
+                previous = term;
+            }
+        }
+
+        private static int[] grow(int[] array, int length) {
+            int old = array.length;
+            int[] grown = Arrays.copyOf(array, length);
+            Arrays.fill(grown, old, length, -1);
+            return grown;
+        }
+
+        private int child(int node, char c) {
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                if (label[child] == c) return child;
+            }
+            return -1;
+        }
+
+        int find(String term) {
+            if (terms.length == 0) return -1;
+            int node = 0;
+            for (int i = 0; i < term.length() && node >= 0; i++) {
+                node = child(node, term.charAt(i));
+            }
+            return node;
+        }
+
+        void fuzzy(String term, int maxEdits, Ranking ranking) {
+            if (terms.length == 0) return;
+            // A row per depth; no path longer than the query plus the allowed edits can stay within them
+            int[][] rows = new int[term.length() + maxEdits + 2][term.length() + 1];
+            for (int i = 0; i <= term.length(); i++) rows[0][i] = i;
+            for (int child = firstChild[0]; child >= 0; child = nextSibling[child]) {
+                fuzzy(child, 1, term, rows, maxEdits, ranking);
+            }
+        }
+
+        // One Levenshtein row per trie node; a node whose row ends within maxEdits
+        // means the query is a fuzzy prefix of every term below it
+        private void fuzzy(int node, int depth, String term, int[][] rows, int maxEdits, Ranking ranking) {
+            int[] previous = rows[depth - 1];
+            int[] row = rows[depth];
+            row[0] = previous[0] + 1;
+            int best = row[0];
+            char c = label[node];
+            for (int i = 1; i < row.length; i++) {
+                int substitute = previous[i - 1] + (term.charAt(i - 1) == c ? 0 : 1);
+                row[i] = Math.min(substitute, Math.min(previous[i] + 1, row[i - 1] + 1));
+                best = Math.min(best, row[i]);
+            }
+            int edits = row[row.length - 1];
+            if (edits > 0 && edits <= maxEdits) {
+                ranking.collect(rangeStart[node], rangeEnd[node], terminalEnd[node], edits);
+            }
+            // Deeper nodes can only help while some cell is still below the cost found here
+            if (best <= maxEdits && best < Math.min(edits, maxEdits + 1)) {
+                for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                    fuzzy(child, depth + 1, term, rows, maxEdits, ranking);
+                }
+            }
+        }
+    }
+
+    // Bounded max-heap of the best terms seen so far, at most one per waypoint
+    private static final class Ranking {
+        final Index index;
+        final int capacity;
+        final boolean ranked;
+        final double qx;
+        final double qy;
+        final double qz;
+        final int[] terms;
+        final int[] edits;
+        final double[] scores;
+        int size;
+
+        Ranking(Index index, int capacity, double lat, double lon, boolean ranked) {
+            this.index = index;
+            this.capacity = capacity;
+            this.ranked = ranked;
+            double latRad = Math.toRadians(lat);
+            double lonRad = Math.toRadians(lon);
+            this.qx = Math.cos(latRad) * Math.cos(lonRad);
+            this.qy = Math.cos(latRad) * Math.sin(lonRad);
+            this.qz = Math.sin(latRad);
+            this.terms = new int[capacity];
+            this.edits = new int[capacity];
+            this.scores = new double[capacity];
+        }
+
+        void collect(int from, int to, int exactEnd, int editCount) {
+            for (int t = from; t < to; t++) {
+                offer(t, editCount, score(t, editCount, t < exactEnd));
+            }
+        }
+
+        // Edits first, then exact matches, then chord to the reference point or term length
+        private double score(int term, int editCount, boolean exact) {
+            int entity = index.termEntity[term];
+            double secondary;
+            if (ranked) {
+                double dx = index.x[entity] - qx;
+                double dy = index.y[entity] - qy;
+                double dz = index.z[entity] - qz;
+                secondary = Math.sqrt(dx * dx + dy * dy + dz * dz) * 1_000;
+            } else {
+                secondary = index.terms[term].length() * 2 + (index.airport[entity] ? 0 : 1);
+            }
+            return editCount * 1_000_000.0 + (exact ? 0 : 100_000.0) + secondary;
+        }
+
+        private void offer(int term, int editCount, double score) {
+            if (size == capacity && score >= scores[0]) return;
+
+            int entity = index.termEntity[term];
+            for (int i = 0; i < size; i++) {
+                if (index.termEntity[terms[i]] == entity) {
+                    if (score < scores[i]) {
+                        terms[i] = term;
+                        edits[i] = editCount;
+                        scores[i] = score;
+                        siftDown(i);
+                    }
+                    return;
+                }
+            }
+
+            if (size < capacity) {
+                int i = size++;
+                terms[i] = term;
+                edits[i] = editCount;
+                scores[i] = score;
+                siftUp(i);
+            } else {
+                terms[0] = term;
+                edits[0] = editCount;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /** Heap slots, best first. */
+        int[] sorted() {
+            Integer[] slots = new Integer[size];
+            for (int i = 0; i < size; i++) slots[i] = i;
+            Arrays.sort(slots, (a, b) -> Double.compare(scores[a], scores[b]));
+            return Arrays.stream(slots).mapToInt(Integer::intValue).toArray();
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (scores[parent] >= scores[i]) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int largest = i;
+                if (left < size && scores[left] > scores[largest]) largest = left;
+                if (left + 1 < size && scores[left + 1] > scores[largest]) largest = left + 1;
+                if (largest == i) return;
+                swap(i, largest);
+                i = largest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int term = terms[a];
+            terms[a] = terms[b];
+            terms[b] = term;
+            int edit = edits[a];
+            edits[a] = edits[b];
+            edits[b] = edit;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.flightIQ.Navigation.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Service;
+
+import com.flightIQ.Navigation.DTO.CircuitBreakerMetrics;
+import com.flightIQ.Navigation.DTO.WindAloft;
+import com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException;
+import com.flightIQ.Navigation.Models.WindsAloftClient;
+
+/**
+ * Winds aloft lookups behind a circuit breaker.
+ *
+ * Every wind the service returns is kept as the last known good value for
+ * its airport, altitude and forecast period. While the winds service fails
+ * or its circuit is open, that value is served instead, up to
+ * {@code upstream.winds.max-stale-minutes} old, and the response is marked
+ * stale. Without one the lookup fails with 503 rather than guessing, unless
+ * {@code upstream.winds.calm-when-unavailable=true}, which answers "no winds"
+ * so the navlog is computed with calm winds. That is meant for benchmarks and
+ * local runs without a winds service, not for flight planning.
+ *
+ * With {@code nav.snapshots.mode=distributed} the elected poller shares its
+ * known winds with the other instances through the {@link SnapshotDistributor},
+ * and a lookup with a known wind younger than {@code upstream.winds.refresh-minutes}
+ * is served without calling the winds service. Only winds the poller looked
+ * up itself are shared, so every instance still calls the winds service for
+ * airports and altitudes that were not requested from the poller.
+ */
+@Service
+public class WindsAloftService {
+
+    private static final int MAX_LAST_KNOWN = 20_000;
+
+    private final Logger _logger = LoggerFactory.getLogger(WindsAloftService.class);
+
+    private final WindsAloftClient client;
+    private final CircuitBreaker breaker;
+    private final long maxStaleMillis;
+    private final Map<String, Known> lastKnown = new ConcurrentHashMap<>();
+    private final long refreshMillis;
+    private final AtomicLong changes = new AtomicLong();
+    private final AtomicLong updates = new AtomicLong();
+    private final boolean distributed;
+    private final boolean calmWhenUnavailable;
+
+    private record Known(WindAloft wind, Instant fetchedAt) {}
+
+    public WindsAloftService(@Lazy WindsAloftClient client,
+                             @Value("${upstream.winds.failure-threshold:5}") int failureThreshold,
+                             @Value("${upstream.winds.open-seconds:30}") long openSeconds,
+                             @Value("${upstream.winds.slow-call-ms:3000}") long slowCallMillis,
+                             @Value("${upstream.winds.max-concurrent:16}") int maxConcurrent,
+                             @Value("${upstream.winds.max-stale-minutes:180}") long maxStaleMinutes,
+                             @Value("${upstream.winds.refresh-minutes:60}") long refreshMinutes,
+                             @Value("${upstream.winds.calm-when-unavailable:false}") boolean calmWhenUnavailable,
+                             @Value("${nav.snapshots.mode:standalone}") String snapshotsMode) {
+        this.client = client;
+        this.breaker = new CircuitBreaker("winds", failureThreshold, TimeUnit.SECONDS.toMillis(openSeconds),
+                slowCallMillis, maxConcurrent);
+        this.maxStaleMillis = TimeUnit.MINUTES.toMillis(maxStaleMinutes);
+        this.refreshMillis = TimeUnit.MINUTES.toMillis(refreshMinutes);
+        this.distributed = "distributed".equals(snapshotsMode);
+        this.calmWhenUnavailable = calmWhenUnavailable;
+    }
+
+    /**
+     * Version of the winds data. It moves on every {@code upstream.winds.refresh-minutes}
+     * and whenever a lookup returns a wind that differs from the one known for that
+     * airport and altitude, so results derived from winds can be cached under it.
+     */
+    public String snapshotVersion() {
+        return (System.currentTimeMillis() / refreshMillis) + "." + changes.get();
+    }
+
+    /** Current winds, or null when the service has none for the airport. */
+    public WindAloft windsAloft(String icao, int altitude) {
+        return fetch(icao + "|" + altitude, () -> client.getWindsAloftByIcao(icao, altitude));
+    }
+
+    /**
+     * Forecast winds for a 6, 12 or 24 hour period, or null when the service has none for the airport.
+     * A wind without a valid time, or valid outside the period asked for, means the service answered
+     * with another product, so the lookup fails with 503 rather than planning on the wrong winds.
+     */
+    public WindAloft forecastWinds(String icao, int altitude, int forecastHours) {
+        WindAloft wind = fetch(icao + "|" + altitude + "|" + forecastHours,
+                () -> client.getWindsAloftForecast(icao, altitude, forecastHours));
+        if (wind == null) return null;
+        if (wind.getValidTime() == null) {
+            throw new UpstreamUnavailableException("Winds service did not report a valid time for the "
+                    + forecastHours + " hour forecast of " + icao);
+        }
+        if (!coversPeriod(wind.getValidTime(), forecastHours, Instant.now())) {
+            throw new UpstreamUnavailableException("Winds service answered the " + forecastHours + " hour forecast of "
+                    + icao + " with winds valid at " + wind.getValidTime());
+        }
+        return wind;
+    }
+
+    /*
+     * A forecast is issued about four hours before its 6 hour valid time and used
+     * until the next issue six hours later, so the valid time of a period falls
+     * between 9 hours before and 6 hours after now plus the period. Neighbouring
+     * windows overlap by a few hours, the check catches answers for another period
+     * outside that overlap and a missing valid time always.
+     */
+    static boolean coversPeriod(Instant validTime, int forecastHours, Instant now) {
+        Instant target = now.plus(Duration.ofHours(forecastHours));
+        return !validTime.isBefore(target.minus(Duration.ofHours(9))) && !validTime.isAfter(target.plus(Duration.ofHours(6)));
+    }
+
+    public CircuitBreakerMetrics metrics() {
+        return breaker.metrics();
+    }
+
+    /** Moves whenever a known wind is added or replaced, so the poller knows when to share them again. */
+    public long knownUpdates() {
+        return updates.get();
+    }
+
+    /**
+     * Known winds as shared by the poller:
+     *
+     * <pre>
+     *   int     entry count
+     *   entry   key (UTF), direction, speed (ints), closest airport (UTF, empty for none),
+     *           distance in miles (double), valid time and fetched at (epoch millis, longs; -1 for no valid time)
+     * </pre>
+     */
+    public byte[] exportKnown() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            Map<String, Known> known = Map.copyOf(lastKnown);
+            out.writeInt(known.size());
+            for (Map.Entry<String, Known> entry : known.entrySet()) {
+                WindAloft wind = entry.getValue().wind();
+                out.writeUTF(entry.getKey());
+                out.writeInt(wind.getDirection());
+                out.writeInt(wind.getSpeed());
+                out.writeUTF(wind.getClosestAirportCode() == null ? "" : wind.getClosestAirportCode());
+                out.writeDouble(wind.getDistanceFromOriginalAirportInMiles());
+                out.writeLong(wind.getValidTime() == null ? -1 : wind.getValidTime().toEpochMilli());
+                out.writeLong(entry.getValue().fetchedAt().toEpochMilli());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Takes over the shared winds that are newer than the ones known here, returns how many. */
+    public int importKnown(byte[] data) {
+        int imported = 0;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                WindAloft wind = new WindAloft();
+                wind.setDirection(in.readInt());
+                wind.setSpeed(in.readInt());
+                String closest = in.readUTF();
+                wind.setClosestAirportCode(closest.isEmpty() ? null : closest);
+                wind.setDistanceFromOriginalAirportInMiles(in.readDouble());
+                long validTime = in.readLong();
+                wind.setValidTime(validTime < 0 ? null : Instant.ofEpochMilli(validTime));
+                Instant fetchedAt = Instant.ofEpochMilli(in.readLong());
+
+                Known local = lastKnown.get(key);
+                if (local == null || local.fetchedAt().isBefore(fetchedAt)) {
+                    if (remember(key, wind, fetchedAt)) imported++;
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable shared winds", e);
+        }
+        return imported;
+    }
+
+    private WindAloft fetch(String key, Callable<WindAloft> lookup) {
+        if (distributed) {
+            Known known = lastKnown.get(key);
+            if (known != null && Duration.between(known.fetchedAt(), Instant.now()).toMillis() < refreshMillis) {
+                return known.wind();
+            }
+        }
+        try {
+            WindAloft wind = breaker.call(lookup);
+            if (wind != null) remember(key, wind, Instant.now());
+            return wind;
+        } catch (UpstreamUnavailableException e) {
+            Known known = lastKnown.get(key);
+            if (known == null || Duration.between(known.fetchedAt(), Instant.now()).toMillis() > maxStaleMillis) {
+                if (calmWhenUnavailable) {
+                    _logger.warn("Using calm winds for {} while the winds service is unavailable: {}", key, e.getMessage());
+                    return null;
+                }
+                throw e;
+            }
+            _logger.warn("Serving winds for {} from {} while the winds service is unavailable: {}", key, known.fetchedAt(), e.getMessage());
+            DataFreshness.markStale("winds", known.fetchedAt());
+            return known.wind();
+        }
+    }
+
+    private boolean remember(String key, WindAloft wind, Instant fetchedAt) {
+        if (lastKnown.size() >= MAX_LAST_KNOWN && !lastKnown.containsKey(key)) {
+            long cutoff = System.currentTimeMillis() - maxStaleMillis;
+            lastKnown.values().removeIf(known -> known.fetchedAt().toEpochMilli() < cutoff);
+            if (lastKnown.size() >= MAX_LAST_KNOWN) return false;
+        }
+        Known previous = lastKnown.put(key, new Known(wind, fetchedAt));
+        updates.incrementAndGet();
+        if (previous != null && (previous.wind().getDirection() != wind.getDirection()
+                || previous.wind().getSpeed() != wind.getSpeed())) {
+            changes.incrementAndGet();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,128 @@
+package com.flightIQ.Navigation.config;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightIQ.Navigation.Models.ErrorResponse;
+import com.flightIQ.Navigation.Service.AdmissionControl;
+import com.flightIQ.Navigation.Service.AdmissionGate;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds load before it reaches a controller. Requests over an endpoint's rate
+ * get 429, requests that find it at its concurrency limit with a full queue
+ * get 503, both with Retry-After. Permits of async requests are held until the
+ * async response completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final Logger _logger = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private final AdmissionControl admissionControl;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public AdmissionControlFilter(AdmissionControl admissionControl, ObjectMapper objectMapper) {
+        this.admissionControl = admissionControl;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdmissionGate gate = admissionControl.gateFor(request.getRequestURI().substring(request.getContextPath().length()));
+        if (gate == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        AdmissionGate.Decision decision;
+        try {
+            decision = gate.tryAdmit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            decision = AdmissionGate.Decision.OVERLOADED;
+        }
+        if (decision == AdmissionGate.Decision.RATE_LIMITED) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, gate.retryAfterSeconds(),
+                    "Rate limit exceeded for " + gate.getName());
+            return;
+        }
+        if (decision == AdmissionGate.Decision.OVERLOADED) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, admissionControl.overloadRetryAfterSeconds(),
+                    "Too many concurrent requests for " + gate.getName());
+            return;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) gate.release();
+        };
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        _logger.debug("{}, retry after {}s", message, retryAfterSeconds);
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(status.value(), message, System.currentTimeMillis()));
+    }
+
+    private static final class ReleaseOnComplete implements AsyncListener {
+        private final Runnable release;
+
+        ReleaseOnComplete(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
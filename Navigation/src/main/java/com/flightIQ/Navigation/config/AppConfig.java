@@ -1,14 +1,62 @@
 package com.flightIQ.Navigation.config;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
 @Configuration
 public class AppConfig {
 
+    // Only built once an upstream client is first used. Without timeouts a hanging
+    // upstream would hold the calling thread indefinitely
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    @Lazy
+    public RestTemplate restTemplate(@Value("${upstream.http.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                                     @Value("${upstream.http.read-timeout-ms:5000}") long readTimeoutMillis) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(Duration.ofMillis(connectTimeoutMillis));
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMillis));
+        return new RestTemplate(requestFactory);
+    }
+
+    // CPU-bound navlog evaluation for the planning endpoints
+    @Bean(destroyMethod = "shutdownNow")
+    public ForkJoinPool navlogPool() {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Blocking upstream wind lookups fanned out by the planning endpoints
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService windsExecutor() {
+        return Executors.newFixedThreadPool(16);
+    }
+
+    // Background refresh-ahead of cached ATIS reports
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService atisRefresher() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "atis-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Reactive view of the winds pool; the pool bean owns the threads, so nothing to dispose here
+    @Bean(destroyMethod = "")
+    public Scheduler windsScheduler(@Qualifier("windsExecutor") ExecutorService windsExecutor) {
+        return Schedulers.fromExecutorService(windsExecutor, "winds");
     }
-}
\ No newline at end of file
+}
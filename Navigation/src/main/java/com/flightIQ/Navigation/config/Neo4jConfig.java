@@ -2,12 +2,20 @@ package com.flightIQ.Navigation.config;
 
 
 import org.neo4j.cypherdsl.core.renderer.Dialect;
+import org.neo4j.driver.Driver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.ReactiveDatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
+import org.springframework.data.neo4j.core.transaction.ReactiveNeo4jTransactionManager;
 
 @Configuration
 public class Neo4jConfig {
-    
+
     @Bean
     public org.neo4j.cypherdsl.core.renderer.Configuration cypherDslConfiguration() {
         // Use the latest dialect or specify a version
@@ -15,4 +23,25 @@ public class Neo4jConfig {
             .withDialect(Dialect.NEO4J_5)  // Or whatever version you're using
             .build();
     }
+
+    /*
+     * Spring Boot only auto-configures the imperative transaction manager, and
+     * backs off as soon as any other transaction manager is declared, so both
+     * are declared here. The imperative one stays the default for the blocking
+     * @Transactional paths; the reactive repositories look theirs up by name.
+     */
+    @Bean
+    @Primary
+    public Neo4jTransactionManager transactionManager(Driver driver, DatabaseSelectionProvider databaseSelectionProvider,
+                                                      ObjectProvider<TransactionManagerCustomizers> customizers) {
+        Neo4jTransactionManager transactionManager = new Neo4jTransactionManager(driver, databaseSelectionProvider);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    public ReactiveNeo4jTransactionManager reactiveTransactionManager(Driver driver,
+                                                                      ReactiveDatabaseSelectionProvider databaseSelectionProvider) {
+        return new ReactiveNeo4jTransactionManager(driver, databaseSelectionProvider);
+    }
 }
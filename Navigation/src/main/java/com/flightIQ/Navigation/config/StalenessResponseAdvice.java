@@ -0,0 +1,55 @@
+package com.flightIQ.Navigation.config;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.flightIQ.Navigation.Service.DataFreshness;
+
+/**
+ * Marks responses that were built from last-known-good upstream data.
+ *
+ * <pre>
+ * Warning: 110 - "Response is Stale"
+ * X-Stale-Data: winds;as-of=2025-01-01T12:00:00Z;age=95
+ * </pre>
+ *
+ * with one entry per stale source and the age in seconds.
+ */
+@ControllerAdvice
+public class StalenessResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_DATA_HEADER = "X-Stale-Data";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) return body;
+        Map<String, Instant> stale = DataFreshness.staleSources(servletRequest.getServletRequest());
+        if (stale.isEmpty()) return body;
+
+        Instant now = Instant.now();
+        StringJoiner sources = new StringJoiner(", ");
+        stale.forEach((source, asOf) ->
+                sources.add(source + ";as-of=" + asOf + ";age=" + Duration.between(asOf, now).toSeconds()));
+        response.getHeaders().add("Warning", "110 - \"Response is Stale\"");
+        response.getHeaders().add(STALE_DATA_HEADER, sources.toString());
+        return body;
+    }
+}
@@ -0,0 +1,75 @@
+package com.flightIQ.Navigation.config;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import com.flightIQ.Navigation.DTO.StateVector;
+import com.flightIQ.Navigation.Service.TrafficWireFormat;
+
+/**
+ * Writes traffic snapshots as {@link TrafficWireFormat} for clients that
+ * send {@code Accept: application/vnd.flightiq.traffic}. JSON stays the
+ * default.
+ *
+ * The encoding of the last snapshot is kept, so serving the same snapshot
+ * to many clients encodes it once.
+ */
+@Component
+public class TrafficWireFormatConverter extends AbstractHttpMessageConverter<StateVector[]> {
+
+    public static final MediaType TRAFFIC = MediaType.parseMediaType(TrafficWireFormat.MEDIA_TYPE);
+
+    private volatile Encoded last;
+
+    private record Encoded(StateVector[] vectors, byte[] bytes) {}
+
+    public TrafficWireFormatConverter() {
+        super(TRAFFIC);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StateVector[].class == clazz;
+    }
+
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        // Only when asked for by name, never for */*; null is the producible type lookup
+        return mediaType == null || TRAFFIC.includes(mediaType);
+    }
+
+    @Override
+    protected StateVector[] readInternal(Class<? extends StateVector[]> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        try {
+            return TrafficWireFormat.decode(inputMessage.getBody().readAllBytes());
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Long getContentLength(StateVector[] vectors, MediaType contentType) {
+        return (long) encoded(vectors).length;
+    }
+
+    @Override
+    protected void writeInternal(StateVector[] vectors, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(encoded(vectors));
+    }
+
+    private byte[] encoded(StateVector[] vectors) {
+        Encoded encoded = last;
+        if (encoded == null || encoded.vectors() != vectors) {
+            encoded = new Encoded(vectors, TrafficWireFormat.encode(vectors));
+            last = encoded;
+        }
+        return encoded.bytes();
+    }
+}
@@ -0,0 +1,70 @@
+package com.flightIQ.Navigation.Exceptions;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.flightIQ.Navigation.Controllers.NavigationServiceController;
+import com.flightIQ.Navigation.DTO.StateVector;
+import com.flightIQ.Navigation.Service.Navigation_svc;
+import com.flightIQ.Navigation.Service.TrafficWireFormat;
+import com.flightIQ.Navigation.config.TrafficWireFormatConverter;
+
+class GlobalExceptionHandlerTest {
+
+    private Navigation_svc navservice;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        navservice = mock(Navigation_svc.class);
+        NavigationServiceController controller = new NavigationServiceController();
+        ReflectionTestUtils.setField(controller, "navservice", navservice);
+        mvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(new TrafficWireFormatConverter(), new MappingJackson2HttpMessageConverter())
+                .build();
+    }
+
+    @Test
+    void binaryTrafficClientGetsTheUpstreamErrorAsJson() throws Exception {
+        when(navservice.getStateVectorsUS()).thenThrow(new UpstreamUnavailableException("OpenSky is unavailable"));
+
+        mvc.perform(get("/api/v1/getStateVectorsUS").accept(MediaType.parseMediaType(TrafficWireFormat.MEDIA_TYPE)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("OpenSky is unavailable"));
+    }
+
+    @Test
+    void jsonClientGetsTheSameError() throws Exception {
+        when(navservice.getStateVectorsUS()).thenThrow(new UpstreamUnavailableException("OpenSky is unavailable"));
+
+        mvc.perform(get("/api/v1/getStateVectorsUS").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "30"))
+                .andExpect(jsonPath("$.message").value("OpenSky is unavailable"));
+    }
+
+    @Test
+    void binaryTrafficClientStillGetsTrafficWhenThereIsNoError() throws Exception {
+        when(navservice.getStateVectorsUS()).thenReturn(new StateVector[0]);
+
+        mvc.perform(get("/api/v1/getStateVectorsUS").accept(MediaType.parseMediaType(TrafficWireFormat.MEDIA_TYPE)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(TrafficWireFormat.MEDIA_TYPE));
+    }
+}
@@ -0,0 +1,106 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightIQ.Navigation.DTO.AdmissionMetrics;
+import com.flightIQ.Navigation.Service.AdmissionGate.Decision;
+
+class AdmissionGateTest {
+
+    private static AdmissionGate gate(int maxConcurrent, int maxQueue, long queueTimeoutMillis, double ratePerSecond, int burst) {
+        return new AdmissionGate("test", List.of("/test"), maxConcurrent, maxQueue, queueTimeoutMillis, ratePerSecond, burst);
+    }
+
+    @Test
+    void admitsTheBurstThenLimitsTheRate() throws InterruptedException {
+        AdmissionGate gate = gate(0, 0, 0, 0.5, 3);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Decision.ADMITTED, gate.tryAdmit());
+        }
+        assertEquals(Decision.RATE_LIMITED, gate.tryAdmit());
+
+        AdmissionMetrics metrics = gate.metrics();
+        assertEquals(3, metrics.getAdmitted());
+        assertEquals(1, metrics.getRejectedRateLimited());
+        assertEquals(2, gate.retryAfterSeconds());
+    }
+
+    @Test
+    void refillsTokensOverTime() throws InterruptedException {
+        AdmissionGate gate = gate(0, 0, 0, 50, 1);
+
+        assertEquals(Decision.ADMITTED, gate.tryAdmit());
+        assertEquals(Decision.RATE_LIMITED, gate.tryAdmit());
+        Thread.sleep(40);
+        assertEquals(Decision.ADMITTED, gate.tryAdmit());
+    }
+
+    @Test
+    void zeroLimitsAdmitEverything() throws InterruptedException {
+        AdmissionGate gate = gate(0, 0, 0, 0, 0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Decision.ADMITTED, gate.tryAdmit());
+        }
+    }
+
+    @Test
+    void refusesAtOnceWhenTheQueueIsFull() throws InterruptedException {
+        AdmissionGate gate = gate(1, 0, 1000, 0, 0);
+
+        assertEquals(Decision.ADMITTED, gate.tryAdmit());
+        long start = System.nanoTime();
+        assertEquals(Decision.OVERLOADED, gate.tryAdmit());
+        // No queue, so no waiting for the queue timeout
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        assertEquals(1, gate.metrics().getRejectedQueueFull());
+
+        gate.release();
+        assertEquals(Decision.ADMITTED, gate.tryAdmit());
+    }
+
+    @Test
+    void queuedRequestIsAdmittedWhenAPermitIsReleased() throws Exception {
+        AdmissionGate gate = gate(1, 1, 5000, 0, 0);
+        assertEquals(Decision.ADMITTED, gate.tryAdmit());
+
+        CompletableFuture<Decision> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return gate.tryAdmit();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (gate.metrics().getQueued() == 0) {
+            Thread.sleep(5);
+        }
+        // The queue holds one request, the next one is refused
+        assertEquals(Decision.OVERLOADED, gate.tryAdmit());
+
+        gate.release();
+        assertEquals(Decision.ADMITTED, queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, gate.metrics().getAdmittedAfterQueueing());
+        assertEquals(0, gate.metrics().getQueued());
+    }
+
+    @Test
+    void queuedRequestGivesUpAfterTheQueueTimeout() throws InterruptedException {
+        AdmissionGate gate = gate(1, 1, 50, 0, 0);
+        assertEquals(Decision.ADMITTED, gate.tryAdmit());
+
+        assertEquals(Decision.OVERLOADED, gate.tryAdmit());
+
+        AdmissionMetrics metrics = gate.metrics();
+        assertEquals(1, metrics.getRejectedQueueTimeout());
+        assertEquals(0, metrics.getQueued());
+        assertEquals(1, metrics.getInFlight());
+    }
+}
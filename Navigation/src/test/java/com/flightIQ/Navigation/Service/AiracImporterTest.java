@@ -0,0 +1,83 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.neo4j.core.Neo4jClient;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+
+class AiracImporterTest {
+
+    @TempDir
+    Path directory;
+
+    private Neo4jClient neo4jClient;
+    private PlatformTransactionManager transactionManager;
+    private NavDatabase navDatabase;
+    private AiracImporter importer;
+
+    @BeforeEach
+    void createImporter() throws IOException {
+        neo4jClient = mock(Neo4jClient.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        navDatabase = mock(NavDatabase.class);
+        when(navDatabase.snapshotDirectory()).thenReturn(directory.resolve("snapshots"));
+        Files.createDirectories(directory.resolve("import/2502"));
+        importer = new AiracImporter(neo4jClient, transactionManager, navDatabase, directory.resolve("import").toString(), 2);
+    }
+
+    private void cycleFiles(String airports, String fixes) throws IOException {
+        Files.writeString(directory.resolve("import/2502/airports.csv"), airports);
+        Files.writeString(directory.resolve("import/2502/fixes.csv"), fixes);
+    }
+
+    @Test
+    void badRecordStopsTheImportBeforeNeo4jIsTouched() throws IOException {
+        cycleFiles("""
+                ident,icao,name,latitude,longitude,iapExists
+                KATL,KATL,Hartsfield-Jackson,33.6367,-84.4281,1
+                KAHN,KAHN,Athens,33.9486,-83.3263,1
+                KPDK,KPDK,Peachtree,33.8756,-84.3020,1
+                """, """
+                fixxId,latitude,longitude
+                DALAS,33.80,-83.90
+                BADFX,93.10,-84.00
+                """);
+
+        BadRequestException e = assertThrows(BadRequestException.class, () -> importer.importCycle("2502"));
+
+        assertTrue(e.getMessage().contains("fixes.csv at line 3"), e.getMessage());
+        // Complete batches of airports were read before the bad fix, none of them reached Neo4j
+        verifyNoInteractions(neo4jClient, transactionManager);
+        try (var files = Files.list(directory.resolve("snapshots"))) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void missingRequiredColumnIsABadRequest() throws IOException {
+        cycleFiles("""
+                ident,icao,name,latitude,longitude,iapExists
+                KATL,KATL,Hartsfield-Jackson,33.6367,-84.4281,1
+                """, """
+                fixxId,latitude
+                DALAS,33.80
+                """);
+
+        assertThrows(BadRequestException.class, () -> importer.importCycle("2502"));
+        verifyNoInteractions(neo4jClient, transactionManager);
+    }
+}
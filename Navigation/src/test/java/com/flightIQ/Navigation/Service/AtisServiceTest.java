@@ -0,0 +1,63 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException;
+import com.flightIQ.Navigation.Models.AtisProvider;
+
+class AtisServiceTest {
+
+    private static final String KATL = "KATL 191652Z 27008KT 10SM FEW250 22/09 A3012";
+
+    private final AtisProvider provider = mock(AtisProvider.class);
+
+    // A zero TTL expires every entry right away, so each lookup goes to the provider
+    private final AtisService service = new AtisService(provider, mock(ScheduledExecutorService.class), 0, 1800, 30);
+
+    @Test
+    void outageWithoutACachedReportIsUnavailable() {
+        when(provider.fetchRawReports(anyCollection()))
+                .thenThrow(new UpstreamUnavailableException("aviationweather.gov is unavailable"));
+
+        assertThrows(UpstreamUnavailableException.class, () -> service.getReport("KATL"));
+        // The failed lookup is not left in flight, the next one asks the provider again
+        assertThrows(UpstreamUnavailableException.class, () -> service.getReport("KATL"));
+    }
+
+    @Test
+    void outageServesTheExpiredReport() {
+        when(provider.fetchRawReports(anyCollection()))
+                .thenReturn(Map.of("KATL", KATL))
+                .thenThrow(new UpstreamUnavailableException("aviationweather.gov is unavailable"));
+        service.getReport("KATL");
+
+        assertEquals(KATL, service.getReport("katl").getRawText());
+    }
+
+    @Test
+    void outageFailsABatchWithAnAirportThatWasNeverFetched() {
+        when(provider.fetchRawReports(anyCollection()))
+                .thenReturn(Map.of("KATL", KATL))
+                .thenThrow(new UpstreamUnavailableException("aviationweather.gov is unavailable"));
+        service.getReport("KATL");
+
+        assertThrows(UpstreamUnavailableException.class, () -> service.getReports(List.of("KATL", "KAHN")));
+    }
+
+    @Test
+    void airportWithoutAReportIsLeftOut() {
+        when(provider.fetchRawReports(anyCollection())).thenReturn(Map.of("KATL", KATL));
+
+        assertEquals(List.of("KATL"), List.copyOf(service.getReports(List.of("KATL", "KAHN")).keySet()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightIQ.Navigation.DTO.CircuitBreakerMetrics;
+import com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException;
+import com.flightIQ.Navigation.Service.CircuitBreaker.State;
+
+class CircuitBreakerTest {
+
+    private static String fail() throws IOException {
+        throw new IOException("connection refused");
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndShortCircuits() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 60_000, 10_000, 4);
+
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(CircuitBreakerTest::fail));
+        assertEquals(State.CLOSED, breaker.getState());
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(CircuitBreakerTest::fail));
+        assertEquals(State.OPEN, breaker.getState());
+
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(calls::incrementAndGet));
+        assertEquals(0, calls.get());
+
+        CircuitBreakerMetrics metrics = breaker.metrics();
+        assertEquals(2, metrics.getFailed());
+        assertEquals(1, metrics.getShortCircuited());
+    }
+
+    @Test
+    void successResetsTheFailureCount() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 60_000, 10_000, 4);
+
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(CircuitBreakerTest::fail));
+        assertEquals("ok", breaker.call(() -> "ok"));
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(CircuitBreakerTest::fail));
+
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void successfulTrialClosesTheCircuit() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 50, 10_000, 4);
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(CircuitBreakerTest::fail));
+        assertEquals(State.OPEN, breaker.getState());
+
+        Thread.sleep(80);
+        assertEquals("ok", breaker.call(() -> "ok"));
+
+        assertEquals(State.CLOSED, breaker.getState());
+        assertEquals(0, breaker.metrics().getConsecutiveFailures());
+    }
+
+    @Test
+    void failedTrialOpensTheCircuitAgain() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("test", 3, 50, 10_000, 4);
+        for (int i = 0; i < 3; i++) {
+            assertThrows(UpstreamUnavailableException.class, () -> breaker.call(CircuitBreakerTest::fail));
+        }
+
+        Thread.sleep(80);
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(CircuitBreakerTest::fail));
+
+        // One failed trial is enough, not another three failures
+        assertEquals(State.OPEN, breaker.getState());
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(() -> "ok"));
+        assertEquals(1, breaker.metrics().getShortCircuited());
+    }
+
+    @Test
+    void onlyOneTrialRunsWhileHalfOpen() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 50, 10_000, 4);
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(CircuitBreakerTest::fail));
+        Thread.sleep(80);
+
+        CountDownLatch trialStarted = new CountDownLatch(1);
+        CountDownLatch finishTrial = new CountDownLatch(1);
+        CompletableFuture<String> trial = CompletableFuture.supplyAsync(() -> breaker.call(() -> {
+            trialStarted.countDown();
+            finishTrial.await();
+            return "ok";
+        }));
+        trialStarted.await();
+
+        assertEquals(State.HALF_OPEN, breaker.getState());
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(() -> "second"));
+
+        finishTrial.countDown();
+        assertEquals("ok", trial.get(5, TimeUnit.SECONDS));
+        assertEquals(State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void slowCallsReturnTheirResultButCountAsFailures() {
+        CircuitBreaker breaker = new CircuitBreaker("test", 1, 60_000, 10, 4);
+
+        assertEquals("late", breaker.call(() -> {
+            Thread.sleep(30);
+            return "late";
+        }));
+
+        assertEquals(State.OPEN, breaker.getState());
+        assertEquals(1, breaker.metrics().getSlowCalls());
+    }
+
+    @Test
+    void bulkheadRefusesCallsOverTheConcurrencyLimit() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker("test", 5, 60_000, 10_000, 1);
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> breaker.call(() -> {
+            started.countDown();
+            finish.await();
+            return "first";
+        }));
+        started.await();
+
+        assertThrows(UpstreamUnavailableException.class, () -> breaker.call(() -> "second"));
+        assertEquals(1, breaker.metrics().getBulkheadRejected());
+        // Refusals at the limit say nothing about the health of the upstream
+        assertEquals(0, breaker.metrics().getConsecutiveFailures());
+
+        finish.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("third", breaker.call(() -> "third"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ElevationTileTest {
+
+    // 11 x 11 posts, a tenth of a degree apart
+    private static final int SIZE = 11;
+
+    @TempDir
+    Path directory;
+
+    // Rises a metre per thousandth of a degree north and per hundredth of a degree east
+    private static int slope(double lat, double lon) {
+        return (int) Math.round((lat - 26) * 1000 + (lon + 81) * 100);
+    }
+
+    private ElevationTile writeAndMap(ElevationTile.ElevationModel model) throws IOException {
+        Path file = directory.resolve(ElevationTile.fileName(26, -81));
+        ElevationTile.write(file, 26, -81, SIZE, model);
+        return ElevationTile.map(file, 26, -81);
+    }
+
+    @Test
+    void fileNameNamesTheSouthWestCorner() {
+        assertEquals("N26W081.hgt", ElevationTile.fileName(26, -81));
+        assertEquals("S34E151.hgt", ElevationTile.fileName(-34, 151));
+        assertEquals("N00E000.hgt", ElevationTile.fileName(0, 0));
+    }
+
+    @Test
+    void writtenPostsReadBackFromTheMappedFile() throws IOException {
+        ElevationTile tile = writeAndMap(ElevationTileTest::slope);
+
+        assertEquals((long) SIZE * SIZE * 2, Files.size(directory.resolve("N26W081.hgt")));
+        // Rows run from the north edge, so the north east corner is the highest post
+        assertEquals(1100, tile.maxElevation(27, -80));
+        assertEquals(10, tile.maxElevation(26, -81));
+    }
+
+    @Test
+    void pointBetweenPostsTakesTheHighestAroundIt() throws IOException {
+        ElevationTile tile = writeAndMap(ElevationTileTest::slope);
+
+        // Posts at 26.5/26.6 north and 80.6/80.5 west, the highest is 26.6N 80.5W
+        assertEquals(650, tile.maxElevation(26.55, -80.55));
+    }
+
+    @Test
+    void voidsAreSkippedUnlessAllPostsAreVoid() throws IOException {
+        ElevationTile tile = writeAndMap((lat, lon) -> lat > 26.45 ? ElevationTile.VOID : 100);
+
+        assertEquals(ElevationTile.VOID, tile.maxElevation(26.8, -80.5));
+        assertEquals(100, tile.maxElevation(26.45, -80.5));
+        assertEquals(100, tile.maxElevation(26.2, -80.5));
+    }
+
+    @Test
+    void rewritingReplacesTheFile() throws IOException {
+        writeAndMap(ElevationTileTest::slope);
+        ElevationTile tile = writeAndMap((lat, lon) -> 42);
+
+        assertEquals(42, tile.maxElevation(27, -80));
+        try (var files = Files.list(directory)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void mapRejectsFilesThatAreNotASquareGrid() throws IOException {
+        Path file = directory.resolve("N26W081.hgt");
+        Files.write(file, new byte[] {0, 1, 0, 2, 0, 3});
+
+        assertThrows(IOException.class, () -> ElevationTile.map(file, 26, -81));
+    }
+}
@@ -0,0 +1,51 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+
+class GeodesicEngineTest {
+
+    private final GeodesicEngine engine = new GeodesicEngine();
+
+    @Test
+    void legMatchesTheKnownDistanceAndBearing() {
+        // KIMM to KPMP, about 70 NM a little south of east
+        GeodesicEngine.Leg leg = engine.computeLeg("KIMM", 26.4331, -81.4010, "KPMP", 26.2471, -80.1111);
+
+        assertEquals(70.3, leg.distance(), 0.5);
+        assertEquals(98.9, leg.bearing(), 0.5);
+    }
+
+    @Test
+    void memoizedLegIsReusedForTheSamePoints() {
+        GeodesicEngine.Leg first = engine.computeLeg("KIMM", 26.4331, -81.4010, "KPMP", 26.2471, -80.1111);
+
+        assertSame(first, engine.computeLeg("KIMM", 26.4331, -81.4010, "KPMP", 26.2471, -80.1111));
+    }
+
+    @Test
+    void movedPointIsNotServedFromTheMemo() {
+        GeodesicEngine.Leg before = engine.computeLeg("FIXA", 26.0, -81.0, "FIXB", 26.0, -80.0);
+        GeodesicEngine.Leg after = engine.computeLeg("FIXA", 26.0, -81.0, "FIXB", 27.0, -80.0);
+
+        assertNotEquals(before.distance(), after.distance());
+        assertEquals(engine.computeLeg(26.0, -81.0, 27.0, -80.0), after);
+    }
+
+    @Test
+    void memoizedAndUncachedLegsAgree() {
+        assertEquals(engine.computeLeg(33.6367, -84.4281, 40.6398, -73.7789),
+                engine.computeLeg("KATL", 33.6367, -84.4281, "KJFK", 40.6398, -73.7789));
+    }
+
+    @Test
+    void legFromAnIdentifiedPointAgreesWithTheUncachedLeg() {
+        engine.computeLeg("KATL", 33.6367, -84.4281, "KJFK", 40.6398, -73.7789);
+
+        assertEquals(engine.computeLeg(33.6367, -84.4281, 35.0, -80.0),
+                engine.computeLeg("KATL", 33.6367, -84.4281, 35.0, -80.0));
+    }
+}
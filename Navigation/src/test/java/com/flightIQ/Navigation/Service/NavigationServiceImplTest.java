@@ -0,0 +1,69 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+import com.flightIQ.Navigation.Models.FIXX;
+
+class NavigationServiceImplTest {
+
+    private final NavigationServiceImpl service = new NavigationServiceImpl(mock(WindsAloftService.class));
+
+    // Coordinate-only routes need no other service
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "geodesicEngine", new GeodesicEngine());
+    }
+
+    @Test
+    void coordinateRouteResolvesWithoutLookups() {
+        List<RouteNode> route = service.prepareRouteObject("(26.2241,-81.3186) (26.2233,-80.4911) (26.2407,-80.2758)");
+
+        assertEquals(3, route.size());
+        assertEquals("(26.2241,-81.3186)", route.get(0).getNodeName());
+        assertEquals(44.5, route.get(0).getDistance(), 0.5);
+        assertEquals(0.0, route.get(2).getDistance());
+    }
+
+    @Test
+    void malformedCoordinateInARouteIsABadRequest() {
+        assertThrows(BadRequestException.class, () -> service.prepareRouteObject("(26.2,-81.3) (1,x) (26.2,-80.4)"));
+        assertThrows(BadRequestException.class, () -> service.prepareRouteObject("(26.2,-81.3) (1) (26.2,-80.4)"));
+        assertThrows(BadRequestException.class, () -> service.prepareRouteObject("(26.2,-81.3) (1,2,3) (26.2,-80.4)"));
+    }
+
+    @Test
+    void coordinateOffTheGlobeIsABadRequest() {
+        assertThrows(BadRequestException.class, () -> service.prepareRouteObject("(26.2,-81.3) (91,0) (26.2,-80.4)"));
+        assertThrows(BadRequestException.class, () -> service.prepareRouteObject("(26.2,-81.3) (0,-180.5) (26.2,-80.4)"));
+        assertThrows(BadRequestException.class, () -> service.prepareRouteObject("(26.2,-81.3) (NaN,0) (26.2,-80.4)"));
+    }
+
+    @Test
+    void coordinateFixIsParsedWithTheSameRules() {
+        FIXX fix = service.getFIXXFromId("( 26.5 , -80.25 )");
+
+        assertEquals(26.5, fix.getLatitude());
+        assertEquals(-80.25, fix.getLongitude());
+        assertThrows(BadRequestException.class, () -> service.getFIXXFromId("(1,x)"));
+    }
+
+    @Test
+    void cruiseAltitudeMustBeAPositiveNumber() {
+        String route = "(26.2241,-81.3186) (26.2407,-80.2758)";
+
+        assertEquals(4500, NavigationServiceImpl.parseCruiseAltitude(" 4500 "));
+        assertThrows(BadRequestException.class, () -> service.checkTerrainClearance(route, "abc"));
+        assertThrows(BadRequestException.class, () -> service.checkTerrainClearance(route, "0"));
+        assertThrows(BadRequestException.class, () -> service.checkTerrainClearance(route, "-500"));
+    }
+}
@@ -0,0 +1,217 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.Values;
+import org.neo4j.driver.internal.InternalRecord;
+import org.neo4j.driver.reactivestreams.ReactiveResult;
+import org.neo4j.driver.reactivestreams.ReactiveSession;
+import org.neo4j.driver.reactivestreams.ReactiveTransaction;
+import org.neo4j.driver.summary.ResultSummary;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.ReactiveDatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.ReactiveNeo4jClient;
+import org.springframework.data.neo4j.core.ReactiveNeo4jTemplate;
+import org.springframework.data.neo4j.core.mapping.Neo4jMappingContext;
+import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
+import org.springframework.data.neo4j.repository.config.EnableReactiveNeo4jRepositories;
+import org.springframework.transaction.TransactionManager;
+
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+import com.flightIQ.Navigation.Exceptions.FixxNotFoundException;
+import com.flightIQ.Navigation.Repository.reactive.ReactiveAirportRepository;
+import com.flightIQ.Navigation.Repository.reactive.ReactiveFIXXRepository;
+import com.flightIQ.Navigation.config.Neo4jConfig;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves routes through the real reactive repositories and transaction
+ * managers, wired like the application, against a driver that answers the
+ * repository queries from a few nodes.
+ */
+class ReactiveRouteResolverTest {
+
+    // Label and properties of the nodes the driver knows, by the id used in routes
+    private static final Map<String, Map<String, Object>> NODES = Map.of(
+            "KATL", Map.of("ident", "KATL", "icao", "KATL", "name", "Hartsfield-Jackson", "latitude", 33.6367,
+                    "longitude", -84.4281, "iapExists", 1),
+            "KAHN", Map.of("ident", "KAHN", "icao", "KAHN", "name", "Athens", "latitude", 33.9486,
+                    "longitude", -83.3263, "iapExists", 1),
+            "DALAS", Map.of("fixxId", "DALAS", "latitude", 33.80, "longitude", -83.90));
+
+    private static final Driver DRIVER = mock(Driver.class);
+    private static final List<String> QUERIES = new ArrayList<>();
+    private static final Pattern MATCHED_NODE = Pattern.compile("MATCH \\((\\w+):`(\\w+)`\\)");
+
+    private AnnotationConfigApplicationContext context;
+    private ReactiveSession session;
+    private ReactiveTransaction transaction;
+
+    @Configuration
+    @Import(Neo4jConfig.class)
+    @EnableReactiveNeo4jRepositories(basePackageClasses = ReactiveAirportRepository.class)
+    static class RepositoryConfig {
+
+        @Bean
+        Driver driver() {
+            return DRIVER;
+        }
+
+        @Bean
+        DatabaseSelectionProvider databaseSelectionProvider() {
+            return DatabaseSelectionProvider.getDefaultSelectionProvider();
+        }
+
+        @Bean
+        ReactiveDatabaseSelectionProvider reactiveDatabaseSelectionProvider() {
+            return ReactiveDatabaseSelectionProvider.getDefaultSelectionProvider();
+        }
+
+        @Bean
+        Neo4jMappingContext neo4jMappingContext() {
+            return new Neo4jMappingContext();
+        }
+
+        @Bean
+        ReactiveNeo4jClient reactiveNeo4jClient(Driver driver, ReactiveDatabaseSelectionProvider databaseSelectionProvider) {
+            return ReactiveNeo4jClient.create(driver, databaseSelectionProvider);
+        }
+
+        @Bean
+        ReactiveNeo4jTemplate reactiveNeo4jTemplate(ReactiveNeo4jClient client, Neo4jMappingContext mappingContext) {
+            return new ReactiveNeo4jTemplate(client, mappingContext);
+        }
+
+        @Bean
+        ReferenceDataCache referenceDataCache() {
+            // Nothing cached, so every waypoint comes from the repositories
+            return mock(ReferenceDataCache.class);
+        }
+
+        @Bean
+        GeodesicEngine geodesicEngine() {
+            return new GeodesicEngine();
+        }
+
+        @Bean
+        ReactiveRouteResolver reactiveRouteResolver(ReactiveAirportRepository airportRepository,
+                                                    ReactiveFIXXRepository fixxRepository,
+                                                    ReferenceDataCache referenceDataCache, GeodesicEngine geodesicEngine) {
+            return new ReactiveRouteResolver(airportRepository, fixxRepository, referenceDataCache, geodesicEngine);
+        }
+    }
+
+    @BeforeEach
+    void startContext() {
+        QUERIES.clear();
+        session = mock(ReactiveSession.class);
+        transaction = mock(ReactiveTransaction.class);
+        when(DRIVER.session(eq(ReactiveSession.class), any(SessionConfig.class))).thenReturn(session);
+        when(session.beginTransaction(any(TransactionConfig.class))).thenReturn(Mono.just(transaction));
+        when(session.close()).thenReturn(Mono.empty());
+        when(transaction.run(anyString(), anyMap())).thenAnswer(call -> Mono.just(answer(call.getArgument(0), call.getArgument(1))));
+        when(transaction.commit()).thenReturn(Mono.empty());
+        when(transaction.rollback()).thenReturn(Mono.empty());
+        when(transaction.close()).thenReturn(Mono.empty());
+        context = new AnnotationConfigApplicationContext(RepositoryConfig.class);
+    }
+
+    @AfterEach
+    void closeContext() {
+        context.close();
+    }
+
+    // One row for the id the query asks for, none if the driver does not know it
+    private static ReactiveResult answer(String cypher, Map<String, Object> parameters) {
+        QUERIES.add(cypher);
+        Matcher match = MATCHED_NODE.matcher(cypher);
+        assertTrue(match.find(), cypher);
+        String variable = match.group(1);
+        String label = match.group(2);
+
+        List<Record> rows = new ArrayList<>();
+        for (Object parameter : parameters.values()) {
+            String id = Values.value(parameter).asString();
+            Map<String, Object> properties = NODES.get(id);
+            if (properties == null || properties.containsKey("fixxId") != label.equals("Fixx")) continue;
+            Map<String, Object> row = new HashMap<>(properties);
+            row.put("__nodeLabels__", List.of(label));
+            row.put("__elementId__", "4:test:" + id);
+            rows.add(new InternalRecord(List.of(variable), new Value[] {Values.value(row)}));
+        }
+        ReactiveResult result = mock(ReactiveResult.class);
+        when(result.records()).thenReturn(Flux.fromIterable(rows));
+        when(result.consume()).thenReturn(Mono.just(mock(ResultSummary.class)));
+        return result;
+    }
+
+    @Test
+    void blockingPathsKeepTheImperativeTransactionManager() {
+        assertInstanceOf(Neo4jTransactionManager.class, context.getBean(TransactionManager.class));
+        assertTrue(context.containsBean("reactiveTransactionManager"));
+    }
+
+    @Test
+    void resolvesARouteThroughTheReactiveRepositories() {
+        ReactiveRouteResolver resolver = context.getBean(ReactiveRouteResolver.class);
+
+        List<RouteNode> route = resolver.resolve("KATL DALAS KAHN").block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("KATL", "DALAS", "KAHN"), route.stream().map(RouteNode::getNodeName).toList());
+        assertTrue(route.get(0).getDistance() > 0);
+        assertTrue(route.get(1).getDistance() > 0);
+        assertEquals(0.0, route.get(2).getDistance());
+        assertEquals(3, QUERIES.size());
+        // Each lookup ran in a read transaction of the reactive transaction manager
+        verify(session, atLeastOnce()).beginTransaction(any(TransactionConfig.class));
+        verify(transaction, atLeastOnce()).commit();
+    }
+
+    @Test
+    void missingWaypointIsNotFound() {
+        ReactiveRouteResolver resolver = context.getBean(ReactiveRouteResolver.class);
+
+        assertThrows(FixxNotFoundException.class, () -> resolver.resolve("KATL NOWHR KAHN").block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void malformedCoordinateIsABadRequest() {
+        ReactiveRouteResolver resolver = context.getBean(ReactiveRouteResolver.class);
+
+        assertThrows(BadRequestException.class, () -> resolver.resolve("KATL (1,x) KAHN").block(Duration.ofSeconds(5)));
+    }
+}
@@ -0,0 +1,140 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import com.flightIQ.Navigation.DTO.StateVector;
+import com.flightIQ.Navigation.DTO.TrafficSnapshot;
+import com.flightIQ.Navigation.Models.FileSnapshotChannel;
+import com.flightIQ.Navigation.Models.InProcessSnapshotChannel;
+import com.flightIQ.Navigation.Models.SnapshotChannel;
+
+class SnapshotDistributorTest {
+
+    private static final Instant FIRST_POLL = Instant.parse("2026-01-01T12:00:00Z");
+    private static final Instant SECOND_POLL = FIRST_POLL.plusSeconds(15);
+
+    @TempDir
+    Path directory;
+
+    // One instance of the service: its distributor and the services it feeds
+    private static final class Node {
+        final TrafficService traffic = mock(TrafficService.class);
+        final WindsAloftService winds = mock(WindsAloftService.class);
+        final SnapshotDistributor distributor;
+
+        Node(SnapshotChannel channel, long tickSeconds, String callsign, Instant polledAt, byte[] knownWinds) {
+            StateVector vector = new StateVector("a1b2c3", callsign, null, null, -84.4f, 33.6f, 3000f, null, false,
+                    120f, 0f, 90f, null, 0);
+            when(traffic.pollFeed()).thenReturn(new TrafficSnapshot(new StateVector[] {vector}, polledAt));
+            when(winds.knownUpdates()).thenReturn(1L);
+            when(winds.exportKnown()).thenReturn(knownWinds);
+            distributor = new SnapshotDistributor(channel, traffic, winds, "distributed", tickSeconds, 0);
+        }
+
+        List<TrafficSnapshot> installed(int times) {
+            ArgumentCaptor<TrafficSnapshot> snapshots = ArgumentCaptor.forClass(TrafficSnapshot.class);
+            verify(traffic, times(times)).installShared(snapshots.capture());
+            return snapshots.getAllValues();
+        }
+    }
+
+    @Test
+    void followerInstallsWhatThePollerPublishesInProcess() {
+        InProcessSnapshotChannel channel = new InProcessSnapshotChannel();
+        followerInstallsWhatThePollerPublishes(channel, channel);
+    }
+
+    @Test
+    void followerInstallsWhatThePollerPublishesThroughFiles() throws IOException {
+        followerInstallsWhatThePollerPublishes(new FileSnapshotChannel(directory.toString()),
+                new FileSnapshotChannel(directory.toString()));
+    }
+
+    @Test
+    void leaseAndVersionsHandOverInProcess() throws InterruptedException {
+        InProcessSnapshotChannel channel = new InProcessSnapshotChannel();
+        leaseAndVersionsHandOver(channel, channel);
+    }
+
+    @Test
+    void leaseAndVersionsHandOverThroughFiles() throws IOException, InterruptedException {
+        leaseAndVersionsHandOver(new FileSnapshotChannel(directory.toString()),
+                new FileSnapshotChannel(directory.toString()));
+    }
+
+    private void followerInstallsWhatThePollerPublishes(SnapshotChannel first, SnapshotChannel second) {
+        byte[] pollerWinds = {1, 2, 3};
+        Node poller = new Node(first, 60, "POLLER", FIRST_POLL, pollerWinds);
+        Node follower = new Node(second, 60, "FOLLOWER", SECOND_POLL, new byte[] {9});
+
+        poller.distributor.tick();
+        follower.distributor.tick();
+        follower.distributor.tick();
+
+        // Only the lease holder talks to the upstream services
+        verify(poller.traffic, times(1)).pollFeed();
+        verify(follower.traffic, never()).pollFeed();
+        verify(follower.winds, never()).exportKnown();
+
+        // Both serve the poller's snapshot, the follower installs it once
+        assertEquals(FIRST_POLL, poller.installed(1).get(0).getFetchedAt());
+        TrafficSnapshot installed = follower.installed(1).get(0);
+        assertEquals(FIRST_POLL, installed.getFetchedAt());
+        assertEquals("POLLER", installed.getVectors()[0].callSign());
+        verify(follower.winds, times(1)).importKnown(pollerWinds);
+    }
+
+    private void leaseAndVersionsHandOver(SnapshotChannel first, SnapshotChannel second) throws InterruptedException {
+        // A zero tick gives leases that run out after a millisecond
+        Node old = new Node(first, 0, "OLD", FIRST_POLL, new byte[] {1});
+        byte[] nextWinds = {2};
+        Node next = new Node(second, 0, "NEXT", SECOND_POLL, nextWinds);
+
+        old.distributor.tick();
+        verify(old.traffic, times(1)).pollFeed();
+
+        // The old poller stops renewing, the next instance takes over and publishes a newer snapshot
+        Thread.sleep(5);
+        next.distributor.tick();
+        verify(next.traffic, times(1)).pollFeed();
+        assertEquals(SECOND_POLL, next.installed(1).get(0).getFetchedAt());
+
+        // Back on the old instance, whose clock is behind; its new snapshot is still the latest one
+        Thread.sleep(5);
+        old.distributor.tick();
+        verify(old.traffic, times(2)).pollFeed();
+        verify(old.winds, times(1)).importKnown(nextWinds);
+        List<TrafficSnapshot> installed = old.installed(2);
+        assertEquals(FIRST_POLL, installed.get(1).getFetchedAt());
+        assertEquals("OLD", installed.get(1).getVectors()[0].callSign());
+        assertEquals(3, second.latest(SnapshotDistributor.TRAFFIC_TOPIC, 0).version());
+    }
+
+    @Test
+    void channelsNumberTheirOwnVersions() throws IOException {
+        for (SnapshotChannel channel : List.of(new InProcessSnapshotChannel(), new FileSnapshotChannel(directory.toString()))) {
+            assertEquals(1, channel.publish("traffic", SECOND_POLL, new byte[] {1}));
+            assertEquals(2, channel.publish("traffic", FIRST_POLL, new byte[] {2}));
+
+            SnapshotChannel.Blob latest = channel.latest("traffic", 1);
+            assertEquals(2, latest.version());
+            assertEquals(FIRST_POLL, latest.publishedAt());
+            assertNull(channel.latest("traffic", 2));
+        }
+    }
+}
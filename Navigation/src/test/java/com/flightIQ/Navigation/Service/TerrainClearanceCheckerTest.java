@@ -0,0 +1,131 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.flightIQ.Navigation.DTO.LegClearance;
+import com.flightIQ.Navigation.DTO.RouteNode;
+import com.flightIQ.Navigation.DTO.TerrainClearance;
+import com.flightIQ.Navigation.Exceptions.BadRequestException;
+
+class TerrainClearanceCheckerTest {
+
+    // Across the synthetic hill in the middle of the degree 35N 107W
+    private static final String[] WAYPOINTS = {"WEST", "EAST"};
+    private static final double[] LATITUDE = {35.5, 35.5};
+    private static final double[] LONGITUDE = {-106.9, -106.1};
+
+    @TempDir
+    Path directory;
+
+    private final List<TerrainDatabase> databases = new ArrayList<>();
+
+    @AfterEach
+    void deleteSyntheticTiles() {
+        databases.forEach(TerrainDatabase::shutdown);
+    }
+
+    private TerrainDatabase database(String directory, boolean synthetic) throws IOException {
+        TerrainDatabase database = new TerrainDatabase(directory, synthetic);
+        databases.add(database);
+        return database;
+    }
+
+    private static List<RouteNode> legs(double[] latitude, double[] longitude) {
+        GeodesicEngine geodesicEngine = new GeodesicEngine();
+        List<RouteNode> legs = new ArrayList<>();
+        for (int i = 0; i < latitude.length - 1; i++) {
+            GeodesicEngine.Leg leg = geodesicEngine.computeLeg(latitude[i], longitude[i], latitude[i + 1], longitude[i + 1]);
+            legs.add(new RouteNode(WAYPOINTS[i], leg.bearing(), leg.distance()));
+        }
+        return legs;
+    }
+
+    private static TerrainClearance check(TerrainClearanceChecker checker, int cruiseAltitude) {
+        return checker.check("WEST EAST", WAYPOINTS, LATITUDE, LONGITUDE, legs(LATITUDE, LONGITUDE), cruiseAltitude);
+    }
+
+    @Test
+    void findsTheTopOfTheSyntheticHill() throws IOException {
+        TerrainClearanceChecker checker = new TerrainClearanceChecker(database("", true), 0.5, 1000);
+        double summit = TerrainDatabase.syntheticElevation(35.5, -106.5) * TerrainDatabase.FEET_PER_METER;
+
+        TerrainClearance clearance = check(checker, 20_000);
+
+        assertEquals(summit, clearance.getMaxElevation(), summit * 0.01);
+        assertEquals(0, clearance.getSamplesWithoutData());
+        LegClearance leg = clearance.getLegs().get(0);
+        assertEquals(-106.5, leg.getMaxElevationLon(), 0.02);
+        assertEquals((int) Math.ceil(leg.getDistance() / 0.5) + 1, leg.getSamples());
+        assertEquals(20_000 - leg.getMaxElevation(), leg.getMinClearance());
+    }
+
+    @Test
+    void clearOnlyWithTheRequiredClearanceAboveTheHighestTerrain() throws IOException {
+        TerrainClearanceChecker checker = new TerrainClearanceChecker(database("", true), 0.5, 1000);
+        int highest = check(checker, 20_000).getMaxElevation();
+
+        assertTrue(check(checker, highest + 1000).isClear());
+        TerrainClearance low = check(checker, highest + 999);
+        assertFalse(low.isClear());
+        assertEquals(999, low.getMinClearance());
+        assertFalse(check(checker, highest - 500).isClear());
+    }
+
+    @Test
+    void rejectsSampleSpacingThatIsNotPositive() throws IOException {
+        TerrainDatabase database = database("", true);
+
+        assertThrows(IllegalArgumentException.class, () -> new TerrainClearanceChecker(database, 0, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new TerrainClearanceChecker(database, -0.5, 1000));
+        assertThrows(IllegalArgumentException.class, () -> new TerrainClearanceChecker(database, Double.NaN, 1000));
+    }
+
+    @Test
+    void withoutTerrainDataTheCheckIsABadRequest() throws IOException {
+        TerrainDatabase database = database("", false);
+        TerrainClearanceChecker checker = new TerrainClearanceChecker(database, 0.5, 1000);
+
+        assertFalse(database.isAvailable());
+        assertTrue(Double.isNaN(database.maxElevationFeet(35.5, -106.5)));
+        assertThrows(BadRequestException.class, () -> check(checker, 20_000));
+    }
+
+    @Test
+    void missingRealTilesCountAsSamplesWithoutData() throws IOException {
+        TerrainClearanceChecker checker = new TerrainClearanceChecker(database(directory.toString(), false), 0.5, 1000);
+
+        TerrainClearance clearance = check(checker, 20_000);
+
+        assertFalse(clearance.isClear());
+        assertEquals(clearance.getLegs().get(0).getSamples(), clearance.getSamplesWithoutData());
+        assertNull(clearance.getMaxElevation());
+    }
+
+    @Test
+    void syntheticTilesNeverGoToTheConfiguredDirectory() throws IOException {
+        // A real tile for the hill's degree, flat at 42 m, and none for the degree north of it
+        ElevationTile.write(directory.resolve(ElevationTile.fileName(35, -107)), 35, -107, 11, (lat, lon) -> 42);
+        TerrainDatabase database = database(directory.toString(), true);
+
+        assertEquals(42 * TerrainDatabase.FEET_PER_METER, database.maxElevationFeet(35.5, -106.5), 1e-9);
+        assertEquals(TerrainDatabase.syntheticElevation(36.5, -106.5) * TerrainDatabase.FEET_PER_METER,
+                database.maxElevationFeet(36.5, -106.5), 50);
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(directory.resolve("N35W107.hgt")), files.toList());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.flightIQ.Navigation.Exceptions.UpstreamUnavailableException;
+
+class TrafficAnalyticsTest {
+
+    private final TrafficService trafficService = mock(TrafficService.class);
+    private TrafficAnalytics analytics;
+
+    @AfterEach
+    void shutdown() {
+        analytics.shutdown();
+    }
+
+    private TrafficAnalytics analytics(long refreshSeconds, String snapshotsMode) {
+        return new TrafficAnalytics(mock(AirportSpatialIndex.class), trafficService, 1, 10, 10000, refreshSeconds,
+                snapshotsMode);
+    }
+
+    @Test
+    void standaloneFetchesTheFeedWithoutFeedReaders() {
+        analytics = analytics(60, "standalone");
+
+        verify(trafficService, timeout(2000)).feed();
+    }
+
+    @Test
+    void failedRefreshIsRetriedOnTheNextRun() {
+        when(trafficService.feed()).thenThrow(new UpstreamUnavailableException("OpenSky is unavailable"));
+        analytics = analytics(1, "standalone");
+
+        verify(trafficService, timeout(3000).times(2)).feed();
+    }
+
+    @Test
+    void distributedLeavesTheFeedToThePoller() {
+        analytics = analytics(1, "distributed");
+
+        verify(trafficService, after(300).never()).feed();
+    }
+
+    @Test
+    void zeroRefreshSecondsTurnsTheRefreshOff() {
+        analytics = analytics(0, "standalone");
+
+        verify(trafficService, after(300).never()).feed();
+    }
+}
@@ -0,0 +1,112 @@
+package com.flightIQ.Navigation.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import com.flightIQ.Navigation.DTO.StateVector;
+
+class TrafficWireFormatTest {
+
+    private static StateVector airborne() {
+        return new StateVector("a1b2c3", "DAL123  ", 1_700_000_000, 1_700_000_004,
+                -84.4281f, 33.6367f, 3048.0f, 3109.0f, false,
+                128.4f, -5.2f, 271.3f, "1200", 0);
+    }
+
+    @Test
+    void roundTripKeepsValuesToTheirQuantization() {
+        StateVector[] decoded = TrafficWireFormat.decode(TrafficWireFormat.encode(new StateVector[] {airborne()}));
+
+        assertEquals(1, decoded.length);
+        StateVector vector = decoded[0];
+        assertEquals("a1b2c3", vector.icao24());
+        assertEquals("DAL123", vector.callSign());
+        assertEquals(1_700_000_000, vector.timePosition());
+        assertEquals(1_700_000_004, vector.lastContact());
+        assertEquals(-84.4281f, vector.longitude(), 1e-4);
+        assertEquals(33.6367f, vector.latitude(), 1e-4);
+        assertEquals(3048.0f, vector.baroAltitude(), 0.5);
+        assertEquals(3109.0f, vector.geoAltitude(), 0.5);
+        assertFalse(vector.onGround());
+        assertEquals(128.4f, vector.velocity(), 0.05);
+        assertEquals(-5.2f, vector.verticalVelocity(), 0.05);
+        assertEquals(271.3f, vector.trueTrack(), 0.05);
+        assertEquals("1200", vector.squak());
+        assertEquals(0, vector.poseSource());
+    }
+
+    @Test
+    void nullFieldsStayNull() {
+        StateVector sparse = new StateVector("00ff01", null, null, null,
+                null, null, null, null, true,
+                null, null, null, null, 2);
+
+        StateVector vector = TrafficWireFormat.decode(TrafficWireFormat.encode(new StateVector[] {sparse}))[0];
+
+        assertEquals("00ff01", vector.icao24());
+        assertNull(vector.callSign());
+        assertNull(vector.timePosition());
+        assertNull(vector.lastContact());
+        assertNull(vector.longitude());
+        assertNull(vector.latitude());
+        assertNull(vector.baroAltitude());
+        assertNull(vector.geoAltitude());
+        assertTrue(vector.onGround());
+        assertNull(vector.velocity());
+        assertNull(vector.verticalVelocity());
+        assertNull(vector.trueTrack());
+        assertNull(vector.squak());
+        assertEquals(2, vector.poseSource());
+    }
+
+    @Test
+    void geoAltitudeWithoutBaroAltitudeIsKept() {
+        StateVector vector = new StateVector("abcdef", "N12345", null, 1_700_000_000,
+                -80.0f, 26.0f, null, 1500.0f, false,
+                60.0f, 0.0f, 90.0f, null, 0);
+
+        StateVector decoded = TrafficWireFormat.decode(TrafficWireFormat.encode(new StateVector[] {vector}))[0];
+
+        assertNull(decoded.baroAltitude());
+        assertEquals(1500.0f, decoded.geoAltitude(), 0.5);
+    }
+
+    @Test
+    void recordsAreSortedByAddressAndInvalidOnesLeftOut() {
+        StateVector[] vectors = {
+                airborne(),
+                new StateVector("000001", "FIRST", null, null, null, null, null, null, false, null, null, null, null, 0),
+                new StateVector("not-hex", "BAD", null, null, null, null, null, null, false, null, null, null, null, 0),
+                null,
+                new StateVector("ffffff", "LAST", null, null, null, null, null, null, false, null, null, null, "7800", 0),
+        };
+
+        StateVector[] decoded = TrafficWireFormat.decode(TrafficWireFormat.encode(vectors));
+
+        assertEquals(Arrays.asList("000001", "a1b2c3", "ffffff"),
+                Arrays.stream(decoded).map(StateVector::icao24).toList());
+        // 7800 is not a four digit octal squawk
+        assertNull(decoded[2].squak());
+    }
+
+    @Test
+    void emptySnapshotRoundTrips() {
+        assertEquals(0, TrafficWireFormat.decode(TrafficWireFormat.encode(new StateVector[0])).length);
+    }
+
+    @Test
+    void rejectsOtherAndTruncatedData() {
+        byte[] encoded = TrafficWireFormat.encode(new StateVector[] {airborne()});
+
+        assertThrows(IllegalArgumentException.class, () -> TrafficWireFormat.decode(new byte[] {1, 2, 3, 4, 5}));
+        assertThrows(IllegalArgumentException.class,
+                () -> TrafficWireFormat.decode(Arrays.copyOf(encoded, encoded.length - 3)));
+    }
+}